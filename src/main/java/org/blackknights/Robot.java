@@ -1,16 +1,35 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights;
 
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.utils.CanBusLoad;
+import org.blackknights.utils.ConfigManager;
+import org.blackknights.utils.Telemetry;
 
 public class Robot extends TimedRobot {
     private Command autonomousCommand;
 
     private final RobotContainer robotContainer;
 
+    private final Telemetry.DoubleValue periodicTimeTelemetry =
+            Telemetry.doubleValue("debug/Loop", "Periodic ms");
+    private final Telemetry.DoubleValue senseTimeTelemetry =
+            Telemetry.doubleValue("debug/Loop", "Sense ms");
+    private final Telemetry.DoubleValue estimateTimeTelemetry =
+            Telemetry.doubleValue("debug/Loop", "Estimate ms");
+    private final Telemetry.DoubleValue actTimeTelemetry =
+            Telemetry.doubleValue("debug/Loop", "Act ms");
+
     public Robot() {
+        Telemetry.start();
+        if (TuningKeys.TELEMETRY_FILE_LOG.get()) Telemetry.enableFileLog(DataLogManager.getLog());
+
         robotContainer = new RobotContainer();
     }
 
@@ -35,8 +54,33 @@ public class Robot extends TimedRobot {
 
     @Override
     public void robotPeriodic() {
+        long start = RobotController.getFPGATime();
+        ConfigManager.getInstance().dispatchChanges();
+
+        // Sense, read every sensor once
+        long senseStart = RobotController.getFPGATime();
+        robotContainer.sense();
+
+        // Estimate, fuse odometry and vision so commands see this loop's pose
+        long estimateStart = RobotController.getFPGATime();
+        robotContainer.estimate();
+
+        // Act, run subsystems and commands, which write the actuators
+        long actStart = RobotController.getFPGATime();
         CommandScheduler.getInstance().run();
         robotContainer.robotPeriodic();
+
+        long end = RobotController.getFPGATime();
+        senseTimeTelemetry.set((estimateStart - senseStart) / 1e3);
+        estimateTimeTelemetry.set((actStart - estimateStart) / 1e3);
+        actTimeTelemetry.set((end - actStart) / 1e3);
+        periodicTimeTelemetry.set((end - start) / 1e3);
+        CanBusLoad.getInstance().periodic();
+
+        // Drop debug telemetry on the field so it doesn't use radio bandwidth
+        Telemetry.setCompetitionMode(
+                DriverStation.isFMSAttached() || TuningKeys.TELEMETRY_COMPETITION_MODE.get());
+        Telemetry.periodic();
     }
 
     @Override
@@ -13,10 +13,14 @@ import edu.wpi.first.wpilibj2.command.*;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import java.util.function.Supplier;
 import org.blackknights.commands.*;
+import org.blackknights.constants.AlignProfile;
 import org.blackknights.constants.ScoringConstants;
+import org.blackknights.constants.TuningKeys;
 import org.blackknights.constants.VisionConstants;
 import org.blackknights.framework.CoralQueue;
 import org.blackknights.framework.Odometry;
+import org.blackknights.framework.RobotState;
+import org.blackknights.framework.RobotStateSnapshot;
 import org.blackknights.subsystems.*;
 import org.blackknights.utils.*;
 
@@ -55,6 +59,7 @@ public class RobotContainer {
                     VisionConstants.CENTER_CAM_TRANSFORM);
 
     private final Odometry odometry = Odometry.getInstance();
+
     // Auto Chooser
     SendableChooser<Supplier<Command>> superSecretMissileTech = new SendableChooser<>();
 
@@ -114,17 +119,11 @@ public class RobotContainer {
         swerveSubsystem.setDefaultCommand(
                 new DriveCommands(
                         swerveSubsystem,
-                        () ->
-                                primaryController.getLeftY()
-                                        * ConfigManager.getInstance().get("driver_max_speed", 3.5),
-                        () ->
-                                primaryController.getLeftX()
-                                        * ConfigManager.getInstance().get("driver_max_speed", 3.5),
+                        () -> primaryController.getLeftY() * TuningKeys.DRIVER_MAX_SPEED.get(),
+                        () -> primaryController.getLeftX() * TuningKeys.DRIVER_MAX_SPEED.get(),
                         () ->
                                 -primaryController.getRightX()
-                                        * Math.toRadians(
-                                                ConfigManager.getInstance()
-                                                        .get("driver_max_speed_rot", 360)),
+                                        * Math.toRadians(TuningKeys.DRIVER_MAX_SPEED_ROT.get()),
                         true,
                         true));
 
@@ -155,17 +154,14 @@ public class RobotContainer {
                                 new RunCommand(
                                                 () ->
                                                         swerveSubsystem.drive(
-                                                                ConfigManager.getInstance()
-                                                                        .get("back_mps", -1.0),
+                                                                TuningKeys.BACK_MPS.get(),
                                                                 0.0,
                                                                 0.0,
                                                                 false,
                                                                 false,
                                                                 false),
                                                 swerveSubsystem)
-                                        .withTimeout(
-                                                ConfigManager.getInstance()
-                                                        .get("back_time_sec", 0.2))));
+                                        .withTimeout(TuningKeys.BACK_TIME_SEC.get())));
 
         elevatorSubsystem.setDefaultCommand(new BaseCommand(elevatorSubsystem, armSubsystem));
 
@@ -177,8 +173,7 @@ public class RobotContainer {
                         new RunCommand(
                                 () ->
                                         elevatorSubsystem.setVoltage(
-                                                ConfigManager.getInstance()
-                                                        .get("elevator_manual_zero", -2.0)),
+                                                TuningKeys.ELEVATOR_MANUAL_ZERO.get()),
                                 elevatorSubsystem));
 
         primaryController
@@ -260,9 +255,27 @@ public class RobotContainer {
         odometry.addCamera(centerCam);
     }
 
-    /** Runs every 20ms while the robot is on */
-    public void robotPeriodic() {
+    /** First phase of the loop, read every sensor commands use */
+    public void sense() {
+        RobotState.getInstance()
+                .readSensors(swerveSubsystem, elevatorSubsystem, armSubsystem, intakeSubsystem);
+    }
+
+    /**
+     * Second phase of the loop, fuse wheel odometry and vision and publish this loop's {@link
+     * RobotStateSnapshot}
+     */
+    public void estimate() {
+        swerveSubsystem.updateOdometry();
         odometry.periodic();
+        RobotState.getInstance().finishSnapshot(odometry.getRobotPose());
+
+        RobotStateSnapshot state = RobotState.getInstance().getSnapshot();
+        odometry.publishState(state.getTimestamp(), state.getFieldRelativeSpeeds());
+    }
+
+    /** Runs every 20ms while the robot is on, after the commands */
+    public void robotPeriodic() {
         coralQueue.periodic();
     }
 
@@ -313,11 +326,10 @@ public class RobotContainer {
                                 () ->
                                         AlignUtils.getXDistBack(
                                                 currentSupplier.get().getPose(),
-                                                ConfigManager.getInstance()
-                                                        .get("align_dist_back", 0.5)),
+                                                TuningKeys.ALIGN_DIST_BACK.get()),
                                 false,
                                 true,
-                                "rough"),
+                                AlignProfile.ROUGH),
                         new BaseCommand(elevatorSubsystem, armSubsystem)),
                 new ParallelRaceGroup(
                         new SequentialCommandGroup(
@@ -337,10 +349,8 @@ public class RobotContainer {
                                                 () -> currentSupplier.get().getPose(),
                                                 true,
                                                 false,
-                                                "fine")
-                                        .withTimeout(
-                                                ConfigManager.getInstance()
-                                                        .get("align_fine_max_time", 3.0)),
+                                                AlignProfile.FINE)
+                                        .withTimeout(TuningKeys.ALIGN_FINE_MAX_TIME.get()),
                                 new InstantCommand(
                                         () -> {
                                             rightCam.setEnabled(true);
@@ -349,8 +359,7 @@ public class RobotContainer {
                         new RunCommand(
                                 () ->
                                         intakeSubsystem.setSpeed(
-                                                ConfigManager.getInstance()
-                                                        .get("intake_slow_voltage", -2.0)),
+                                                TuningKeys.INTAKE_SLOW_VOLTAGE.get()),
                                 intakeSubsystem),
                         new ElevatorArmCommand(
                                 elevatorSubsystem,
@@ -365,25 +374,21 @@ public class RobotContainer {
                                         intakeSubsystem,
                                         IntakeCommand.IntakeMode.OUTTAKE,
                                         elevatorSubsystem.isAtTargetSupplier())
-                                .withTimeout(
-                                        ConfigManager.getInstance()
-                                                .get("outtake_max_time_sec", 5.0))),
+                                .withTimeout(TuningKeys.OUTTAKE_MAX_TIME_SEC.get())),
                 new ParallelRaceGroup(
                         new AutoEndCommand(),
                         new BaseCommand(elevatorSubsystem, armSubsystem),
                         new RunCommand(
                                         () ->
                                                 swerveSubsystem.drive(
-                                                        ConfigManager.getInstance()
-                                                                .get("back_mps", -1.0),
+                                                        TuningKeys.BACK_MPS.get(),
                                                         0.0,
                                                         0.0,
                                                         false,
                                                         false,
                                                         false),
                                         swerveSubsystem)
-                                .withTimeout(
-                                        ConfigManager.getInstance().get("back_time_sec", 0.2))));
+                                .withTimeout(TuningKeys.BACK_TIME_SEC.get())));
     }
 
     /**
@@ -415,7 +420,7 @@ public class RobotContainer {
                                         () -> intakePoseFinal,
                                         true,
                                         false,
-                                        "rough"),
+                                        AlignProfile.ROUGH),
                                 new ElevatorArmCommand(
                                         elevatorSubsystem,
                                         armSubsystem,
@@ -459,7 +464,7 @@ public class RobotContainer {
         public boolean isFinished() {
             return DriverStation.isAutonomous()
                     && Timer.getFPGATimestamp() * 1000 - this.currTime
-                            > ConfigManager.getInstance().get("auto_place_backup_time_ms", 0.2);
+                            > TuningKeys.AUTO_PLACE_BACKUP_TIME_MS.get();
         }
     }
 }
@@ -4,6 +4,7 @@ package org.blackknights.commands;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.*;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
@@ -11,11 +12,13 @@ import edu.wpi.first.wpilibj2.command.Command;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.blackknights.framework.Odometry;
+import org.blackknights.constants.AlignProfile;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.framework.RobotState;
+import org.blackknights.framework.RobotStateSnapshot;
 import org.blackknights.subsystems.SwerveSubsystem;
 import org.blackknights.utils.AlignUtils;
-import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.Telemetry;
 
 /**
  * Align the robot in fieldspace Config Manager Keys: <br>
@@ -44,6 +47,44 @@ import org.blackknights.utils.NetworkTablesUtils;
  */
 public class AlignCommand extends Command {
     private static final Logger LOGGER = LogManager.getLogger();
+
+    // Shared by every align command so rebuilding commands does not register new values
+    private static final Telemetry.DoubleValue ALIGN_TRAP_CALC =
+            Telemetry.doubleValue("debug", "Align/Trap Calc");
+    private static final Telemetry.DoubleValue ALIGN_ANGLE =
+            Telemetry.doubleValue("debug", "Align/Angle");
+    private static final Telemetry.DoubleValue ALIGN_ROBOT_VEL =
+            Telemetry.doubleValue("debug", "Align/Robot Vel");
+    private static final Telemetry.DoubleValue DIST_TO_TARGET_ERROR =
+            Telemetry.doubleValue("debug", "Dist to target (Error)");
+    private static final Telemetry.DoubleValue X_ERROR = Telemetry.doubleValue("debug", "X Error");
+    private static final Telemetry.DoubleValue Y_ERROR = Telemetry.doubleValue("debug", "Y Error");
+    private static final Telemetry.DoubleValue ALIGN_TOTAL_TIME =
+            Telemetry.doubleValue("debug", "Align/Total time");
+    private static final Telemetry.DoubleValue ROT_DIFF =
+            Telemetry.doubleValue("debug", "Rot diff");
+    private static final Telemetry.DoubleValue XMS = Telemetry.doubleValue("debug", "Xms");
+    private static final Telemetry.DoubleValue YMS = Telemetry.doubleValue("debug", "Yms");
+    private static final Telemetry.DoubleValue RRADS = Telemetry.doubleValue("debug", "Rrads");
+    private static final Telemetry.BooleanValue ALIGN_DIST_CHECK =
+            Telemetry.booleanValue("debug", "Align/Dist Check");
+    private static final Telemetry.BooleanValue ALIGN_HALF_MOON_CHECK =
+            Telemetry.booleanValue("debug", "Align/Half moon check");
+    private static final Telemetry.BooleanValue ALIGN_ROTATION_CHECK =
+            Telemetry.booleanValue("debug", "Align/Rotation check");
+    private static final Telemetry.DoubleValue THE_VALUE =
+            Telemetry.doubleValue("debug", "The value");
+    private static final Telemetry.DoubleValue THE_VALUE_CURRENT =
+            Telemetry.doubleValue("debug", "The value current");
+    private static final Telemetry.DoubleValue THE_VALUE_TARGET =
+            Telemetry.doubleValue("debug", "The value target");
+    private static final Telemetry.BooleanValue ALIGN_X_VEL_CHECK =
+            Telemetry.booleanValue("debug", "Align/X Vel Check");
+    private static final Telemetry.BooleanValue ALIGN_Y_VEL_CHECK =
+            Telemetry.booleanValue("debug", "Align/Y Vel Check");
+    private static final Telemetry.Pose2dValue TARGET_POSE =
+            Telemetry.pose2dValue("debug", "target_pose");
+
     private final SwerveSubsystem swerveSubsystem;
 
     private TrapezoidProfile distProfile;
@@ -51,17 +92,12 @@ public class AlignCommand extends Command {
 
     private SimpleMotorFeedforward rotationFF;
 
-    private final Odometry odometry = Odometry.getInstance();
-    private final ConfigManager configManager = ConfigManager.getInstance();
-
-    private final String profile;
+    private final AlignProfile profile;
     private final boolean stopWhenFinished;
     private final boolean useHalfMoon;
 
     private final Supplier<Pose2d> pose2dSupplier;
 
-    private final NetworkTablesUtils debug = NetworkTablesUtils.getTable("debug");
-
     private Pose2d targetPos;
 
     private double timeSenseFinished = -1;
@@ -78,16 +114,15 @@ public class AlignCommand extends Command {
      * @param poseSupplier A {@link Supplier<Pose2d>} for poses
      * @param stopWhenFinished Weather to stop swerve or not when the command is complete, set to
      *     false if you are doing multiple paths in a row
-     * @param profile The tuning profile to use, generates separate entries in {@link ConfigManager}
-     *     for tolerances and trapezoid tuning (DON'T spell it wrong unless you want 10 extra
-     *     useless values in cfg manager!!!)
+     * @param profile The {@link AlignProfile} to use, each profile has separate entries in {@link
+     *     org.blackknights.utils.ConfigManager} for tolerances and trapezoid tuning
      */
     public AlignCommand(
             SwerveSubsystem swerveSubsystem,
             Supplier<Pose2d> poseSupplier,
             boolean stopWhenFinished,
             boolean useHalfMoon,
-            String profile) {
+            AlignProfile profile) {
         this.swerveSubsystem = swerveSubsystem;
         this.pose2dSupplier = poseSupplier;
         this.stopWhenFinished = stopWhenFinished;
@@ -112,48 +147,35 @@ public class AlignCommand extends Command {
         this.distProfile =
                 new TrapezoidProfile(
                         new TrapezoidProfile.Constraints(
-                                configManager.get(
-                                        String.format("align_%s_max_vel_m", this.profile), 3.0),
-                                configManager.get(
-                                        String.format("align_%s_max_accel_mps", this.profile),
-                                        2.5)));
+                                profile.maxVel.get(), profile.maxAccel.get()));
 
         this.rotationProfile =
                 new TrapezoidProfile(
                         new TrapezoidProfile.Constraints(
-                                Math.toRadians(
-                                        configManager.get(
-                                                String.format(
-                                                        "align_%s_rot_max_vel_deg", this.profile),
-                                                360)),
-                                Math.toRadians(
-                                        configManager.get(
-                                                String.format(
-                                                        "align_%s_rot_max_accel_degps",
-                                                        this.profile),
-                                                360))));
+                                Math.toRadians(profile.rotMaxVel.get()),
+                                Math.toRadians(profile.rotMaxAccel.get())));
 
         this.rotationFF =
                 new SimpleMotorFeedforward(
-                        configManager.get("align_rotation_ff_ks", 0.01622),
-                        configManager.get("align_rotation_ff_kv", 0.0),
+                        TuningKeys.ALIGN_ROTATION_FF_KS.get(),
+                        TuningKeys.ALIGN_ROTATION_FF_KV.get(),
                         0.0,
                         1);
     }
 
     @Override
     public void execute() {
-        Pose3d robotPose = odometry.getRobotPose();
+        RobotStateSnapshot state = RobotState.getInstance().getSnapshot();
+        Pose3d robotPose = state.getPose();
+        ChassisSpeeds fieldSpeeds = state.getFieldRelativeSpeeds();
+        double robotSpeed = state.getLinearSpeed();
         double d_x = this.targetPos.getX() - robotPose.getX();
         double d_y = this.targetPos.getY() - robotPose.getY();
 
         this.distToTarget = Math.sqrt(Math.pow(d_x, 2) + Math.pow(d_y, 2));
 
         Pose2d halfMoonClosePose =
-                AlignUtils.getXDistBack(
-                        this.targetPos,
-                        -configManager.get(
-                                String.format("align_%s_halfmoon_dist", this.profile), 0.5));
+                AlignUtils.getXDistBack(this.targetPos, -profile.halfMoonDist.get());
         this.halfMoonDist =
                 Math.sqrt(
                         Math.pow(robotPose.getX() - halfMoonClosePose.getX(), 2)
@@ -161,50 +183,20 @@ public class AlignCommand extends Command {
 
         double trapCalc =
                 -this.distProfile.calculate(
-                                configManager.get("align_trap_t_sec", 0.2),
-                                new TrapezoidProfile.State(
-                                        distToTarget,
-                                        -Math.sqrt(
-                                                Math.pow(
-                                                                swerveSubsystem
-                                                                        .getFieldRelativeChassisSpeeds()
-                                                                        .vxMetersPerSecond,
-                                                                2.0)
-                                                        + Math.pow(
-                                                                swerveSubsystem
-                                                                        .getFieldRelativeChassisSpeeds()
-                                                                        .vyMetersPerSecond,
-                                                                2.0))),
+                                TuningKeys.ALIGN_TRAP_T_SEC.get(),
+                                new TrapezoidProfile.State(distToTarget, -robotSpeed),
                                 new TrapezoidProfile.State(
                                         0.0,
                                         DriverStation.isAutonomous()
-                                                ? configManager.get(
-                                                        String.format(
-                                                                "align_%s_auto_ending_vel_mag",
-                                                                this.profile),
-                                                        0.0)
-                                                : configManager.get(
-                                                        String.format(
-                                                                "align_%s_ending_vel_mag",
-                                                                this.profile),
-                                                        1.0)))
+                                                ? profile.autoEndingVelMag.get()
+                                                : profile.endingVelMag.get()))
                         .velocity;
 
         double a = Math.atan2(d_y, d_x);
 
-        debug.setEntry("Align/Trap Calc", trapCalc);
-        debug.setEntry("Align/Angle", Math.toDegrees(a));
-        debug.setEntry(
-                "Align/Robot Vel",
-                Math.sqrt(
-                        Math.pow(
-                                        swerveSubsystem.getFieldRelativeChassisSpeeds()
-                                                .vxMetersPerSecond,
-                                        2.0)
-                                + Math.pow(
-                                        swerveSubsystem.getFieldRelativeChassisSpeeds()
-                                                .vyMetersPerSecond,
-                                        2.0)));
+        ALIGN_TRAP_CALC.set(trapCalc);
+        ALIGN_ANGLE.set(Math.toDegrees(a));
+        ALIGN_ROBOT_VEL.set(robotSpeed);
 
         double xAxisCalc = trapCalc * Math.cos(a);
         double yAxisCalc = trapCalc * Math.sin(a);
@@ -221,50 +213,39 @@ public class AlignCommand extends Command {
                                 0.1,
                                 new TrapezoidProfile.State(
                                         robotPose.getRotation().getZ(),
-                                        swerveSubsystem.getFieldRelativeChassisSpeeds()
-                                                .omegaRadiansPerSecond),
+                                        fieldSpeeds.omegaRadiansPerSecond),
                                 new TrapezoidProfile.State(
                                         goal + robotPose.getRotation().getZ(), 0.0))
                         .velocity;
 
         rotCalc += this.rotationFF.calculate(rotCalc);
 
-        debug.setEntry("Dist to target (Error)", distToTarget);
+        DIST_TO_TARGET_ERROR.set(distToTarget);
 
-        debug.setEntry("X Error", Math.abs(d_x));
-        debug.setEntry("Y Error", Math.abs(d_y));
+        X_ERROR.set(Math.abs(d_x));
+        Y_ERROR.set(Math.abs(d_y));
 
-        debug.setEntry("Align/Total time", this.distProfile.totalTime());
+        ALIGN_TOTAL_TIME.set(this.distProfile.totalTime());
 
-        debug.setEntry(
-                "Rot diff",
+        ROT_DIFF.set(
                 Math.abs(
                         Math.abs(this.targetPos.getRotation().getRadians())
-                                - Math.abs(odometry.getRobotPose().getRotation().getZ())));
-
-        debug.setEntry("Xms", xAxisCalc);
-        debug.setEntry("Yms", yAxisCalc);
-        debug.setEntry("Rrads", rotCalc);
-
-        this.debug.setArrayEntry(
-                "target_pose",
-                new double[] {
-                    this.targetPos.getX(),
-                    this.targetPos.getY(),
-                    this.targetPos.getRotation().getRadians()
-                });
-
-        if (Math.abs(xAxisCalc)
-                        < configManager.get(String.format("align_%s_min_vel", this.profile), 0.002)
-                && Math.abs(yAxisCalc)
-                        < configManager.get(
-                                String.format("align_%s_min_vel", this.profile), 0.002)) {
+                                - Math.abs(robotPose.getRotation().getZ())));
+
+        XMS.set(xAxisCalc);
+        YMS.set(yAxisCalc);
+        RRADS.set(rotCalc);
+
+        TARGET_POSE.set(this.targetPos);
+
+        if (Math.abs(xAxisCalc) < profile.minVel.get()
+                && Math.abs(yAxisCalc) < profile.minVel.get()) {
             swerveSubsystem.zeroVoltage();
         } else {
             swerveSubsystem.drive(xAxisCalc, yAxisCalc, rotCalc, true, false, true);
         }
 
-        if (checkAtGoal() && doUpdate) {
+        if (checkAtGoal(state) && doUpdate) {
             LOGGER.info("Hit goal, waiting for time to expire");
             this.timeSenseFinished = Timer.getFPGATimestamp() * 1000;
             this.doUpdate = false;
@@ -273,10 +254,9 @@ public class AlignCommand extends Command {
 
     @Override
     public boolean isFinished() {
-        return checkAtGoal()
+        return checkAtGoal(RobotState.getInstance().getSnapshot())
                 && Timer.getFPGATimestamp() * 1000 - this.timeSenseFinished
-                        > configManager.get(
-                                String.format("align_%s_finish_time", this.profile), 200.0);
+                        > profile.finishTime.get();
     }
 
     @Override
@@ -284,95 +264,51 @@ public class AlignCommand extends Command {
         if (stopWhenFinished) swerveSubsystem.zeroVoltage();
     }
 
-    private boolean checkAtGoal() {
-        debug.setEntry(
-                "Align/Dist Check",
-                distToTarget
-                        <= configManager.get(
-                                String.format("align_%s_pos_dist_tol", this.profile), 0.0));
-
-        debug.setEntry(
-                "Align/Half moon check",
-                (!useHalfMoon
-                        || halfMoonDist
-                                >= configManager.get(
-                                        String.format("align_%s_halfmoon_tol", this.profile),
-                                        0.0)));
-
-        debug.setEntry(
-                "Align/Rotation check",
-                Math.abs(
-                                Math.abs(Odometry.getInstance().getRobotPose().getRotation().getZ())
-                                        - Math.abs(targetPos.getRotation().getRadians()))
-                        <= Math.toRadians(
-                                ConfigManager.getInstance()
-                                        .get(
-                                                String.format("align_%s_rot_tol_deg", this.profile),
-                                                1.0)));
-        debug.setEntry(
-                "The value",
-                Math.abs(
-                        Math.abs(Odometry.getInstance().getRobotPose().getRotation().getZ())
-                                - Math.abs(targetPos.getRotation().getRadians())));
+    private boolean checkAtGoal(RobotStateSnapshot state) {
+        double yaw = state.getYaw();
+        ChassisSpeeds fieldSpeeds = state.getFieldRelativeSpeeds();
+
+        ALIGN_DIST_CHECK.set(distToTarget <= profile.posDistTol.get());
 
-        debug.setEntry(
-                "The value current",
-                Math.abs(Odometry.getInstance().getRobotPose().getRotation().getZ()));
+        ALIGN_HALF_MOON_CHECK.set(!useHalfMoon || halfMoonDist >= profile.halfMoonTol.get());
 
-        debug.setEntry("The value target", Math.abs(targetPos.getRotation().getRadians()));
+        ALIGN_ROTATION_CHECK.set(
+                Math.abs(Math.abs(yaw) - Math.abs(targetPos.getRotation().getRadians()))
+                        <= Math.toRadians(profile.rotTolDeg.get()));
+        THE_VALUE.set(Math.abs(Math.abs(yaw) - Math.abs(targetPos.getRotation().getRadians())));
 
-        debug.setEntry(
-                "Align/X Vel Check",
+        THE_VALUE_CURRENT.set(Math.abs(yaw));
+
+        THE_VALUE_TARGET.set(Math.abs(targetPos.getRotation().getRadians()));
+
+        ALIGN_X_VEL_CHECK.set(
                 MathUtil.isNear(
-                        configManager.get(
-                                String.format("align_%s_x_target_end_vel", this.profile), 0.0),
-                        swerveSubsystem.getFieldRelativeChassisSpeeds().vxMetersPerSecond,
-                        configManager.get(String.format("align_%s_vel_tol", this.profile), 0.0)));
+                        profile.xTargetEndVel.get(),
+                        fieldSpeeds.vxMetersPerSecond,
+                        profile.velTol.get()));
 
-        debug.setEntry(
-                "Align/Y Vel Check",
+        ALIGN_Y_VEL_CHECK.set(
                 MathUtil.isNear(
-                        configManager.get(
-                                String.format("align_%s_y_target_end_vel", this.profile), 0.0),
-                        swerveSubsystem.getFieldRelativeChassisSpeeds().vyMetersPerSecond,
-                        configManager.get(String.format("align_%s_vel_tol", this.profile), 0.0)));
-
-        return distToTarget
-                        <= configManager.get(
-                                String.format("align_%s_pos_dist_tol", this.profile), 0.0)
+                        profile.yTargetEndVel.get(),
+                        fieldSpeeds.vyMetersPerSecond,
+                        profile.velTol.get()));
+
+        return distToTarget <= profile.posDistTol.get()
                 && Math.abs(
-                                Math.abs(Odometry.getInstance().getRobotPose().getRotation().getZ())
+                                Math.abs(yaw)
                                         - Math.abs(
                                                 targetPos.getRotation().getRadians() > Math.PI
                                                         ? targetPos.getRotation().getRadians()
                                                                 - Math.PI * 2
                                                         : targetPos.getRotation().getRadians()))
-                        <= Math.toRadians(
-                                ConfigManager.getInstance()
-                                        .get(
-                                                String.format("align_%s_rot_tol_deg", this.profile),
-                                                1.0))
-                && (!useHalfMoon
-                        || halfMoonDist
-                                >= configManager.get(
-                                        String.format("align_%s_halfmoon_tol", this.profile), 0.0))
+                        <= Math.toRadians(profile.rotTolDeg.get())
+                && (!useHalfMoon || halfMoonDist >= profile.halfMoonTol.get())
                 && (!stopWhenFinished
                         || MathUtil.isNear(
-                                configManager.get(
-                                        String.format("align_%s_ending_vel_mag", this.profile),
-                                        1.0),
+                                profile.endingVelMag.get(),
                                 Math.sqrt(
-                                        Math.pow(
-                                                        swerveSubsystem
-                                                                .getFieldRelativeChassisSpeeds()
-                                                                .vxMetersPerSecond,
-                                                        2)
-                                                + Math.pow(
-                                                        swerveSubsystem
-                                                                .getFieldRelativeChassisSpeeds()
-                                                                .vxMetersPerSecond,
-                                                        2)),
-                                configManager.get(
-                                        String.format("align_%s_vel_tol", this.profile), 0.0)));
+                                        Math.pow(fieldSpeeds.vxMetersPerSecond, 2)
+                                                + Math.pow(fieldSpeeds.vxMetersPerSecond, 2)),
+                                profile.velTol.get()));
     }
 }
@@ -2,9 +2,10 @@
 package org.blackknights.commands;
 
 import edu.wpi.first.wpilibj2.command.Command;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.framework.RobotState;
 import org.blackknights.subsystems.ArmSubsystem;
 import org.blackknights.subsystems.ElevatorSubsystem;
-import org.blackknights.utils.ConfigManager;
 
 /** Default command to keep the elevator and arm at rest */
 public class BaseCommand extends Command {
@@ -31,10 +32,9 @@ public class BaseCommand extends Command {
 
     @Override
     public void execute() {
-        armSubsystem.setPivotAngle(ConfigManager.getInstance().get("arm_base_angle", 0.1));
-        if (armSubsystem.getPivotAngle() <= -Math.PI / 4
-                || armSubsystem.getPivotAngle()
-                        >= ConfigManager.getInstance().get("arm_movement_max", 0.2)) {
+        armSubsystem.setPivotAngle(TuningKeys.ARM_BASE_ANGLE.get());
+        double armAngle = RobotState.getInstance().getSnapshot().getArmAngle();
+        if (armAngle <= -Math.PI / 4 || armAngle >= TuningKeys.ARM_MOVEMENT_MAX.get()) {
             elevatorSubsystem.holdPosition();
         } else {
             elevatorSubsystem.zeroElevator();
@@ -4,8 +4,8 @@ package org.blackknights.commands;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj2.command.Command;
 import java.util.function.DoubleSupplier;
+import org.blackknights.constants.TuningKeys;
 import org.blackknights.subsystems.SwerveSubsystem;
-import org.blackknights.utils.ConfigManager;
 import org.blackknights.utils.NetworkTablesUtils;
 
 /** Command to drive swerve */
@@ -44,18 +44,10 @@ public class DriveCommands extends Command {
     // Don't write javadoc for wpilib functions
     @Override
     public void execute() {
-        double forwardDesired =
-                MathUtil.applyDeadband(
-                        forward.getAsDouble(),
-                        ConfigManager.getInstance().get("controller_deadband", 0.06));
-        double sidewaysDesired =
-                MathUtil.applyDeadband(
-                        sideways.getAsDouble(),
-                        ConfigManager.getInstance().get("controller_deadband", 0.06));
-        double radiansDesired =
-                MathUtil.applyDeadband(
-                        radians.getAsDouble(),
-                        ConfigManager.getInstance().get("controller_deadband", 0.06));
+        double deadband = TuningKeys.CONTROLLER_DEADBAND.get();
+        double forwardDesired = MathUtil.applyDeadband(forward.getAsDouble(), deadband);
+        double sidewaysDesired = MathUtil.applyDeadband(sideways.getAsDouble(), deadband);
+        double radiansDesired = MathUtil.applyDeadband(radians.getAsDouble(), deadband);
 
         NetworkTablesUtils debug = NetworkTablesUtils.getTable("debug");
 
@@ -68,7 +60,7 @@ public class DriveCommands extends Command {
                 sidewaysDesired,
                 radiansDesired,
                 fieldRelativeFromButton,
-                false,
+                true,
                 false);
     }
 
@@ -6,10 +6,11 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj2.command.Command;
 import java.util.function.Supplier;
 import org.blackknights.constants.ScoringConstants;
+import org.blackknights.constants.TuningKeys;
 import org.blackknights.subsystems.ArmSubsystem;
 import org.blackknights.subsystems.ElevatorSubsystem;
-import org.blackknights.utils.ConfigManager;
 import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.TunableDouble;
 
 /** Command to set the elevator and arm */
 public class ElevatorArmCommand extends Command {
@@ -27,6 +28,9 @@ public class ElevatorArmCommand extends Command {
     private final Supplier<ScoringConstants.ScoringHeights> targetSupplier;
     private ScoringConstants.ScoringHeights target;
 
+    private TunableDouble elevatorPos;
+    private TunableDouble armPos;
+
     /**
      * Create an instance of the command to place the arm
      *
@@ -51,22 +55,17 @@ public class ElevatorArmCommand extends Command {
         elevatorSubsystem.resetPID();
         armSubsystem.resetPID();
         this.target = targetSupplier.get();
+        this.elevatorPos = TuningKeys.elevatorPosition(this.target);
+        this.armPos = TuningKeys.armPosition(this.target);
 
         NetworkTablesUtils.getTable("debug").setEntry("Elevator target", this.target.toString());
     }
 
     @Override
     public void execute() {
-        double elevatorPos =
-                ConfigManager.getInstance()
-                        .get(String.format("elevator_%s", target.toString().toLowerCase()), 0.0);
-        double armPos =
-                ConfigManager.getInstance()
-                        .get(String.format("arm_%s", target.toString().toLowerCase()), 0.0);
-
-        elevator.setEntry("Setpoint", elevatorPos);
+        elevator.setEntry("Setpoint", elevatorPos.get());
 
-        armSubsystem.setPivotAngle(armPos);
-        elevatorSubsystem.setTargetPosition(elevatorPos);
+        armSubsystem.setPivotAngle(armPos.get());
+        elevatorSubsystem.setTargetPosition(elevatorPos.get());
     }
 }
@@ -1,11 +1,13 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.commands;
 
+import edu.wpi.first.networktables.DoublePublisher;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import java.util.function.BooleanSupplier;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.framework.RobotState;
 import org.blackknights.subsystems.IntakeSubsystem;
-import org.blackknights.utils.ConfigManager;
 import org.blackknights.utils.NetworkTablesUtils;
 
 /** Command to intake and outtake */
@@ -16,6 +18,9 @@ public class IntakeCommand extends Command {
 
     private double elevatorAtTargetTime;
 
+    private final DoublePublisher timeRunningPub =
+            NetworkTablesUtils.getTable("debug/IntakeCmd").getDoublePublisher("Time running");
+
     /**
      * Create a new intake command
      *
@@ -58,23 +63,18 @@ public class IntakeCommand extends Command {
         switch (mode) {
             case INTAKE:
                 {
-                    intakeSubsystem.setVoltage(
-                            ConfigManager.getInstance().get("intake_speed", 8.0));
+                    intakeSubsystem.setVoltage(TuningKeys.INTAKE_SPEED.get());
                     break;
                 }
             case OUTTAKE:
                 {
-                    NetworkTablesUtils.getTable("debug/IntakeCmd")
-                            .setEntry(
-                                    "Time running",
-                                    Timer.getFPGATimestamp() * 1000 - this.elevatorAtTargetTime);
+                    timeRunningPub.set(Timer.getFPGATimestamp() * 1000 - this.elevatorAtTargetTime);
 
                     if (Timer.getFPGATimestamp() * 1000 - this.elevatorAtTargetTime
-                                    > ConfigManager.getInstance().get("outtake_wait_time_ms", 250.0)
+                                    > TuningKeys.OUTTAKE_WAIT_TIME_MS.get()
                             && elevatorAtTargetSupplier.getAsBoolean()) {
 
-                        intakeSubsystem.setVoltage(
-                                ConfigManager.getInstance().get("outtake_speed", -8.0));
+                        intakeSubsystem.setVoltage(TuningKeys.OUTTAKE_SPEED.get());
                     }
                     break;
                 }
@@ -88,13 +88,13 @@ public class IntakeCommand extends Command {
 
     @Override
     public boolean isFinished() {
-        return (mode.equals(IntakeMode.INTAKE) && intakeSubsystem.getLinebreak())
+        boolean linebreak = RobotState.getInstance().getSnapshot().getIntakeLinebreak();
+        return (mode.equals(IntakeMode.INTAKE) && linebreak)
                 || (mode.equals(IntakeMode.OUTTAKE)
-                        && !intakeSubsystem.getLinebreak()
+                        && !linebreak
                         && Timer.getFPGATimestamp() * 1000 - this.elevatorAtTargetTime
-                                > (ConfigManager.getInstance().get("outtaking_time_ms", 200)
-                                        + ConfigManager.getInstance()
-                                                .get("outtake_wait_time_ms", 250)));
+                                > (TuningKeys.OUTTAKING_TIME_MS.get()
+                                        + TuningKeys.OUTTAKE_WAIT_TIME_MS.get()));
     }
 
     /** Enum of the different intake modes */
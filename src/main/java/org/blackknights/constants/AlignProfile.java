@@ -0,0 +1,47 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.constants;
+
+import org.blackknights.utils.ConfigManager;
+import org.blackknights.utils.TunableDouble;
+
+/**
+ * Tuning profiles for {@link org.blackknights.commands.AlignCommand}. Each profile has its own
+ * align_[profile]_* values, registered once when the enum is loaded
+ */
+public enum AlignProfile {
+    ROUGH,
+    FINE;
+
+    public final TunableDouble maxVel = this.key("max_vel_m", 3.0);
+    public final TunableDouble maxAccel = this.key("max_accel_mps", 2.5);
+    public final TunableDouble rotMaxVel = this.key("rot_max_vel_deg", 360);
+    public final TunableDouble rotMaxAccel = this.key("rot_max_accel_degps", 360);
+    public final TunableDouble halfMoonDist = this.key("halfmoon_dist", 0.5);
+    public final TunableDouble halfMoonTol = this.key("halfmoon_tol", 0.0);
+    public final TunableDouble autoEndingVelMag = this.key("auto_ending_vel_mag", 0.0);
+    public final TunableDouble endingVelMag = this.key("ending_vel_mag", 1.0);
+    public final TunableDouble minVel = this.key("min_vel", 0.002);
+    public final TunableDouble finishTime = this.key("finish_time", 200.0);
+    public final TunableDouble posDistTol = this.key("pos_dist_tol", 0.0);
+    public final TunableDouble rotTolDeg = this.key("rot_tol_deg", 1.0);
+    public final TunableDouble xTargetEndVel = this.key("x_target_end_vel", 0.0);
+    public final TunableDouble yTargetEndVel = this.key("y_target_end_vel", 0.0);
+    public final TunableDouble velTol = this.key("vel_tol", 0.0);
+
+    /**
+     * Register a value in this profile
+     *
+     * @param name The name of the value (without the align_[profile]_ prefix)
+     * @param defaultValue The default value
+     * @return A {@link TunableDouble} for align_[profile]_[name]
+     */
+    private TunableDouble key(String name, double defaultValue) {
+        return ConfigManager.getInstance()
+                .doubleKey(String.format("align_%s_%s", this, name), defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return this.name().toLowerCase();
+    }
+}
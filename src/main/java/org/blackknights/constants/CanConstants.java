@@ -0,0 +1,54 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.constants;
+
+import org.blackknights.utils.CanSignalProfile;
+import org.blackknights.utils.CanSignalProfile.Device;
+
+/**
+ * Status signal periods for every motor controller on the bus. Only signals something reads are
+ * fast, 0 means nothing reads it
+ */
+public class CanConstants {
+    // Setpoints are sent once a loop
+    private static final double LOOP_HZ = 50.0;
+
+    // A setpoint within this of the last one isn't sent again, unless the last one is older than
+    // the keep alive. Devices with motor safety on need an expiration longer than the keep alive
+    public static final double SETPOINT_TOLERANCE = 1e-3;
+    public static final double SETPOINT_KEEP_ALIVE_SECONDS = 0.1;
+
+    // Drive position and velocity are sampled by the odometry thread
+    public static final CanSignalProfile SWERVE_DRIVE =
+            new CanSignalProfile(
+                    "Swerve drive",
+                    Device.SPARK,
+                    100,
+                    250,
+                    DrivetrainConstants.ODOMETRY_SIGNAL_PERIOD_MS,
+                    0,
+                    LOOP_HZ);
+    // The absolute encoder is sampled by the odometry thread and closes the turning loop
+    public static final CanSignalProfile SWERVE_TURN =
+            new CanSignalProfile(
+                    "Swerve turn",
+                    Device.SPARK,
+                    100,
+                    250,
+                    0,
+                    DrivetrainConstants.ODOMETRY_SIGNAL_PERIOD_MS,
+                    LOOP_HZ);
+    // The right motor's current and applied output are in telemetry
+    public static final CanSignalProfile ELEVATOR_RIGHT =
+            new CanSignalProfile("Elevator right", Device.SPARK, 20, 250, 10, 0, LOOP_HZ);
+    public static final CanSignalProfile ELEVATOR_LEFT =
+            new CanSignalProfile("Elevator left", Device.SPARK, 100, 250, 10, 0, LOOP_HZ);
+    public static final CanSignalProfile ARM =
+            new CanSignalProfile("Arm", Device.SPARK, 100, 250, 0, 10, LOOP_HZ);
+    public static final CanSignalProfile CLIMBER =
+            new CanSignalProfile("Climber", Device.SPARK, 100, 250, 0, 0, LOOP_HZ);
+    // Nothing reads the Talons. Phoenix sends them a control frame every 10 ms
+    public static final CanSignalProfile CLIMBER_LOCK =
+            new CanSignalProfile("Climber lock", Device.TALON_SRX, 100, 255, 0, 0, 100.0);
+    public static final CanSignalProfile INTAKE =
+            new CanSignalProfile("Intake", Device.TALON_SRX, 100, 255, 0, 0, 100.0);
+}
@@ -15,21 +15,26 @@ public class DrivetrainConstants {
     public static final double MAX_SPEED_METERS_PER_SECOND = 5.0;
     public static final double MAX_ANGULAR_SPEED = Double.MAX_VALUE; // radians per second
 
-    public static final double DIRECTION_SLEW_RATE = 18.0; // rads/sec
-    public static final double MAGNITUDE_SLEW_RATE = 22.0; // meters/second (1 = 100%)
-    public static final double ROTATIONAL_SLEW_RATE = 30.0; // meters/second (1 = 100%)
+    // Setpoint generator limits, the drive motors and wheel grip limit acceleration further
+    public static final double MAX_ACCELERATION = 8.0; // meters/second^2
+    // NEO 550 free speed through the 46.42:1 MAXSwerve steering reduction, with margin for the PID
+    public static final double MAX_MODULE_STEER_RATE =
+            Units.rotationsPerMinuteToRadiansPerSecond(11000) / 46.42 * 0.8; // radians/second
 
     // Chassis configuration
     public static final double TRACK_WIDTH = Units.inchesToMeters(26.5);
     // Distance between centers of right and left wheels on robot
     public static final double WHEEL_BASE = Units.inchesToMeters(26.5);
     // Distance between front and back wheels on robot
+    // FL, FR, RL, RR
+    public static final Translation2d[] MODULE_LOCATIONS = {
+        new Translation2d(WHEEL_BASE / 2, TRACK_WIDTH / 2),
+        new Translation2d(WHEEL_BASE / 2, -TRACK_WIDTH / 2),
+        new Translation2d(-WHEEL_BASE / 2, TRACK_WIDTH / 2),
+        new Translation2d(-WHEEL_BASE / 2, -TRACK_WIDTH / 2)
+    };
     public static final SwerveDriveKinematics DRIVE_KINEMATICS =
-            new SwerveDriveKinematics(
-                    new Translation2d(WHEEL_BASE / 2, TRACK_WIDTH / 2),
-                    new Translation2d(WHEEL_BASE / 2, -TRACK_WIDTH / 2),
-                    new Translation2d(-WHEEL_BASE / 2, TRACK_WIDTH / 2),
-                    new Translation2d(-WHEEL_BASE / 2, -TRACK_WIDTH / 2));
+            new SwerveDriveKinematics(MODULE_LOCATIONS);
 
     // Angular offsets of the modules relative to the chassis in radians
     public static final double FRONT_LEFT_CHASSIS_ANGULAR_OFFSET = 4.419 - Math.PI / 2;
@@ -50,6 +55,13 @@ public class DrivetrainConstants {
 
     public static final boolean GYRO_REVERSED = false;
 
+    // Odometry thread, samples are drained every main loop
+    public static final double ODOMETRY_FREQUENCY_HZ = 200.0;
+    public static final int ODOMETRY_QUEUE_CAPACITY = 64;
+    public static final int ODOMETRY_SIGNAL_PERIOD_MS = 5;
+    // Same length as the pose estimator's own buffer, 1.5 seconds
+    public static final int POSE_HISTORY_CAPACITY = (int) (1.5 * ODOMETRY_FREQUENCY_HZ);
+
     // MODULE CONSTANTS
 
     // The MAXSwerve module can be configured with one of three pinion gears: 12T,
@@ -1,73 +1,60 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.constants;
 
-import edu.wpi.first.apriltag.AprilTag;
-import edu.wpi.first.apriltag.AprilTagFieldLayout;
-import edu.wpi.first.apriltag.AprilTagFields;
 import edu.wpi.first.math.geometry.*;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.blackknights.framework.CoralQueue;
 import org.blackknights.utils.AlignUtils;
-import org.blackknights.utils.ConfigManager;
+import org.blackknights.utils.FieldModel;
 
 /** Scoring related constants */
 public class ScoringConstants {
-    private static final List<AprilTag> aprilPoses =
-            AprilTagFieldLayout.loadField(AprilTagFields.k2025ReefscapeAndyMark).getTags();
+    private static final FieldModel field = FieldModel.getInstance();
 
     public static Pose2d[] CORAL_POSITIONS = new Pose2d[] {};
 
     public static void recomputeCoralPositions() {
         CORAL_POSITIONS =
                 new Pose2d[] {
-                    getPoseFromTag("right", 10), // R1
-                    getPoseFromTag("left", 9), // R2
-                    getPoseFromTag("right", 9), // R3
-                    getPoseFromTag("left", 8), // R4
-                    getPoseFromTag("right", 8), // R5
-                    getPoseFromTag("left", 7), // R6
-                    getPoseFromTag("right", 7), // R7
-                    getPoseFromTag("left", 6), // R8
-                    getPoseFromTag("right", 6), // R9
-                    getPoseFromTag("left", 11), // R10
-                    getPoseFromTag("right", 11), // R11
-                    getPoseFromTag("left", 10), // R12
-                    getPoseFromTag("right", 21), // B1
-                    getPoseFromTag("left", 22), // B2
-                    getPoseFromTag("right", 22), // B3
-                    getPoseFromTag("left", 17), // B4
-                    getPoseFromTag("right", 17), // B5
-                    getPoseFromTag("left", 18), // B6
-                    getPoseFromTag("right", 18), // B7
-                    getPoseFromTag("left", 19), // B8
-                    getPoseFromTag("right", 19), // B9
-                    getPoseFromTag("left", 20), // B10
-                    getPoseFromTag("right", 20), // B11
-                    getPoseFromTag("left", 21) // B12
+                    getPoseFromTag(ScoringSides.RIGHT, 10), // R1
+                    getPoseFromTag(ScoringSides.LEFT, 9), // R2
+                    getPoseFromTag(ScoringSides.RIGHT, 9), // R3
+                    getPoseFromTag(ScoringSides.LEFT, 8), // R4
+                    getPoseFromTag(ScoringSides.RIGHT, 8), // R5
+                    getPoseFromTag(ScoringSides.LEFT, 7), // R6
+                    getPoseFromTag(ScoringSides.RIGHT, 7), // R7
+                    getPoseFromTag(ScoringSides.LEFT, 6), // R8
+                    getPoseFromTag(ScoringSides.RIGHT, 6), // R9
+                    getPoseFromTag(ScoringSides.LEFT, 11), // R10
+                    getPoseFromTag(ScoringSides.RIGHT, 11), // R11
+                    getPoseFromTag(ScoringSides.LEFT, 10), // R12
+                    getPoseFromTag(ScoringSides.RIGHT, 21), // B1
+                    getPoseFromTag(ScoringSides.LEFT, 22), // B2
+                    getPoseFromTag(ScoringSides.RIGHT, 22), // B3
+                    getPoseFromTag(ScoringSides.LEFT, 17), // B4
+                    getPoseFromTag(ScoringSides.RIGHT, 17), // B5
+                    getPoseFromTag(ScoringSides.LEFT, 18), // B6
+                    getPoseFromTag(ScoringSides.RIGHT, 18), // B7
+                    getPoseFromTag(ScoringSides.LEFT, 19), // B8
+                    getPoseFromTag(ScoringSides.RIGHT, 19), // B9
+                    getPoseFromTag(ScoringSides.LEFT, 20), // B10
+                    getPoseFromTag(ScoringSides.RIGHT, 20), // B11
+                    getPoseFromTag(ScoringSides.LEFT, 21) // B12
                 };
     }
 
     public static final Pose2d INTAKE_RED_LEFT =
-            AlignUtils.getXDistBack(
-                    aprilPoses.get(0).pose.toPose2d(),
-                    ConfigManager.getInstance().get("autointake_dist_back", 0.41));
+            AlignUtils.getXDistBack(field.getTagPose2d(1), TuningKeys.AUTOINTAKE_DIST_BACK.get());
 
     public static final Pose2d INTAKE_RED_RIGHT =
-            AlignUtils.getXDistBack(
-                    aprilPoses.get(1).pose.toPose2d(),
-                    ConfigManager.getInstance().get("autointake_dist_back", 0.41));
+            AlignUtils.getXDistBack(field.getTagPose2d(2), TuningKeys.AUTOINTAKE_DIST_BACK.get());
 
     public static final Pose2d INTAKE_BLUE_LEFT =
-            AlignUtils.getXDistBack(
-                    aprilPoses.get(12).pose.toPose2d(),
-                    ConfigManager.getInstance().get("autointake_dist_back", 0.41));
+            AlignUtils.getXDistBack(field.getTagPose2d(13), TuningKeys.AUTOINTAKE_DIST_BACK.get());
 
     public static final Pose2d INTAKE_BLUE_RIGHT =
-            AlignUtils.getXDistBack(
-                    aprilPoses.get(11).pose.toPose2d(),
-                    ConfigManager.getInstance().get("autointake_dist_back", 0.41));
+            AlignUtils.getXDistBack(field.getTagPose2d(12), TuningKeys.AUTOINTAKE_DIST_BACK.get());
 
     public static final Map<String, CoralQueue.CoralQueueProfile> PROFILES = new HashMap<>();
 
@@ -106,32 +93,20 @@ public class ScoringConstants {
     /**
      * Get a scoring position from an april tag id
      *
-     * @param offsetKey The key in config manager (scoring_{side}_x and scoring_{side}_y) for the x
-     *     and y offsets
+     * @param side The side to score on, picks the scoring_{side}_x and scoring_{side}_y offsets
      * @param id The april tag id to base of pose from
      * @return The target scoring position
      */
-    public static Pose2d getPoseFromTag(String offsetKey, int id) {
+    public static Pose2d getPoseFromTag(ScoringSides side, int id) {
+        Pose2d tagPose = field.getTagPose2d(id);
         Pose2d p =
-                aprilPoses
-                        .get(id - 1)
-                        .pose
-                        .toPose2d()
-                        .transformBy(
-                                new Transform2d(
-                                        ConfigManager.getInstance()
-                                                .get(String.format("scoring_%s_x", offsetKey), -.5),
-                                        ConfigManager.getInstance()
-                                                .get(
-                                                        String.format("scoring_%s_y", offsetKey),
-                                                        -0.25),
-                                        aprilPoses.get(id - 1).pose.getRotation().toRotation2d()));
+                tagPose.transformBy(
+                        new Transform2d(
+                                TuningKeys.scoringOffsetX(side).get(),
+                                TuningKeys.scoringOffsetY(side).get(),
+                                tagPose.getRotation()));
 
         return new Pose2d(
-                p.getX(),
-                p.getY(),
-                new Rotation2d(
-                        aprilPoses.get(id - 1).pose.getRotation().toRotation2d().getRadians()
-                                + Math.PI));
+                p.getX(), p.getY(), new Rotation2d(tagPose.getRotation().getRadians() + Math.PI));
     }
 }
@@ -0,0 +1,196 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.constants;
+
+import org.blackknights.utils.ConfigManager;
+import org.blackknights.utils.TunableBoolean;
+import org.blackknights.utils.TunableDouble;
+
+/**
+ * Every tuning value used by the robot. Each one is registered with {@link ConfigManager} once and
+ * gets a dense index in its primitive store, so reading one is an array load. Using these instead
+ * of string keys means a misspelled key is a compile error instead of a new (useless) value in the
+ * config
+ *
+ * <p>Align values are per profile, see {@link AlignProfile}
+ */
+public class TuningKeys {
+    private static final ConfigManager CONFIG = ConfigManager.getInstance();
+
+    // Drivetrain
+    public static final TunableDouble SWERVE_MIN_VELOCITY =
+            CONFIG.doubleKey("swerve_min_velocity", 0.01);
+    public static final TunableDouble DRIVE_MAX_ACCELERATION =
+            CONFIG.doubleKey("drive_max_acceleration", DrivetrainConstants.MAX_ACCELERATION);
+    public static final TunableDouble CONTROLLER_DEADBAND =
+            CONFIG.doubleKey("controller_deadband", 0.06);
+    public static final TunableDouble DRIVER_MAX_SPEED = CONFIG.doubleKey("driver_max_speed", 3.5);
+    public static final TunableDouble DRIVER_MAX_SPEED_ROT =
+            CONFIG.doubleKey("driver_max_speed_rot", 360.0);
+    public static final TunableDouble BACK_MPS = CONFIG.doubleKey("back_mps", -1.0);
+    public static final TunableDouble BACK_TIME_SEC = CONFIG.doubleKey("back_time_sec", 0.2);
+
+    // Elevator
+    public static final TunableDouble ELEVATOR_P =
+            CONFIG.doubleKey("elevator_p", ElevatorConstants.ELEVATOR_P);
+    public static final TunableDouble ELEVATOR_I =
+            CONFIG.doubleKey("elevator_i", ElevatorConstants.ELEVATOR_I);
+    public static final TunableDouble ELEVATOR_D =
+            CONFIG.doubleKey("elevator_d", ElevatorConstants.ELEVATOR_D);
+    public static final TunableDouble ELEVATOR_MAX_VEL =
+            CONFIG.doubleKey("elevator_max_vel", ElevatorConstants.ELEVATOR_MAX_VEL);
+    public static final TunableDouble ELEVATOR_MAX_ACCEL =
+            CONFIG.doubleKey("elevator_max_accel", ElevatorConstants.ELEVATOR_MAX_ACCEL);
+    public static final TunableDouble ELEVATOR_KS =
+            CONFIG.doubleKey("elevator_ks", ElevatorConstants.ELEVATOR_KS);
+    public static final TunableDouble ELEVATOR_KG =
+            CONFIG.doubleKey("elevator_kg", ElevatorConstants.ELEVATOR_KG);
+    public static final TunableDouble ELEVATOR_ZERO_VOLTAGE =
+            CONFIG.doubleKey("elevator_zero_voltage", ElevatorConstants.ELEVATOR_ZEROING_VOLTAGE);
+    public static final TunableDouble ELEVATOR_MANUAL_ZERO =
+            CONFIG.doubleKey("elevator_manual_zero", -2.0);
+
+    // Arm
+    public static final TunableDouble ARM_P = CONFIG.doubleKey("arm_p", ArmConstants.PIVOT_P);
+    public static final TunableDouble ARM_I = CONFIG.doubleKey("arm_i", ArmConstants.PIVOT_I);
+    public static final TunableDouble ARM_D = CONFIG.doubleKey("arm_d", ArmConstants.PIVOT_D);
+    public static final TunableDouble ARM_KS = CONFIG.doubleKey("arm_ks", ArmConstants.PIVOT_KS);
+    public static final TunableDouble ARM_KG = CONFIG.doubleKey("arm_kg", ArmConstants.PIVOT_KG);
+    public static final TunableDouble ARM_KV = CONFIG.doubleKey("arm_kv", ArmConstants.PIVOT_KV);
+    public static final TunableDouble ARM_KA = CONFIG.doubleKey("arm_ka", ArmConstants.PIVOT_KA);
+    public static final TunableDouble ARM_MAX_VEL_DEGS =
+            CONFIG.doubleKey("arm_max_vel_degs", Math.toDegrees(ArmConstants.PIVOT_MAX_VELOCITY));
+    public static final TunableDouble ARM_MAX_ACCEL_DEGS =
+            CONFIG.doubleKey(
+                    "arm_max_accel_degs", Math.toDegrees(ArmConstants.PIVOT_MAX_ACCELERATION));
+    public static final TunableDouble ARM_TOL =
+            CONFIG.doubleKey("arm_tol", ArmConstants.PIVOT_TOLERANCE);
+    public static final TunableDouble ARM_ENCODER_OFFSET =
+            CONFIG.doubleKey("arm_encoder_offset", ArmConstants.PIVOT_ENCODER_OFFSET);
+    public static final TunableDouble ARM_BASE_ANGLE = CONFIG.doubleKey("arm_base_angle", 0.1);
+    public static final TunableDouble ARM_MOVEMENT_MAX = CONFIG.doubleKey("arm_movement_max", 0.2);
+
+    // Intake
+    public static final TunableDouble INTAKE_SPEED = CONFIG.doubleKey("intake_speed", 8.0);
+    public static final TunableDouble OUTTAKE_SPEED = CONFIG.doubleKey("outtake_speed", -8.0);
+    public static final TunableDouble OUTTAKE_WAIT_TIME_MS =
+            CONFIG.doubleKey("outtake_wait_time_ms", 250.0);
+    public static final TunableDouble OUTTAKING_TIME_MS =
+            CONFIG.doubleKey("outtaking_time_ms", 200.0);
+    public static final TunableDouble INTAKE_SLOW_VOLTAGE =
+            CONFIG.doubleKey("intake_slow_voltage", -2.0);
+    public static final TunableDouble OUTTAKE_MAX_TIME_SEC =
+            CONFIG.doubleKey("outtake_max_time_sec", 5.0);
+
+    // Align (shared between profiles)
+    public static final TunableDouble ALIGN_TRAP_T_SEC = CONFIG.doubleKey("align_trap_t_sec", 0.2);
+    public static final TunableDouble ALIGN_ROTATION_FF_KS =
+            CONFIG.doubleKey("align_rotation_ff_ks", 0.01622);
+    public static final TunableDouble ALIGN_ROTATION_FF_KV =
+            CONFIG.doubleKey("align_rotation_ff_kv", 0.0);
+    public static final TunableDouble ALIGN_DIST_BACK = CONFIG.doubleKey("align_dist_back", 0.5);
+    public static final TunableDouble ALIGN_FINE_MAX_TIME =
+            CONFIG.doubleKey("align_fine_max_time", 3.0);
+    public static final TunableDouble AUTO_PLACE_BACKUP_TIME_MS =
+            CONFIG.doubleKey("auto_place_backup_time_ms", 0.2);
+
+    // Vision and odometry
+    public static final TunableDouble VISION_CUTOFF_DISTANCE =
+            CONFIG.doubleKey("vision_cutoff_distance", 3.0);
+    public static final TunableDouble VISION_MIN_DISTANCE =
+            CONFIG.doubleKey("vision_min_distance", 0.5);
+    public static final TunableDouble ODOM_WHEEL_TRUST =
+            CONFIG.doubleKey("odom_wheel_trust", VisionConstants.WHEEL_TRUST);
+    public static final TunableDouble ODOM_WHEEL_TRUST_THETA =
+            CONFIG.doubleKey("odom_wheel_trust_theta", Math.toRadians(5));
+    public static final TunableDouble ODOM_VISION_TRUST =
+            CONFIG.doubleKey("odom_vision_trust", VisionConstants.VISION_TRUST);
+    public static final TunableDouble ODOM_VISION_TRUST_THETA =
+            CONFIG.doubleKey("odom_vision_trust_theta", Math.toRadians(5));
+    public static final TunableBoolean ODOM_PLANAR = CONFIG.booleanKey("odom_planar", false);
+    public static final TunableBoolean VISION_GATING = CONFIG.booleanKey("vision_gating", true);
+    public static final TunableDouble VISION_GATE_TIMEOUT =
+            CONFIG.doubleKey("vision_gate_timeout", 1.0);
+    public static final TunableDouble LEFT_CAM_X = CONFIG.doubleKey("left_cam_x", 0.253);
+    public static final TunableDouble LEFT_CAM_ANGLE = CONFIG.doubleKey("left_cam_angle", -10.0);
+    public static final TunableDouble RIGHT_CAM_X = CONFIG.doubleKey("right_cam_x", .253);
+    public static final TunableDouble RIGHT_CAM_ANGLE = CONFIG.doubleKey("right_cam_angle", 10.0);
+    public static final TunableDouble CENTER_CAM_PITCH = CONFIG.doubleKey("center_cam_pitch", 45.0);
+
+    // Scoring
+    public static final TunableDouble AUTOINTAKE_DIST_BACK =
+            CONFIG.doubleKey("autointake_dist_back", 0.41);
+
+    // Telemetry
+    public static final TunableBoolean TELEMETRY_COMPETITION_MODE =
+            CONFIG.booleanKey("telemetry_competition_mode", false);
+    public static final TunableBoolean TELEMETRY_FILE_LOG =
+            CONFIG.booleanKey("telemetry_file_log", false);
+
+    private static final TunableDouble[] SCORING_OFFSET_X =
+            new TunableDouble[ScoringConstants.ScoringSides.values().length];
+    private static final TunableDouble[] SCORING_OFFSET_Y =
+            new TunableDouble[ScoringConstants.ScoringSides.values().length];
+    private static final TunableDouble[] ELEVATOR_POSITIONS =
+            new TunableDouble[ScoringConstants.ScoringHeights.values().length];
+    private static final TunableDouble[] ARM_POSITIONS =
+            new TunableDouble[ScoringConstants.ScoringHeights.values().length];
+
+    static {
+        for (ScoringConstants.ScoringSides side : ScoringConstants.ScoringSides.values()) {
+            String name = side.toString().toLowerCase();
+            SCORING_OFFSET_X[side.ordinal()] =
+                    CONFIG.doubleKey(String.format("scoring_%s_x", name), -.5);
+            SCORING_OFFSET_Y[side.ordinal()] =
+                    CONFIG.doubleKey(String.format("scoring_%s_y", name), -0.25);
+        }
+
+        for (ScoringConstants.ScoringHeights height : ScoringConstants.ScoringHeights.values()) {
+            String name = height.toString().toLowerCase();
+            ELEVATOR_POSITIONS[height.ordinal()] =
+                    CONFIG.doubleKey(String.format("elevator_%s", name), 0.0);
+            ARM_POSITIONS[height.ordinal()] = CONFIG.doubleKey(String.format("arm_%s", name), 0.0);
+        }
+    }
+
+    private TuningKeys() {}
+
+    /**
+     * Get the x offset from an april tag to a scoring position
+     *
+     * @param side The scoring side
+     * @return The scoring_[side]_x value
+     */
+    public static TunableDouble scoringOffsetX(ScoringConstants.ScoringSides side) {
+        return SCORING_OFFSET_X[side.ordinal()];
+    }
+
+    /**
+     * Get the y offset from an april tag to a scoring position
+     *
+     * @param side The scoring side
+     * @return The scoring_[side]_y value
+     */
+    public static TunableDouble scoringOffsetY(ScoringConstants.ScoringSides side) {
+        return SCORING_OFFSET_Y[side.ordinal()];
+    }
+
+    /**
+     * Get the elevator position for a scoring height
+     *
+     * @param height The scoring height
+     * @return The elevator_[height] value
+     */
+    public static TunableDouble elevatorPosition(ScoringConstants.ScoringHeights height) {
+        return ELEVATOR_POSITIONS[height.ordinal()];
+    }
+
+    /**
+     * Get the arm position for a scoring height
+     *
+     * @param height The scoring height
+     * @return The arm_[height] value
+     */
+    public static TunableDouble armPosition(ScoringConstants.ScoringHeights height) {
+        return ARM_POSITIONS[height.ordinal()];
+    }
+}
@@ -1,44 +1,45 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.constants;
 
+import edu.wpi.first.apriltag.AprilTagFields;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Transform3d;
-import org.blackknights.utils.ConfigManager;
 
 /** Vision related constants */
 public class VisionConstants {
-    public static double WHEEL_TRUST = 0.1;
-    public static double VISION_TRUST = 0.5;
+    public static final double WHEEL_TRUST = 0.1;
+    public static final double VISION_TRUST = 0.5;
+
+    // The field everything is localized and scored against
+    public static final AprilTagFields FIELD_LAYOUT = AprilTagFields.k2025ReefscapeWelded;
+
+    // How often each camera's worker checks for new results
+    public static final double CAMERA_POLL_HZ = 100.0;
+
+    // Used to predict which tags each camera can see, padded a little so a slightly wrong pose
+    // doesn't throw away good frames
+    public static final double CAMERA_HORIZONTAL_FOV = Math.toRadians(70 + 10);
+    public static final double CAMERA_VERTICAL_FOV = Math.toRadians(55 + 10);
+    public static final double MAX_TAG_VIEW_ANGLE = Math.toRadians(70);
+    public static final double VISIBILITY_DISTANCE_MARGIN = 0.5;
 
     public static final Transform3d LEFT_CAM_TRANSFORM =
             new Transform3d(
-                    ConfigManager.getInstance().get("left_cam_x", 0.253),
+                    TuningKeys.LEFT_CAM_X.get(),
                     0.336,
                     0.229,
-                    new Rotation3d(
-                            0.0,
-                            0.0,
-                            Math.toRadians(
-                                    ConfigManager.getInstance().get("left_cam_angle", -10.0))));
+                    new Rotation3d(0.0, 0.0, Math.toRadians(TuningKeys.LEFT_CAM_ANGLE.get())));
     public static final Transform3d RIGHT_CAM_TRANSFORM =
             new Transform3d(
-                    ConfigManager.getInstance().get("right_cam_x", .253),
+                    TuningKeys.RIGHT_CAM_X.get(),
                     -0.3995,
                     0.229,
-                    new Rotation3d(
-                            0.0,
-                            0.0,
-                            Math.toRadians(
-                                    ConfigManager.getInstance().get("right_cam_angle", 10.0))));
+                    new Rotation3d(0.0, 0.0, Math.toRadians(TuningKeys.RIGHT_CAM_ANGLE.get())));
 
     public static final Transform3d CENTER_CAM_TRANSFORM =
             new Transform3d(
                     0.1, //  0.341122 0.3832
                     0.0,
                     0.2040382,
-                    new Rotation3d(
-                            0.0,
-                            Math.toRadians(
-                                    ConfigManager.getInstance().get("center_cam_pitch", 45.0)),
-                            0.0));
+                    new Rotation3d(0.0, Math.toRadians(TuningKeys.CENTER_CAM_PITCH.get()), 0.0));
 }
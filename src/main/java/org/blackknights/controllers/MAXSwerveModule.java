@@ -18,8 +18,13 @@ import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
-import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.constants.CanConstants;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.framework.SwerveSensorFrame;
+import org.blackknights.utils.CanBusLoad;
+import org.blackknights.utils.SetpointCache;
+import org.blackknights.utils.SwerveKinematics;
+import org.blackknights.utils.Telemetry;
 
 /** A wrapper class for swerve modules */
 public class MAXSwerveModule {
@@ -35,7 +40,20 @@ public class MAXSwerveModule {
     private final SparkClosedLoopController turningClosedLoopController;
 
     private final double chassisAngularOffset;
-    private SwerveModuleState desiredState = new SwerveModuleState(0.0, new Rotation2d());
+    // The last desired state, before the angular offset and optimization
+    private double desiredSpeed = 0.0;
+    private double desiredAngle = 0.0;
+
+    // The encoders as of the last read, used when setting the desired state
+    private double turnPosition;
+    private double driveVelocity;
+
+    // The last setpoints sent, so a module holding still doesn't resend them every loop
+    private final SetpointCache driveSetpoint = new SetpointCache();
+    private final SetpointCache turnSetpoint = new SetpointCache();
+
+    private final Telemetry.DoubleValue ffOutputTelemetry;
+    private final Telemetry.DoubleValue targetMpsTelemetry;
 
     private SimpleMotorFeedforward feedforward =
             new SimpleMotorFeedforward(0.096286, 2.3216, 0.41854, 1);
@@ -50,6 +68,13 @@ public class MAXSwerveModule {
         turningSpark = new SparkMax(turningCANId, MotorType.kBrushless);
         this.drivingCanId = drivingCANId;
 
+        ffOutputTelemetry =
+                Telemetry.doubleValue(
+                        "debug", String.format("ID(%s) - Swerve FF Output", drivingCanId));
+        targetMpsTelemetry =
+                Telemetry.doubleValue(
+                        "debug", String.format("ID(%s) - Swerve target mps", drivingCanId));
+
         drivingEncoder = drivingSpark.getEncoder();
         turningEncoder = turningSpark.getAbsoluteEncoder();
 
@@ -67,9 +92,12 @@ public class MAXSwerveModule {
                 MAXSwerveModuleConfig.turningConfig,
                 ResetMode.kResetSafeParameters,
                 PersistMode.kPersistParameters);
+        CanBusLoad.getInstance().register(CanConstants.SWERVE_DRIVE);
+        CanBusLoad.getInstance().register(CanConstants.SWERVE_TURN);
 
         this.chassisAngularOffset = chassisAngularOffset;
-        desiredState.angle = new Rotation2d(turningEncoder.getPosition());
+        turnPosition = turningEncoder.getPosition();
+        desiredAngle = turnPosition;
         drivingEncoder.setPosition(0);
     }
 
@@ -99,48 +127,118 @@ public class MAXSwerveModule {
                 new Rotation2d(turningEncoder.getPosition() - chassisAngularOffset));
     }
 
+    /**
+     * Returns the distance the drive wheel has travelled without allocating a position
+     *
+     * @return The drive distance in meters
+     */
+    public double getDrivePositionMeters() {
+        return drivingEncoder.getPosition();
+    }
+
+    /**
+     * Returns the angle of the module relative to the chassis without allocating a position
+     *
+     * @return The module angle in radians
+     */
+    public double getAngleRad() {
+        return turningEncoder.getPosition() - chassisAngularOffset;
+    }
+
+    /**
+     * Read the encoders once into a sensor frame, the desired state is set against these values
+     * until the next read
+     *
+     * @param frame The frame to fill
+     * @param module The index of this module in the frame
+     */
+    public void read(SwerveSensorFrame frame, int module) {
+        turnPosition = turningEncoder.getPosition();
+        driveVelocity = drivingEncoder.getVelocity();
+        frame.setModule(
+                module,
+                drivingEncoder.getPosition(),
+                driveVelocity,
+                turnPosition - chassisAngularOffset);
+    }
+
+    /**
+     * Returns the last desired state of the module, before the angular offset and optimization
+     *
+     * @return The desired state of the module.
+     */
+    public SwerveModuleState getDesiredState() {
+        return new SwerveModuleState(desiredSpeed, new Rotation2d(desiredAngle));
+    }
+
+    /**
+     * Returns the last desired speed of the module without allocating a state
+     *
+     * @return The desired speed in meters per second
+     */
+    public double getDesiredSpeed() {
+        return desiredSpeed;
+    }
+
+    /**
+     * Returns the last desired angle of the module relative to the chassis without allocating a
+     * state
+     *
+     * @return The desired angle in radians
+     */
+    public double getDesiredAngle() {
+        return desiredAngle;
+    }
+
     /**
      * Sets the desired state for the module.
      *
      * @param desiredState Desired state with speed and angle.
      */
     public void setDesiredState(SwerveModuleState desiredState) {
+        setDesiredState(desiredState.speedMetersPerSecond, desiredState.angle.getRadians());
+    }
+
+    /**
+     * Sets the desired state for the module without allocating.
+     *
+     * @param speedMetersPerSecond The desired speed
+     * @param angleRad The desired angle relative to the chassis in radians
+     */
+    public void setDesiredState(double speedMetersPerSecond, double angleRad) {
         // Apply chassis angular offset to the desired state.
-        SwerveModuleState correctedDesiredState = new SwerveModuleState();
-        correctedDesiredState.speedMetersPerSecond = desiredState.speedMetersPerSecond;
-        correctedDesiredState.angle =
-                desiredState.angle.plus(Rotation2d.fromRadians(chassisAngularOffset));
+        double correctedSpeed = speedMetersPerSecond;
+        double correctedAngle = angleRad + chassisAngularOffset;
 
         // Optimize the reference state to avoid spinning further than 90 degrees.
-        correctedDesiredState.optimize(new Rotation2d(turningEncoder.getPosition()));
+        if (SwerveKinematics.shouldReverse(correctedAngle, turnPosition)) {
+            correctedSpeed = -correctedSpeed;
+            correctedAngle += Math.PI;
+        }
+        correctedAngle = MathUtil.angleModulus(correctedAngle);
 
-        double ffOutput =
-                feedforward.calculateWithVelocities(
-                        drivingEncoder.getVelocity(), correctedDesiredState.speedMetersPerSecond);
+        double ffOutput = feedforward.calculateWithVelocities(driveVelocity, correctedSpeed);
 
-        NetworkTablesUtils.getTable("debug")
-                .setEntry(String.format("ID(%s) - Swerve FF Output", drivingCanId), ffOutput);
-        NetworkTablesUtils.getTable("debug")
-                .setEntry(
-                        String.format("ID(%s) - Swerve target mps", drivingCanId),
-                        correctedDesiredState.speedMetersPerSecond);
+        ffOutputTelemetry.set(ffOutput);
+        targetMpsTelemetry.set(correctedSpeed);
 
-        // Command driving and turning SPARKS towards their respective endpoints.
-        drivingClosedLoopController.setReference(
-                correctedDesiredState.speedMetersPerSecond,
-                ControlType.kVelocity,
-                ClosedLoopSlot.kSlot0,
-                MathUtil.isNear(
-                                0.0,
-                                correctedDesiredState.speedMetersPerSecond,
-                                ConfigManager.getInstance().get("swerve_min_velocity", 0.01))
+        double arbFF =
+                MathUtil.isNear(0.0, correctedSpeed, TuningKeys.SWERVE_MIN_VELOCITY.get())
                         ? 0.0
-                        : ffOutput);
+                        : ffOutput;
+
+        // Command driving and turning SPARKS towards their respective endpoints.
+        if (driveSetpoint.shouldWrite(SetpointCache.MODE_VELOCITY, correctedSpeed, arbFF)) {
+            drivingClosedLoopController.setReference(
+                    correctedSpeed, ControlType.kVelocity, ClosedLoopSlot.kSlot0, arbFF);
+        }
 
-        turningClosedLoopController.setReference(
-                correctedDesiredState.angle.getRadians(), ControlType.kPosition);
+        if (turnSetpoint.shouldWrite(SetpointCache.MODE_POSITION, correctedAngle)) {
+            turningClosedLoopController.setReference(correctedAngle, ControlType.kPosition);
+        }
 
-        this.desiredState = desiredState;
+        this.desiredSpeed = speedMetersPerSecond;
+        this.desiredAngle = angleRad;
     }
 
     public void reconfigure(SparkFlexConfig drivingConfig, SparkMaxConfig turningConfig) {
@@ -148,6 +246,8 @@ public class MAXSwerveModule {
                 drivingConfig, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
         turningSpark.configure(
                 turningConfig, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
+        driveSetpoint.invalidate();
+        turnSetpoint.invalidate();
     }
 
     /** Zeroes all the SwerveModule encoders. */
@@ -161,7 +261,9 @@ public class MAXSwerveModule {
      * @param voltage The target voltage
      */
     public void setTurningVoltage(double voltage) {
-        this.turningSpark.setVoltage(voltage);
+        if (this.turnSetpoint.shouldWrite(SetpointCache.MODE_VOLTAGE, voltage)) {
+            this.turningSpark.setVoltage(voltage);
+        }
     }
 
     /**
@@ -170,6 +272,8 @@ public class MAXSwerveModule {
      * @param voltage The target voltage
      */
     public void setDrivingVoltage(double voltage) {
-        this.drivingSpark.setVoltage(voltage);
+        if (this.driveSetpoint.shouldWrite(SetpointCache.MODE_VOLTAGE, voltage)) {
+            this.drivingSpark.setVoltage(voltage);
+        }
     }
 }
@@ -5,6 +5,7 @@ import com.revrobotics.spark.config.ClosedLoopConfig.FeedbackSensor;
 import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
 import com.revrobotics.spark.config.SparkFlexConfig;
 import com.revrobotics.spark.config.SparkMaxConfig;
+import org.blackknights.constants.CanConstants;
 import org.blackknights.constants.DrivetrainConstants;
 
 /** A config for the {@link MAXSwerveModule} */
@@ -25,6 +26,7 @@ public class MAXSwerveModuleConfig {
                 .encoder
                 .positionConversionFactor(drivingFactor) // meters
                 .velocityConversionFactor(drivingFactor / 60.0); // meters per second
+        CanConstants.SWERVE_DRIVE.apply(drivingConfig);
         drivingConfig
                 .closedLoop
                 .feedbackSensor(FeedbackSensor.kPrimaryEncoder)
@@ -41,6 +43,7 @@ public class MAXSwerveModuleConfig {
                 .inverted(true)
                 .positionConversionFactor(turningFactor) // radians
                 .velocityConversionFactor(turningFactor / 60.0); // radians per second
+        CanConstants.SWERVE_TURN.apply(turningConfig);
         turningConfig
                 .closedLoop
                 .feedbackSensor(FeedbackSensor.kAbsoluteEncoder)
@@ -10,7 +10,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.blackknights.constants.ScoringConstants;
 import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.Telemetry;
 
 /** Keeps a list of future positions to place coral */
 public class CoralQueue {
@@ -18,7 +18,16 @@ public class CoralQueue {
     private static final Logger LOGGER = LogManager.getLogger();
 
     private final ArrayList<CoralPosition> coralPositions = new ArrayList<>();
-    private final NetworkTablesUtils NTUtils = NetworkTablesUtils.getTable("CoralQueue");
+    private final Telemetry.Pose2dValue poseTelemetry =
+            Telemetry.pose2dValue("CoralQueue", "Current Reef Pose");
+    private final Telemetry.StringValue poseNameTelemetry =
+            Telemetry.stringValue("CoralQueue", "Current Reef Pose Name");
+    private final Telemetry.BooleanArrayValue heightTelemetry =
+            Telemetry.booleanArrayValue("CoralQueue", "Current Reef Height");
+    private final Telemetry.DoubleValue indexTelemetry =
+            Telemetry.doubleValue("CoralQueue", "Position Index");
+    private final Telemetry.DoubleValue sizeTelemetry =
+            Telemetry.doubleValue("CoralQueue", "Num positions");
 
     private int positionListIndex = 0;
     private boolean interrupt = false;
@@ -123,18 +132,12 @@ public class CoralQueue {
 
     /** Runs every 20ms to update NT position */
     public void periodic() {
-        NTUtils.setArrayEntry(
-                "Current Reef Pose",
-                new double[] {
-                    this.currentPos.getPose().getX(),
-                    this.currentPos.getPose().getY(),
-                    this.currentPos.getPose().getRotation().getRadians()
-                });
-
-        NTUtils.setEntry("Current Reef Pose Name", currentPos.toString());
-        NTUtils.setArrayEntry("Current Reef Height", currentPos.getBooleanHeights());
-        NTUtils.setEntry("Position Index", positionListIndex);
-        NTUtils.setEntry("Num positions", coralPositions.size());
+        poseTelemetry.set(this.currentPos.getPose());
+
+        poseNameTelemetry.set(currentPos.toString());
+        heightTelemetry.set(currentPos.getBooleanHeights());
+        indexTelemetry.set(positionListIndex);
+        sizeTelemetry.set(coralPositions.size());
     }
 
     /**
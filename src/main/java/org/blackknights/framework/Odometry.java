@@ -1,21 +1,24 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.framework;
 
-import edu.wpi.first.math.Matrix;
-import edu.wpi.first.math.Nat;
-import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator3d;
 import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.wpilibj.Timer;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.blackknights.constants.DrivetrainConstants;
-import org.blackknights.constants.VisionConstants;
+import org.blackknights.constants.TuningKeys;
 import org.blackknights.utils.Camera;
-import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.Telemetry;
+import org.blackknights.utils.VisionGate;
+import org.blackknights.utils.VisionMeasurement;
 
 /** System for all odometry related stuff */
 public class Odometry {
@@ -28,49 +31,42 @@ public class Odometry {
     /** Logger for recording debug and error messages related to odometry subsystem operations. */
     private static final Logger LOGGER = LogManager.getLogger();
 
-    private final NetworkTablesUtils NTTelemetry = NetworkTablesUtils.getTable("Telemetry");
-    private final NetworkTablesUtils debug = NetworkTablesUtils.getTable("debug/Odometry");
+    private final Telemetry.Pose2dValue poseTelemetry = Telemetry.pose2dValue("Telemetry", "Pose");
+    private final HashMap<String, CameraTelemetry> cameraTelemetry = new HashMap<>();
+
+    /** Measurements posted by every camera's worker, drained once a loop */
+    private final ConcurrentLinkedQueue<VisionMeasurement> visionQueue =
+            new ConcurrentLinkedQueue<>();
+
+    /** The latest estimate, published once a loop so other threads can read it without locking */
+    private final AtomicReference<OdometryState> state =
+            new AtomicReference<>(new OdometryState(0.0, new Pose3d(), new ChassisSpeeds()));
 
     private Optional<Pose3d> targetPose = Optional.of(new Pose3d());
 
     private boolean hasSeenTarget = false;
 
-    /** Pose estimator for the robot, combining wheel-based odometry and vision measurements. */
-    private final SwerveDrivePoseEstimator3d poseEstimator =
-            new SwerveDrivePoseEstimator3d(
-                    DrivetrainConstants.DRIVE_KINEMATICS,
-                    new Rotation3d(),
-                    new SwerveModulePosition[] {
-                        new SwerveModulePosition(),
-                        new SwerveModulePosition(),
-                        new SwerveModulePosition(),
-                        new SwerveModulePosition()
-                    },
-                    new Pose3d(),
-                    new Matrix<>(
-                            Nat.N4(),
-                            Nat.N1(),
-                            new double[] {
-                                ConfigManager.getInstance()
-                                        .get("odom_wheel_trust", VisionConstants.WHEEL_TRUST),
-                                ConfigManager.getInstance()
-                                        .get("odom_wheel_trust", VisionConstants.WHEEL_TRUST),
-                                ConfigManager.getInstance()
-                                        .get("odom_wheel_trust_theta", Math.toRadians(5)),
-                                1
-                            }),
-                    new Matrix<>(
-                            Nat.N4(),
-                            Nat.N1(),
-                            new double[] {
-                                ConfigManager.getInstance()
-                                        .get("odom_vision_trust", VisionConstants.VISION_TRUST),
-                                ConfigManager.getInstance()
-                                        .get("odom_vision_trust", VisionConstants.VISION_TRUST),
-                                ConfigManager.getInstance()
-                                        .get("odom_vision_trust_theta", Math.toRadians(5)),
-                                1
-                            }));
+    /** Turns camera frame gating on while vision keeps the pose corrected */
+    private final VisionGate visionGate = new VisionGate();
+
+    /**
+     * Pose estimator for the robot, combining wheel-based odometry and vision measurements. The 2d
+     * one is cheaper but ignores pitch and roll, chosen once at startup by {@link
+     * TuningKeys#ODOM_PLANAR}
+     */
+    private final PoseEstimatorBackend poseEstimator = createPoseEstimator();
+
+    /**
+     * Recent estimated poses, so poses at past timestamps can be looked up without allocating.
+     * Recorded for every wheel sample and moved along with the estimate when vision corrects it
+     */
+    private final PoseHistory poseHistory =
+            new PoseHistory(DrivetrainConstants.POSE_HISTORY_CAPACITY, 4);
+
+    private final double[] historyDistances = new double[4];
+    private final double[] historySample = new double[PoseHistory.MODULES + 4];
+    private final double[] correctionFrom = new double[PoseHistory.MODULES];
+    private final double[] correctionTo = new double[PoseHistory.MODULES];
 
     private Odometry() {}
 
@@ -93,10 +89,36 @@ public class Odometry {
      */
     public void addCamera(Camera camera) {
         this.cameras.put(camera.getName(), camera);
+        this.cameraTelemetry.put(camera.getName(), new CameraTelemetry(camera.getName()));
+        // The worker reads the pose published at the end of the last loop
+        camera.start(this.visionQueue, () -> this.getState().getPose());
     }
 
-    public SwerveDrivePoseEstimator3d getPoseEstimator() {
-        return this.poseEstimator;
+    private static PoseEstimatorBackend createPoseEstimator() {
+        SwerveModulePosition[] positions = {
+            new SwerveModulePosition(),
+            new SwerveModulePosition(),
+            new SwerveModulePosition(),
+            new SwerveModulePosition()
+        };
+        double[] wheelTrust = {
+            TuningKeys.ODOM_WHEEL_TRUST.get(),
+            TuningKeys.ODOM_WHEEL_TRUST.get(),
+            TuningKeys.ODOM_WHEEL_TRUST_THETA.get()
+        };
+        double[] visionTrust = {
+            TuningKeys.ODOM_VISION_TRUST.get(),
+            TuningKeys.ODOM_VISION_TRUST.get(),
+            TuningKeys.ODOM_VISION_TRUST_THETA.get()
+        };
+
+        if (TuningKeys.ODOM_PLANAR.get()) {
+            LOGGER.info("Using the 2d pose estimator");
+            return new PoseEstimatorBackend.Estimator2d(
+                    DrivetrainConstants.DRIVE_KINEMATICS, positions, wheelTrust, visionTrust);
+        }
+        return new PoseEstimatorBackend.Estimator3d(
+                DrivetrainConstants.DRIVE_KINEMATICS, positions, wheelTrust, visionTrust);
     }
 
     /**
@@ -114,7 +136,8 @@ public class Odometry {
     }
 
     /**
-     * Get the current estimated pose of the robot
+     * Get the current estimated pose of the robot, only call this from the main loop. Other threads
+     * should use {@link #getState()}
      *
      * @return A {@link Pose3d} of the robot
      */
@@ -122,16 +145,46 @@ public class Odometry {
         return this.poseEstimator.getEstimatedPosition();
     }
 
-    public void resetPose(Pose3d pose) {
-        this.poseEstimator.resetPosition(
-                new Rotation3d(),
-                new SwerveModulePosition[] {
-                    new SwerveModulePosition(),
-                    new SwerveModulePosition(),
-                    new SwerveModulePosition(),
-                    new SwerveModulePosition()
-                },
-                pose);
+    /**
+     * Publish the current estimate for other threads, called from the main loop once the pose has
+     * been estimated
+     *
+     * @param timestampSeconds The FPGA time of the estimate in seconds
+     * @param fieldRelativeSpeeds The speeds of the robot relative to the field
+     */
+    public void publishState(double timestampSeconds, ChassisSpeeds fieldRelativeSpeeds) {
+        this.state.set(
+                new OdometryState(
+                        timestampSeconds,
+                        this.poseEstimator.getEstimatedPosition(),
+                        fieldRelativeSpeeds));
+    }
+
+    /**
+     * Get the last published estimate, safe to call from any thread
+     *
+     * @return The {@link OdometryState}
+     */
+    public OdometryState getState() {
+        return this.state.get();
+    }
+
+    /**
+     * Reset the estimated pose. Use {@link
+     * org.blackknights.subsystems.SwerveSubsystem#resetOdometry(Pose3d)}, which also throws away
+     * wheel samples queued from before the reset
+     *
+     * @param pose The new pose of the robot
+     * @param gyroRotation The gyro rotation now
+     * @param swerveModulePositions The 4 module positions now
+     */
+    public void resetPose(
+            Pose3d pose, Rotation3d gyroRotation, SwerveModulePosition[] swerveModulePositions) {
+        this.poseEstimator.resetPosition(gyroRotation, swerveModulePositions, pose);
+        this.poseHistory.clear();
+        // The new pose hasn't been checked by vision, so frames can't be gated by it yet
+        this.hasSeenTarget = false;
+        this.visionGate.reset();
     }
 
     /**
@@ -164,50 +217,173 @@ public class Odometry {
         this.poseEstimator.update(gyroRotation, swerveModulePositions);
     }
 
+    /**
+     * Add odometry data from wheels that was sampled at a known time
+     *
+     * @param timestampSeconds The FPGA time the data was sampled at in seconds
+     * @param gyroRotation A {@link Rotation3d} from the gyro
+     * @param swerveModulePositions 4 {@link SwerveModulePosition} objects
+     */
+    public void addWheelOdometry(
+            double timestampSeconds,
+            Rotation3d gyroRotation,
+            SwerveModulePosition[] swerveModulePositions) {
+        if (swerveModulePositions.length != 4) {
+            LOGGER.error("Wrong length for module positions");
+            return;
+        }
+
+        this.poseEstimator.update(timestampSeconds, gyroRotation, swerveModulePositions);
+
+        for (int i = 0; i < 4; i++) {
+            this.historyDistances[i] = swerveModulePositions[i].distanceMeters;
+        }
+        this.poseHistory.add(
+                timestampSeconds,
+                this.poseEstimator.getX(),
+                this.poseEstimator.getY(),
+                this.poseEstimator.getZ(),
+                this.poseEstimator.getYaw(),
+                this.historyDistances);
+    }
+
+    /**
+     * Get the estimated pose at a past time without allocating, including any vision corrections
+     * fused so far
+     *
+     * @param timestampSeconds The FPGA time in seconds
+     * @param out Filled with x, y, z, yaw and the 4 module distances, see {@link PoseHistory#X}
+     * @return False if the time is older than the history
+     */
+    public boolean getPoseAt(double timestampSeconds, double[] out) {
+        return this.poseHistory.sample(timestampSeconds, out);
+    }
+
+    /**
+     * Get the estimated pose at a past time, including any vision corrections fused so far. Only
+     * the yaw of the rotation is kept
+     *
+     * @param timestampSeconds The FPGA time in seconds
+     * @return The pose, or an empty optional if the time is older than the history
+     */
+    public Optional<Pose3d> getPoseAt(double timestampSeconds) {
+        if (!this.poseHistory.sample(timestampSeconds, this.historySample)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                new Pose3d(
+                        this.historySample[PoseHistory.X],
+                        this.historySample[PoseHistory.Y],
+                        this.historySample[PoseHistory.Z],
+                        new Rotation3d(
+                                Rotation2d.fromRadians(this.historySample[PoseHistory.YAW]))));
+    }
+
     public void periodic() {
-        NTTelemetry.setArrayEntry(
-                "Pose",
-                new double[] {
-                    this.getRobotPose().getX(),
-                    this.getRobotPose().getY(),
-                    this.getRobotPose().getRotation().getZ()
-                });
+        Pose3d robotPose = this.getRobotPose();
+        poseTelemetry.set(robotPose.getX(), robotPose.getY(), robotPose.getRotation().getZ());
+
+        // The pose can only predict what cameras see while vision keeps correcting it
+        double now = Timer.getFPGATimestamp();
+        boolean gated =
+                TuningKeys.VISION_GATING.get()
+                        && this.visionGate.isGated(now, TuningKeys.VISION_GATE_TIMEOUT.get());
+        double cutoffDistance = TuningKeys.VISION_CUTOFF_DISTANCE.get();
         for (Camera c : this.cameras.values()) {
-            Optional<Pose3d> pose = c.getPoseFieldSpace(this.getRobotPose());
-            debug.setEntry(String.format("%s/enabled", c.getName()), c.isEnabled());
-            if (pose.isPresent() && c.isEnabled()) {
-                double dist =
-                        Math.sqrt(
-                                Math.pow(c.getTargetPose().getX(), 2)
-                                        + Math.pow(c.getTargetPose().getY(), 2));
-
-                debug.setEntry(String.format("%s/dist_to_target", c.getName()), dist);
-                debug.setArrayEntry(
-                        String.format("%s/pose", c.getName()),
-                        new double[] {
-                            pose.get().getX(), pose.get().getY(), pose.get().getRotation().getZ()
-                        });
-
-                if (dist <= ConfigManager.getInstance().get("vision_cutoff_distance", 3)
-                        && dist > ConfigManager.getInstance().get("vision_min_distance", 0.5)) {
-                    debug.setEntry(String.format("%s/Adding target", c.getName()), true);
-
-                    this.hasSeenTarget = true;
-                    LOGGER.debug("Added vision measurement from `{}`", c.getName());
-                    this.targetPose =
-                            Optional.of(
-                                    new Pose3d(
-                                            c.getTargetPose().getX() + this.getRobotPose().getX(),
-                                            c.getTargetPose().getY() + this.getRobotPose().getY(),
-                                            c.getTargetPose().getZ(),
-                                            c.getTargetPose().getRotation()));
-                    this.poseEstimator.addVisionMeasurement(pose.get(), c.getTimestamp());
-                } else {
-                    debug.setEntry(String.format("%s/Adding target", c.getName()), false);
-                }
+            CameraTelemetry telemetry = this.cameraTelemetry.get(c.getName());
+            c.setGated(gated);
+            c.setCutoffDistance(cutoffDistance);
+            telemetry.enabled.set(c.isEnabled());
+            telemetry.received.set(c.getFramesReceived());
+            telemetry.dropped.set(c.getFramesDropped());
+            telemetry.skipped.set(c.getFramesSkipped());
+            telemetry.expectedTags.set(c.getExpectedTags());
+        }
+
+        // Every camera's worker posts here, drain it in one pass. Measurements from disabled
+        // cameras are still drained so they don't pile up
+        boolean sawTarget = false;
+        VisionMeasurement measurement;
+        while ((measurement = this.visionQueue.poll()) != null) {
+            Camera c = this.cameras.get(measurement.getCameraName());
+            CameraTelemetry telemetry = this.cameraTelemetry.get(measurement.getCameraName());
+            if (!c.isEnabled()) continue;
+            sawTarget = true;
+
+            Pose3d pose = measurement.getPose();
+            Pose3d cameraTargetPose = measurement.getTargetPose();
+            double dist = measurement.getTargetDistance();
+
+            telemetry.distToTarget.set(dist);
+            telemetry.pose.set(pose.getX(), pose.getY(), pose.getRotation().getZ());
+
+            if (dist <= TuningKeys.VISION_CUTOFF_DISTANCE.get()
+                    && dist > TuningKeys.VISION_MIN_DISTANCE.get()) {
+                telemetry.addingTarget.set(true);
+
+                this.hasSeenTarget = true;
+                this.visionGate.fused(now);
+                LOGGER.debug("Added vision measurement from `{}`", c.getName());
+                this.targetPose =
+                        Optional.of(
+                                new Pose3d(
+                                        cameraTargetPose.getX() + this.getRobotPose().getX(),
+                                        cameraTargetPose.getY() + this.getRobotPose().getY(),
+                                        cameraTargetPose.getZ(),
+                                        cameraTargetPose.getRotation()));
+                this.readEstimate(this.correctionFrom);
+                this.poseEstimator.addVisionMeasurement(pose, measurement.getTimestamp());
+                this.readEstimate(this.correctionTo);
+                this.poseHistory.correct(
+                        measurement.getTimestamp(), this.correctionFrom, this.correctionTo);
+                telemetry.fused.set(++telemetry.fusedCount);
             } else {
-                this.targetPose = Optional.empty();
+                telemetry.addingTarget.set(false);
+                telemetry.rejected.set(++telemetry.rejectedCount);
             }
         }
+
+        if (!sawTarget) {
+            this.targetPose = Optional.empty();
+        }
+    }
+
+    /** Read the current estimate as x, y, z and yaw, see {@link PoseHistory#X} */
+    private void readEstimate(double[] out) {
+        out[PoseHistory.X] = this.poseEstimator.getX();
+        out[PoseHistory.Y] = this.poseEstimator.getY();
+        out[PoseHistory.Z] = this.poseEstimator.getZ();
+        out[PoseHistory.YAW] = this.poseEstimator.getYaw();
+    }
+
+    /** Telemetry for one camera's debug values, built once when the camera is added */
+    private static class CameraTelemetry {
+        private final Telemetry.BooleanValue enabled;
+        private final Telemetry.DoubleValue distToTarget;
+        private final Telemetry.Pose2dValue pose;
+        private final Telemetry.BooleanValue addingTarget;
+        private final Telemetry.DoubleValue received;
+        private final Telemetry.DoubleValue fused;
+        private final Telemetry.DoubleValue rejected;
+        private final Telemetry.DoubleValue dropped;
+        private final Telemetry.DoubleValue skipped;
+        private final Telemetry.DoubleValue expectedTags;
+
+        private long fusedCount = 0;
+        private long rejectedCount = 0;
+
+        private CameraTelemetry(String name) {
+            this.enabled = Telemetry.booleanValue("debug/Odometry", name + "/enabled");
+            this.distToTarget = Telemetry.doubleValue("debug/Odometry", name + "/dist_to_target");
+            this.pose = Telemetry.pose2dValue("debug/Odometry", name + "/pose");
+            this.addingTarget = Telemetry.booleanValue("debug/Odometry", name + "/Adding target");
+            this.received = Telemetry.doubleValue("debug/Odometry", name + "/Frames received");
+            this.fused = Telemetry.doubleValue("debug/Odometry", name + "/Frames fused");
+            this.rejected = Telemetry.doubleValue("debug/Odometry", name + "/Frames rejected");
+            this.dropped = Telemetry.doubleValue("debug/Odometry", name + "/Frames dropped");
+            this.skipped = Telemetry.doubleValue("debug/Odometry", name + "/Frames skipped");
+            this.expectedTags = Telemetry.doubleValue("debug/Odometry", name + "/Expected tags");
+        }
     }
 }
@@ -0,0 +1,98 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * The estimated pose and speeds of the robot at one point in time, published by {@link Odometry}
+ * once per loop. Immutable, so any thread can read it without locking
+ */
+public final class OdometryState {
+    private final double timestampSeconds;
+    private final Pose3d pose;
+    private final double yaw;
+    private final double vxMetersPerSecond;
+    private final double vyMetersPerSecond;
+    private final double omegaRadiansPerSecond;
+
+    /**
+     * Create a new odometry state
+     *
+     * @param timestampSeconds The FPGA time of the estimate in seconds
+     * @param pose The estimated pose of the robot
+     * @param fieldRelativeSpeeds The speeds of the robot relative to the field, copied
+     */
+    public OdometryState(double timestampSeconds, Pose3d pose, ChassisSpeeds fieldRelativeSpeeds) {
+        this.timestampSeconds = timestampSeconds;
+        this.pose = pose;
+        this.yaw = pose.getRotation().getZ();
+        this.vxMetersPerSecond = fieldRelativeSpeeds.vxMetersPerSecond;
+        this.vyMetersPerSecond = fieldRelativeSpeeds.vyMetersPerSecond;
+        this.omegaRadiansPerSecond = fieldRelativeSpeeds.omegaRadiansPerSecond;
+    }
+
+    /**
+     * Get the time of the estimate
+     *
+     * @return The FPGA time in seconds
+     */
+    public double getTimestamp() {
+        return this.timestampSeconds;
+    }
+
+    /**
+     * Get the estimated pose of the robot
+     *
+     * @return A {@link Pose3d} of the robot
+     */
+    public Pose3d getPose() {
+        return this.pose;
+    }
+
+    /**
+     * Get the yaw of the estimated pose
+     *
+     * @return The yaw in radians
+     */
+    public double getYaw() {
+        return this.yaw;
+    }
+
+    /**
+     * Get the field relative x velocity
+     *
+     * @return The velocity in meters per second
+     */
+    public double getVx() {
+        return this.vxMetersPerSecond;
+    }
+
+    /**
+     * Get the field relative y velocity
+     *
+     * @return The velocity in meters per second
+     */
+    public double getVy() {
+        return this.vyMetersPerSecond;
+    }
+
+    /**
+     * Get the angular velocity
+     *
+     * @return The velocity in radians per second
+     */
+    public double getOmega() {
+        return this.omegaRadiansPerSecond;
+    }
+
+    /**
+     * Get the field relative speeds as a new object
+     *
+     * @return The {@link ChassisSpeeds}
+     */
+    public ChassisSpeeds getSpeeds() {
+        return new ChassisSpeeds(
+                this.vxMetersPerSecond, this.vyMetersPerSecond, this.omegaRadiansPerSecond);
+    }
+}
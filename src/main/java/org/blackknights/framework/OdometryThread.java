@@ -0,0 +1,296 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.RobotController;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples the drive encoders and gyro faster than the main loop. Every sample is stamped with the
+ * FPGA time it was taken at and put in a preallocated queue, the main loop then drains the queue
+ * into the pose estimator so loop jitter doesn't change where the samples land in time
+ *
+ * <p>If the main loop stalls long enough for the queue to fill, the oldest samples are dropped.
+ * Module positions and the gyro are cumulative, so dropping samples only lowers the resolution of
+ * the odometry, it doesn't lose any distance
+ */
+public final class OdometryThread {
+    /** Reads the sensors for one sample */
+    @FunctionalInterface
+    public interface Sampler {
+        /**
+         * Read the sensors, called from the odometry thread
+         *
+         * @param drivePositions Filled with the drive distance of each module in meters
+         * @param turnAngles Filled with the angle of each module in radians
+         * @return The gyro yaw in radians
+         */
+        double sample(double[] drivePositions, double[] turnAngles);
+    }
+
+    /** Receives drained samples, called on the thread that calls {@link #drain(SampleConsumer)} */
+    @FunctionalInterface
+    public interface SampleConsumer {
+        /**
+         * Handle one sample. The arrays are reused, copy anything that needs to be kept
+         *
+         * @param timestampSeconds The FPGA time the sample was taken at in seconds
+         * @param yawRad The gyro yaw in radians
+         * @param drivePositions The drive distance of each module in meters
+         * @param turnAngles The angle of each module in radians
+         */
+        void accept(
+                double timestampSeconds,
+                double yawRad,
+                double[] drivePositions,
+                double[] turnAngles);
+    }
+
+    private final Sampler sampler;
+    private final LongSupplier clock;
+    private final int modules;
+    private final int capacity;
+    private final double periodSeconds;
+    private Notifier notifier;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Bumped by clear, so a sample read before it is thrown away instead of queued after it
+    private volatile long clears = 0;
+
+    // Guarded by lock, a ring of samples with the module values packed per sample
+    private final long[] timestamps;
+    private final double[] yaws;
+    private final double[] drivePositions;
+    private final double[] turnAngles;
+    private int head = 0;
+    private int size = 0;
+    private long sampleCount = 0;
+    private long dropped = 0;
+    private long lastSampleMicros = -1;
+    private long maxPeriodMicros = 0;
+
+    // Odometry thread only
+    private final double[] sampleDrive;
+    private final double[] sampleTurn;
+
+    // Drain thread only
+    private final long[] drainTimestamps;
+    private final double[] drainYaws;
+    private final double[] drainDrive;
+    private final double[] drainTurn;
+    private final double[] outDrive;
+    private final double[] outTurn;
+    private long lastDrainMicros = -1;
+    private long lastDrainCount = 0;
+    private double sampleRateHz = 0.0;
+    private double maxPeriodMs = 0.0;
+    private int queueDepth = 0;
+
+    /**
+     * Create a new odometry thread, call {@link #start()} to start sampling
+     *
+     * @param sampler Reads the sensors
+     * @param modules The number of swerve modules
+     * @param frequencyHz How often to sample
+     * @param capacity The number of samples to keep between drains
+     */
+    public OdometryThread(Sampler sampler, int modules, double frequencyHz, int capacity) {
+        this(sampler, modules, frequencyHz, capacity, RobotController::getFPGATime);
+    }
+
+    OdometryThread(
+            Sampler sampler, int modules, double frequencyHz, int capacity, LongSupplier clock) {
+        this.sampler = sampler;
+        this.clock = clock;
+        this.modules = modules;
+        this.capacity = capacity;
+        this.periodSeconds = 1.0 / frequencyHz;
+
+        this.timestamps = new long[capacity];
+        this.yaws = new double[capacity];
+        this.drivePositions = new double[capacity * modules];
+        this.turnAngles = new double[capacity * modules];
+
+        this.sampleDrive = new double[modules];
+        this.sampleTurn = new double[modules];
+
+        this.drainTimestamps = new long[capacity];
+        this.drainYaws = new double[capacity];
+        this.drainDrive = new double[capacity * modules];
+        this.drainTurn = new double[capacity * modules];
+        this.outDrive = new double[modules];
+        this.outTurn = new double[modules];
+    }
+
+    /** Start sampling */
+    public void start() {
+        if (this.notifier == null) {
+            this.notifier = new Notifier(this::sample);
+            this.notifier.setName("Odometry");
+        }
+        this.notifier.startPeriodic(this.periodSeconds);
+    }
+
+    /** Stop sampling, samples already in the queue can still be drained */
+    public void stop() {
+        if (this.notifier != null) this.notifier.stop();
+    }
+
+    /** Take one sample, called by the notifier */
+    void sample() {
+        long clears = this.clears;
+        double yaw = this.sampler.sample(this.sampleDrive, this.sampleTurn);
+        long now = this.clock.getAsLong();
+
+        this.lock.lock();
+        try {
+            if (clears != this.clears) return;
+
+            int index;
+            if (this.size == this.capacity) {
+                // Full, overwrite the oldest sample
+                index = this.head;
+                this.head = (this.head + 1) % this.capacity;
+                this.dropped++;
+            } else {
+                index = (this.head + this.size) % this.capacity;
+                this.size++;
+            }
+
+            this.timestamps[index] = now;
+            this.yaws[index] = yaw;
+            System.arraycopy(
+                    this.sampleDrive, 0, this.drivePositions, index * this.modules, this.modules);
+            System.arraycopy(
+                    this.sampleTurn, 0, this.turnAngles, index * this.modules, this.modules);
+
+            if (this.lastSampleMicros >= 0) {
+                this.maxPeriodMicros = Math.max(this.maxPeriodMicros, now - this.lastSampleMicros);
+            }
+            this.lastSampleMicros = now;
+            this.sampleCount++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Hand every queued sample to the consumer, oldest first. The lock is only held while the
+     * samples are copied out, so the consumer never blocks the odometry thread
+     *
+     * @param consumer Receives the samples
+     * @return The number of samples drained
+     */
+    public int drain(SampleConsumer consumer) {
+        int count;
+        long totalSamples;
+        long maxPeriod;
+
+        this.lock.lock();
+        try {
+            count = this.size;
+            for (int i = 0; i < count; i++) {
+                int index = (this.head + i) % this.capacity;
+                this.drainTimestamps[i] = this.timestamps[index];
+                this.drainYaws[i] = this.yaws[index];
+                System.arraycopy(
+                        this.drivePositions,
+                        index * this.modules,
+                        this.drainDrive,
+                        i * this.modules,
+                        this.modules);
+                System.arraycopy(
+                        this.turnAngles,
+                        index * this.modules,
+                        this.drainTurn,
+                        i * this.modules,
+                        this.modules);
+            }
+            this.head = (this.head + count) % this.capacity;
+            this.size = 0;
+
+            totalSamples = this.sampleCount;
+            maxPeriod = this.maxPeriodMicros;
+            this.maxPeriodMicros = 0;
+        } finally {
+            this.lock.unlock();
+        }
+
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(this.drainDrive, i * this.modules, this.outDrive, 0, this.modules);
+            System.arraycopy(this.drainTurn, i * this.modules, this.outTurn, 0, this.modules);
+            consumer.accept(
+                    this.drainTimestamps[i] / 1e6, this.drainYaws[i], this.outDrive, this.outTurn);
+        }
+
+        long now = this.clock.getAsLong();
+        if (this.lastDrainMicros >= 0 && now > this.lastDrainMicros) {
+            this.sampleRateHz =
+                    (totalSamples - this.lastDrainCount) / ((now - this.lastDrainMicros) / 1e6);
+        }
+        this.lastDrainMicros = now;
+        this.lastDrainCount = totalSamples;
+        this.maxPeriodMs = maxPeriod / 1e3;
+        this.queueDepth = count;
+
+        return count;
+    }
+
+    /**
+     * Throw away every queued sample, and any sample being read right now. Used when the pose is
+     * reset, so samples from before the reset aren't replayed on top of the new pose
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.head = 0;
+            this.size = 0;
+            this.clears++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the measured sample rate between the last two drains
+     *
+     * @return The sample rate in Hz
+     */
+    public double getSampleRateHz() {
+        return this.sampleRateHz;
+    }
+
+    /**
+     * Get the longest time between two samples taken before the last drain
+     *
+     * @return The period in milliseconds
+     */
+    public double getMaxPeriodMs() {
+        return this.maxPeriodMs;
+    }
+
+    /**
+     * Get the number of samples handed over by the last drain
+     *
+     * @return The number of samples
+     */
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    /**
+     * Get the number of samples dropped because the queue was full
+     *
+     * @return The number of dropped samples
+     */
+    public long getDropped() {
+        this.lock.lock();
+        try {
+            return this.dropped;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
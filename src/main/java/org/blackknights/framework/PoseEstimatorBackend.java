@@ -0,0 +1,266 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator3d;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+
+/**
+ * The pose estimator behind {@link Odometry}. The 3d estimator tracks pitch and roll, the 2d one
+ * skips them, which makes every update and vision measurement cheaper on a flat field
+ */
+interface PoseEstimatorBackend {
+    /**
+     * Add wheel odometry sampled at a known time
+     *
+     * @param timestampSeconds The FPGA time in seconds
+     * @param gyroRotation The rotation from the gyro
+     * @param modulePositions The module positions
+     */
+    void update(
+            double timestampSeconds,
+            Rotation3d gyroRotation,
+            SwerveModulePosition[] modulePositions);
+
+    /**
+     * Add wheel odometry sampled now
+     *
+     * @param gyroRotation The rotation from the gyro
+     * @param modulePositions The module positions
+     */
+    void update(Rotation3d gyroRotation, SwerveModulePosition[] modulePositions);
+
+    /**
+     * Add a vision measurement
+     *
+     * @param pose The field relative pose seen by the camera
+     * @param timestampSeconds The FPGA time the frame was captured at in seconds
+     */
+    void addVisionMeasurement(Pose3d pose, double timestampSeconds);
+
+    /**
+     * Reset the estimate
+     *
+     * @param gyroRotation The rotation from the gyro
+     * @param modulePositions The module positions
+     * @param pose The new pose
+     */
+    void resetPosition(
+            Rotation3d gyroRotation, SwerveModulePosition[] modulePositions, Pose3d pose);
+
+    /**
+     * Get the estimated pose
+     *
+     * @return The {@link Pose3d}
+     */
+    Pose3d getEstimatedPosition();
+
+    /**
+     * Get the estimated x position without building a pose
+     *
+     * @return The x position in meters
+     */
+    double getX();
+
+    /**
+     * Get the estimated y position without building a pose
+     *
+     * @return The y position in meters
+     */
+    double getY();
+
+    /**
+     * Get the estimated z position without building a pose
+     *
+     * @return The z position in meters, always 0 for the 2d estimator
+     */
+    double getZ();
+
+    /**
+     * Get the estimated yaw without building a pose
+     *
+     * @return The yaw in radians
+     */
+    double getYaw();
+
+    /** Backed by {@link SwerveDrivePoseEstimator3d}, keeps pitch and roll */
+    final class Estimator3d implements PoseEstimatorBackend {
+        private final SwerveDrivePoseEstimator3d estimator;
+
+        /**
+         * Create a new 3d estimator
+         *
+         * @param kinematics The drive kinematics
+         * @param modulePositions The starting module positions
+         * @param wheelTrust The wheel std devs, x, y and theta
+         * @param visionTrust The vision std devs, x, y and theta
+         */
+        Estimator3d(
+                SwerveDriveKinematics kinematics,
+                SwerveModulePosition[] modulePositions,
+                double[] wheelTrust,
+                double[] visionTrust) {
+            this.estimator =
+                    new SwerveDrivePoseEstimator3d(
+                            kinematics,
+                            new Rotation3d(),
+                            modulePositions,
+                            new Pose3d(),
+                            new Matrix<>(
+                                    Nat.N4(),
+                                    Nat.N1(),
+                                    new double[] {wheelTrust[0], wheelTrust[1], wheelTrust[2], 1}),
+                            new Matrix<>(
+                                    Nat.N4(),
+                                    Nat.N1(),
+                                    new double[] {
+                                        visionTrust[0], visionTrust[1], visionTrust[2], 1
+                                    }));
+        }
+
+        @Override
+        public void update(
+                double timestampSeconds,
+                Rotation3d gyroRotation,
+                SwerveModulePosition[] modulePositions) {
+            this.estimator.updateWithTime(timestampSeconds, gyroRotation, modulePositions);
+        }
+
+        @Override
+        public void update(Rotation3d gyroRotation, SwerveModulePosition[] modulePositions) {
+            this.estimator.update(gyroRotation, modulePositions);
+        }
+
+        @Override
+        public void addVisionMeasurement(Pose3d pose, double timestampSeconds) {
+            this.estimator.addVisionMeasurement(pose, timestampSeconds);
+        }
+
+        @Override
+        public void resetPosition(
+                Rotation3d gyroRotation, SwerveModulePosition[] modulePositions, Pose3d pose) {
+            this.estimator.resetPosition(gyroRotation, modulePositions, pose);
+        }
+
+        @Override
+        public Pose3d getEstimatedPosition() {
+            return this.estimator.getEstimatedPosition();
+        }
+
+        @Override
+        public double getX() {
+            return this.estimator.getEstimatedPosition().getX();
+        }
+
+        @Override
+        public double getY() {
+            return this.estimator.getEstimatedPosition().getY();
+        }
+
+        @Override
+        public double getZ() {
+            return this.estimator.getEstimatedPosition().getZ();
+        }
+
+        @Override
+        public double getYaw() {
+            return this.estimator.getEstimatedPosition().getRotation().getZ();
+        }
+    }
+
+    /** Backed by {@link SwerveDrivePoseEstimator}, assumes the field is flat */
+    final class Estimator2d implements PoseEstimatorBackend {
+        private final SwerveDrivePoseEstimator estimator;
+
+        // The 3d pose is only built when asked for, and reused until the estimate changes
+        private Pose2d cachedFrom;
+        private Pose3d cached;
+
+        /**
+         * Create a new 2d estimator
+         *
+         * @param kinematics The drive kinematics
+         * @param modulePositions The starting module positions
+         * @param wheelTrust The wheel std devs, x, y and theta
+         * @param visionTrust The vision std devs, x, y and theta
+         */
+        Estimator2d(
+                SwerveDriveKinematics kinematics,
+                SwerveModulePosition[] modulePositions,
+                double[] wheelTrust,
+                double[] visionTrust) {
+            this.estimator =
+                    new SwerveDrivePoseEstimator(
+                            kinematics,
+                            new Rotation2d(),
+                            modulePositions,
+                            new Pose2d(),
+                            VecBuilder.fill(wheelTrust[0], wheelTrust[1], wheelTrust[2]),
+                            VecBuilder.fill(visionTrust[0], visionTrust[1], visionTrust[2]));
+        }
+
+        @Override
+        public void update(
+                double timestampSeconds,
+                Rotation3d gyroRotation,
+                SwerveModulePosition[] modulePositions) {
+            this.estimator.updateWithTime(
+                    timestampSeconds, gyroRotation.toRotation2d(), modulePositions);
+        }
+
+        @Override
+        public void update(Rotation3d gyroRotation, SwerveModulePosition[] modulePositions) {
+            this.estimator.update(gyroRotation.toRotation2d(), modulePositions);
+        }
+
+        @Override
+        public void addVisionMeasurement(Pose3d pose, double timestampSeconds) {
+            this.estimator.addVisionMeasurement(pose.toPose2d(), timestampSeconds);
+        }
+
+        @Override
+        public void resetPosition(
+                Rotation3d gyroRotation, SwerveModulePosition[] modulePositions, Pose3d pose) {
+            this.estimator.resetPosition(
+                    gyroRotation.toRotation2d(), modulePositions, pose.toPose2d());
+        }
+
+        @Override
+        public Pose3d getEstimatedPosition() {
+            Pose2d pose = this.estimator.getEstimatedPosition();
+            if (pose != this.cachedFrom) {
+                this.cachedFrom = pose;
+                this.cached = new Pose3d(pose);
+            }
+            return this.cached;
+        }
+
+        @Override
+        public double getX() {
+            return this.estimator.getEstimatedPosition().getX();
+        }
+
+        @Override
+        public double getY() {
+            return this.estimator.getEstimatedPosition().getY();
+        }
+
+        @Override
+        public double getZ() {
+            return 0.0;
+        }
+
+        @Override
+        public double getYaw() {
+            return this.estimator.getEstimatedPosition().getRotation().getRadians();
+        }
+    }
+}
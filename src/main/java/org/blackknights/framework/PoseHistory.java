@@ -0,0 +1,229 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Fixed size history of robot poses, stored in parallel primitive arrays so recording and looking
+ * up poses never allocates. Lookups binary search the timestamps and interpolate between the two
+ * samples around the requested time
+ *
+ * <p>Samples must be added in increasing time order, once the history is full the oldest sample is
+ * overwritten. Only used from the main loop, so it is not thread safe
+ */
+public final class PoseHistory {
+    /** Index of x in a lookup result */
+    public static final int X = 0;
+
+    /** Index of y in a lookup result */
+    public static final int Y = 1;
+
+    /** Index of z in a lookup result */
+    public static final int Z = 2;
+
+    /** Index of yaw in a lookup result */
+    public static final int YAW = 3;
+
+    /** Index of the first module distance in a lookup result */
+    public static final int MODULES = 4;
+
+    private final int capacity;
+    private final int modules;
+
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final double[] yaws;
+    private final double[] distances;
+
+    // Index of the oldest sample
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Create a new pose history
+     *
+     * @param capacity The number of samples to keep
+     * @param modules The number of module distances stored with each sample
+     */
+    public PoseHistory(int capacity, int modules) {
+        this.capacity = capacity;
+        this.modules = modules;
+
+        this.timestamps = new double[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.zs = new double[capacity];
+        this.yaws = new double[capacity];
+        this.distances = new double[capacity * modules];
+    }
+
+    /**
+     * Record a pose. Samples that are not newer than the last one are ignored
+     *
+     * @param timestampSeconds The time of the pose in seconds
+     * @param x The x position in meters
+     * @param y The y position in meters
+     * @param z The z position in meters
+     * @param yaw The yaw in radians
+     * @param moduleDistances The drive distance of each module in meters
+     */
+    public void add(
+            double timestampSeconds,
+            double x,
+            double y,
+            double z,
+            double yaw,
+            double[] moduleDistances) {
+        if (this.size > 0 && timestampSeconds <= this.timestamps[this.index(this.size - 1)]) {
+            return;
+        }
+
+        int index;
+        if (this.size == this.capacity) {
+            index = this.head;
+            this.head = (this.head + 1) % this.capacity;
+        } else {
+            index = this.index(this.size);
+            this.size++;
+        }
+
+        this.timestamps[index] = timestampSeconds;
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.zs[index] = z;
+        this.yaws[index] = yaw;
+        System.arraycopy(moduleDistances, 0, this.distances, index * this.modules, this.modules);
+    }
+
+    /**
+     * Look up the pose at a time, interpolating between the samples around it. Times after the
+     * newest sample return the newest sample
+     *
+     * @param timestampSeconds The time to look up in seconds
+     * @param out Filled with x, y, z, yaw and then the module distances, see {@link #X} etc, must
+     *     be at least {@link #MODULES} + modules long
+     * @return False if there is no sample that old, in which case out isn't touched
+     */
+    public boolean sample(double timestampSeconds, double[] out) {
+        if (this.size == 0 || timestampSeconds < this.timestamps[this.head]) return false;
+
+        // First logical sample at or after the timestamp
+        int low = 0;
+        int high = this.size - 1;
+        if (timestampSeconds >= this.timestamps[this.index(high)]) {
+            this.copy(this.index(high), out);
+            return true;
+        }
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.timestamps[this.index(mid)] < timestampSeconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int after = this.index(low);
+        if (low == 0 || this.timestamps[after] == timestampSeconds) {
+            this.copy(after, out);
+            return true;
+        }
+
+        int before = this.index(low - 1);
+        double t =
+                (timestampSeconds - this.timestamps[before])
+                        / (this.timestamps[after] - this.timestamps[before]);
+
+        out[X] = MathUtil.interpolate(this.xs[before], this.xs[after], t);
+        out[Y] = MathUtil.interpolate(this.ys[before], this.ys[after], t);
+        out[Z] = MathUtil.interpolate(this.zs[before], this.zs[after], t);
+        out[YAW] =
+                MathUtil.angleModulus(
+                        this.yaws[before]
+                                + MathUtil.angleModulus(this.yaws[after] - this.yaws[before]) * t);
+        for (int i = 0; i < this.modules; i++) {
+            out[MODULES + i] =
+                    MathUtil.interpolate(
+                            this.distances[before * this.modules + i],
+                            this.distances[after * this.modules + i],
+                            t);
+        }
+        return true;
+    }
+
+    /**
+     * Move every sample from a time on by the rigid transform that takes one pose to another. Used
+     * when a vision measurement corrects the estimate, the estimator replays the wheel odometry
+     * after the measurement from the corrected pose, so every later pose moves the same way
+     *
+     * @param timestampSeconds The time of the measurement, older samples are left alone
+     * @param from The newest pose before the correction, x, y, z and yaw, see {@link #X} etc
+     * @param to The newest pose after the correction
+     */
+    public void correct(double timestampSeconds, double[] from, double[] to) {
+        double dyaw = to[YAW] - from[YAW];
+        double cos = Math.cos(dyaw);
+        double sin = Math.sin(dyaw);
+        double dz = to[Z] - from[Z];
+
+        for (int i = this.size - 1; i >= 0; i--) {
+            int index = this.index(i);
+            if (this.timestamps[index] < timestampSeconds) break;
+
+            double rx = this.xs[index] - from[X];
+            double ry = this.ys[index] - from[Y];
+            this.xs[index] = to[X] + rx * cos - ry * sin;
+            this.ys[index] = to[Y] + rx * sin + ry * cos;
+            this.zs[index] += dz;
+            this.yaws[index] = MathUtil.angleModulus(this.yaws[index] + dyaw);
+        }
+    }
+
+    /** Forget every sample, used when the pose is reset */
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Get the number of samples stored
+     *
+     * @return The number of samples
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the time of the oldest sample
+     *
+     * @return The time in seconds, or NaN if there are no samples
+     */
+    public double getOldestTimestamp() {
+        return this.size == 0 ? Double.NaN : this.timestamps[this.head];
+    }
+
+    /**
+     * Get the time of the newest sample
+     *
+     * @return The time in seconds, or NaN if there are no samples
+     */
+    public double getNewestTimestamp() {
+        return this.size == 0 ? Double.NaN : this.timestamps[this.index(this.size - 1)];
+    }
+
+    private int index(int logical) {
+        return (this.head + logical) % this.capacity;
+    }
+
+    private void copy(int index, double[] out) {
+        out[X] = this.xs[index];
+        out[Y] = this.ys[index];
+        out[Z] = this.zs[index];
+        out[YAW] = this.yaws[index];
+        System.arraycopy(this.distances, index * this.modules, out, MODULES, this.modules);
+    }
+}
@@ -0,0 +1,136 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.blackknights.constants.DrivetrainConstants;
+import org.blackknights.subsystems.ArmSubsystem;
+import org.blackknights.subsystems.ElevatorSubsystem;
+import org.blackknights.subsystems.IntakeSubsystem;
+import org.blackknights.subsystems.SwerveSubsystem;
+
+/**
+ * Holds the {@link RobotStateSnapshot} for the current loop. Sensors are read once at the start of
+ * the loop and combined with the pose once it has been estimated, so commands read each sensor and
+ * solve the kinematics once instead of every time they need a value
+ */
+public class RobotState {
+    private static RobotState INSTANCE = null;
+
+    // Read by readSensors, combined with the pose by finishSnapshot
+    private final SwerveModuleState[] moduleStates = {
+        new SwerveModuleState(),
+        new SwerveModuleState(),
+        new SwerveModuleState(),
+        new SwerveModuleState()
+    };
+    private double timestampSeconds = 0.0;
+    private ChassisSpeeds robotRelativeSpeeds = new ChassisSpeeds();
+    private double gyroRate = 0.0;
+    private double elevatorPosition = 0.0;
+    private double elevatorVelocity = 0.0;
+    private double armAngle = 0.0;
+    private double armVelocity = 0.0;
+    private boolean intakeLinebreak = false;
+
+    private RobotStateSnapshot snapshot =
+            new RobotStateSnapshot(
+                    0.0,
+                    new Pose3d(),
+                    new ChassisSpeeds(),
+                    new ChassisSpeeds(),
+                    new SwerveModuleState[] {
+                        new SwerveModuleState(),
+                        new SwerveModuleState(),
+                        new SwerveModuleState(),
+                        new SwerveModuleState()
+                    },
+                    0.0,
+                    0.0,
+                    0.0,
+                    0.0,
+                    0.0,
+                    false);
+
+    private RobotState() {}
+
+    /**
+     * Get the instance of RobotState, creating a new one if it doesn't exist
+     *
+     * @return The instance
+     */
+    public static RobotState getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new RobotState();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Read every sensor, call once at the start of the loop before the pose is estimated
+     *
+     * @param swerve The swerve subsystem
+     * @param elevator The elevator subsystem
+     * @param arm The arm subsystem
+     * @param intake The intake subsystem
+     */
+    public void readSensors(
+            SwerveSubsystem swerve,
+            ElevatorSubsystem elevator,
+            ArmSubsystem arm,
+            IntakeSubsystem intake) {
+        SwerveSensorFrame frame = swerve.readSensors();
+        this.timestampSeconds = frame.getTimestamp();
+        swerve.getModuleStates(this.moduleStates);
+        this.robotRelativeSpeeds =
+                DrivetrainConstants.DRIVE_KINEMATICS.toChassisSpeeds(this.moduleStates);
+        this.gyroRate = frame.getGyroRate();
+        this.elevatorPosition = elevator.getElevatorPosition();
+        this.elevatorVelocity = elevator.getElevatorVelocity();
+        this.armAngle = arm.getPivotAngle();
+        this.armVelocity = arm.getPivotSpeed();
+        this.intakeLinebreak = intake.getLinebreak();
+    }
+
+    /**
+     * Combine the sensors read this loop with the newly estimated pose and replace the snapshot
+     *
+     * @param pose The pose estimated this loop
+     */
+    public void finishSnapshot(Pose3d pose) {
+        double yaw = pose.getRotation().getZ();
+        double cos = Math.cos(yaw);
+        double sin = Math.sin(yaw);
+        ChassisSpeeds fieldRelative =
+                new ChassisSpeeds(
+                        this.robotRelativeSpeeds.vxMetersPerSecond * cos
+                                - this.robotRelativeSpeeds.vyMetersPerSecond * sin,
+                        this.robotRelativeSpeeds.vyMetersPerSecond * cos
+                                + this.robotRelativeSpeeds.vxMetersPerSecond * sin,
+                        this.robotRelativeSpeeds.omegaRadiansPerSecond);
+
+        this.snapshot =
+                new RobotStateSnapshot(
+                        this.timestampSeconds,
+                        pose,
+                        this.robotRelativeSpeeds,
+                        fieldRelative,
+                        this.moduleStates,
+                        this.gyroRate,
+                        this.elevatorPosition,
+                        this.elevatorVelocity,
+                        this.armAngle,
+                        this.armVelocity,
+                        this.intakeLinebreak);
+    }
+
+    /**
+     * Get the snapshot captured at the start of this loop
+     *
+     * @return The {@link RobotStateSnapshot}
+     */
+    public RobotStateSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+}
@@ -0,0 +1,184 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Everything commands need to know about the robot, read once at the start of a loop. The objects
+ * it holds are shared, don't modify them
+ */
+public final class RobotStateSnapshot {
+    private final double timestampSeconds;
+    private final Pose3d pose;
+    private final ChassisSpeeds robotRelativeSpeeds;
+    private final ChassisSpeeds fieldRelativeSpeeds;
+    private final SwerveModuleState[] moduleStates;
+    private final double gyroRateDegPerSec;
+    private final double elevatorPosition;
+    private final double elevatorVelocity;
+    private final double armAngle;
+    private final double armVelocity;
+    private final boolean intakeLinebreak;
+
+    /**
+     * Create a new snapshot
+     *
+     * @param timestampSeconds The FPGA time the snapshot was taken at in seconds
+     * @param pose The estimated pose of the robot
+     * @param robotRelativeSpeeds The speeds of the robot relative to itself
+     * @param fieldRelativeSpeeds The speeds of the robot relative to the field
+     * @param moduleStates The measured module states, FL, FR, RL, RR, copied
+     * @param gyroRateDegPerSec The turn rate from the gyro in degrees per second
+     * @param elevatorPosition The elevator position in meters
+     * @param elevatorVelocity The elevator velocity in meters per second
+     * @param armAngle The arm angle in radians
+     * @param armVelocity The arm velocity
+     * @param intakeLinebreak Whether the intake linebreak sees a coral
+     */
+    public RobotStateSnapshot(
+            double timestampSeconds,
+            Pose3d pose,
+            ChassisSpeeds robotRelativeSpeeds,
+            ChassisSpeeds fieldRelativeSpeeds,
+            SwerveModuleState[] moduleStates,
+            double gyroRateDegPerSec,
+            double elevatorPosition,
+            double elevatorVelocity,
+            double armAngle,
+            double armVelocity,
+            boolean intakeLinebreak) {
+        this.timestampSeconds = timestampSeconds;
+        this.pose = pose;
+        this.robotRelativeSpeeds = robotRelativeSpeeds;
+        this.fieldRelativeSpeeds = fieldRelativeSpeeds;
+        this.moduleStates = moduleStates.clone();
+        this.gyroRateDegPerSec = gyroRateDegPerSec;
+        this.elevatorPosition = elevatorPosition;
+        this.elevatorVelocity = elevatorVelocity;
+        this.armAngle = armAngle;
+        this.armVelocity = armVelocity;
+        this.intakeLinebreak = intakeLinebreak;
+    }
+
+    /**
+     * Get the time the snapshot was taken
+     *
+     * @return The FPGA time in seconds
+     */
+    public double getTimestamp() {
+        return this.timestampSeconds;
+    }
+
+    /**
+     * Get the estimated pose of the robot
+     *
+     * @return A {@link Pose3d} of the robot
+     */
+    public Pose3d getPose() {
+        return this.pose;
+    }
+
+    /**
+     * Get the yaw of the estimated pose
+     *
+     * @return The yaw in radians
+     */
+    public double getYaw() {
+        return this.pose.getRotation().getZ();
+    }
+
+    /**
+     * Get the speeds of the robot relative to itself
+     *
+     * @return The {@link ChassisSpeeds}
+     */
+    public ChassisSpeeds getRobotRelativeSpeeds() {
+        return this.robotRelativeSpeeds;
+    }
+
+    /**
+     * Get the speeds of the robot relative to the field
+     *
+     * @return The {@link ChassisSpeeds}
+     */
+    public ChassisSpeeds getFieldRelativeSpeeds() {
+        return this.fieldRelativeSpeeds;
+    }
+
+    /**
+     * Get the translational speed of the robot
+     *
+     * @return The speed in meters per second
+     */
+    public double getLinearSpeed() {
+        return Math.hypot(
+                this.fieldRelativeSpeeds.vxMetersPerSecond,
+                this.fieldRelativeSpeeds.vyMetersPerSecond);
+    }
+
+    /**
+     * Get the measured state of a module
+     *
+     * @param index The module, FL, FR, RL, RR
+     * @return The {@link SwerveModuleState}
+     */
+    public SwerveModuleState getModuleState(int index) {
+        return this.moduleStates[index];
+    }
+
+    /**
+     * Get the turn rate from the gyro
+     *
+     * @return The turn rate in degrees per second
+     */
+    public double getGyroRate() {
+        return this.gyroRateDegPerSec;
+    }
+
+    /**
+     * Get the elevator position
+     *
+     * @return The position in meters
+     */
+    public double getElevatorPosition() {
+        return this.elevatorPosition;
+    }
+
+    /**
+     * Get the elevator velocity
+     *
+     * @return The velocity in meters per second
+     */
+    public double getElevatorVelocity() {
+        return this.elevatorVelocity;
+    }
+
+    /**
+     * Get the arm angle
+     *
+     * @return The angle in radians
+     */
+    public double getArmAngle() {
+        return this.armAngle;
+    }
+
+    /**
+     * Get the arm velocity
+     *
+     * @return The velocity
+     */
+    public double getArmVelocity() {
+        return this.armVelocity;
+    }
+
+    /**
+     * Get whether the intake linebreak sees a coral
+     *
+     * @return If the linebreak is broken
+     */
+    public boolean getIntakeLinebreak() {
+        return this.intakeLinebreak;
+    }
+}
@@ -0,0 +1,122 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+/**
+ * Every swerve sensor, read once at the start of a loop so each encoder and the gyro only go
+ * through JNI once and every module is read at the same time. Modules are in the order FL, FR, RL,
+ * RR. Refilled in place every loop, so only read it from the main loop
+ */
+public final class SwerveSensorFrame {
+    public static final int MODULES = 4;
+
+    private double timestampSeconds = 0.0;
+    private final double[] drivePositions = new double[MODULES];
+    private final double[] driveVelocities = new double[MODULES];
+    private final double[] turnAngles = new double[MODULES];
+    private double gyroAngleDeg = 0.0;
+    private double gyroRateDegPerSec = 0.0;
+
+    /**
+     * Start a new capture
+     *
+     * @param timestampSeconds The FPGA time the sensors are read at in seconds
+     */
+    public void begin(double timestampSeconds) {
+        this.timestampSeconds = timestampSeconds;
+    }
+
+    /**
+     * Record the encoders of one module
+     *
+     * @param module The module, FL, FR, RL, RR
+     * @param drivePositionMeters The drive distance in meters
+     * @param driveVelocityMetersPerSecond The drive speed in meters per second
+     * @param turnAngleRad The angle of the module relative to the chassis in radians
+     */
+    public void setModule(
+            int module,
+            double drivePositionMeters,
+            double driveVelocityMetersPerSecond,
+            double turnAngleRad) {
+        this.drivePositions[module] = drivePositionMeters;
+        this.driveVelocities[module] = driveVelocityMetersPerSecond;
+        this.turnAngles[module] = turnAngleRad;
+    }
+
+    /**
+     * Record the gyro
+     *
+     * @param angleDeg The raw gyro angle in degrees
+     * @param rateDegPerSec The turn rate in degrees per second, counterclockwise positive
+     */
+    public void setGyro(double angleDeg, double rateDegPerSec) {
+        this.gyroAngleDeg = angleDeg;
+        this.gyroRateDegPerSec = rateDegPerSec;
+    }
+
+    /**
+     * Get the time the frame was captured
+     *
+     * @return The FPGA time in seconds
+     */
+    public double getTimestamp() {
+        return this.timestampSeconds;
+    }
+
+    /**
+     * Get the drive distance of a module
+     *
+     * @param module The module, FL, FR, RL, RR
+     * @return The distance in meters
+     */
+    public double getDrivePosition(int module) {
+        return this.drivePositions[module];
+    }
+
+    /**
+     * Get the drive speed of a module
+     *
+     * @param module The module, FL, FR, RL, RR
+     * @return The speed in meters per second
+     */
+    public double getDriveVelocity(int module) {
+        return this.driveVelocities[module];
+    }
+
+    /**
+     * Get the angle of a module relative to the chassis
+     *
+     * @param module The module, FL, FR, RL, RR
+     * @return The angle in radians
+     */
+    public double getTurnAngle(int module) {
+        return this.turnAngles[module];
+    }
+
+    /**
+     * Get the raw gyro angle
+     *
+     * @return The angle in degrees
+     */
+    public double getGyroAngle() {
+        return this.gyroAngleDeg;
+    }
+
+    /**
+     * Get the heading of the robot from the gyro
+     *
+     * @return The heading in radians, counterclockwise positive
+     */
+    public double getHeadingRad() {
+        return Math.toRadians(-1 * (this.gyroAngleDeg % 360.0));
+    }
+
+    /**
+     * Get the turn rate from the gyro
+     *
+     * @return The turn rate in degrees per second, counterclockwise positive
+     */
+    public double getGyroRate() {
+        return this.gyroRateDegPerSec;
+    }
+}
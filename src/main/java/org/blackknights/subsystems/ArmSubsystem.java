@@ -13,8 +13,12 @@ import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import org.blackknights.constants.ArmConstants;
+import org.blackknights.constants.CanConstants;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.utils.CanBusLoad;
 import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.SetpointCache;
+import org.blackknights.utils.Telemetry;
 
 /** Subsystem for controlling arm */
 public class ArmSubsystem extends SubsystemBase {
@@ -22,8 +26,20 @@ public class ArmSubsystem extends SubsystemBase {
             new SparkFlex(ArmConstants.PIVOT_MOTOR_ID, SparkLowLevel.MotorType.kBrushless);
 
     private final AbsoluteEncoder pivotAbsEncoder = pivotMotor.getAbsoluteEncoder();
-
-    private final NetworkTablesUtils NTDebug = NetworkTablesUtils.getTable("debug");
+    private final SetpointCache pivotSetpoint = new SetpointCache();
+
+    private final Telemetry.DoubleValue ffOutTelemetry =
+            Telemetry.doubleValue("debug", "Arm ff out");
+    private final Telemetry.DoubleValue pidOutTelemetry =
+            Telemetry.doubleValue("debug", "Arm pid out");
+    private final Telemetry.DoubleValue encoderPosTelemetry =
+            Telemetry.doubleValue("debug", "Arm Encoder Pos");
+    private final Telemetry.DoubleValue encoderSpeedTelemetry =
+            Telemetry.doubleValue("debug", "Arm Encoder Speed");
+    private final Telemetry.DoubleValue pidErrorTelemetry =
+            Telemetry.doubleValue("debug", "Arm PID Error");
+    private final Telemetry.DoubleValue pidSetpointTelemetry =
+            Telemetry.doubleValue("debug", "Arm PID Setpoint");
 
     private final ProfiledPIDController pivotPID =
             new ProfiledPIDController(
@@ -32,15 +48,12 @@ public class ArmSubsystem extends SubsystemBase {
                     ArmConstants.PIVOT_D,
                     ArmConstants.PIVOT_CONSTRAINTS);
 
-    private final ArmFeedforward pivotFF =
-            new ArmFeedforward(
-                    ConfigManager.getInstance().get("arm_ks", ArmConstants.PIVOT_KS),
-                    ConfigManager.getInstance().get("arm_kg", ArmConstants.PIVOT_KG),
-                    ConfigManager.getInstance().get("arm_kv", ArmConstants.PIVOT_KV),
-                    ConfigManager.getInstance().get("arm_ka", ArmConstants.PIVOT_KA));
+    private ArmFeedforward pivotFF;
 
     public void setPivotVoltage(double voltage) {
-        pivotMotor.setVoltage(voltage);
+        if (pivotSetpoint.shouldWrite(SetpointCache.MODE_VOLTAGE, voltage)) {
+            pivotMotor.setVoltage(voltage);
+        }
     }
 
     /**
@@ -64,13 +77,39 @@ public class ArmSubsystem extends SubsystemBase {
                 .inverted(true)
                 .positionConversionFactor(2 * Math.PI) // radians
                 .velocityConversionFactor(2 * Math.PI / 60.0);
+        CanConstants.ARM.apply(pivotConfig);
 
         pivotMotor.configure(
                 pivotConfig,
                 SparkBase.ResetMode.kResetSafeParameters,
                 SparkBase.PersistMode.kPersistParameters);
+        CanBusLoad.getInstance().register(CanConstants.ARM);
 
         pivotPID.enableContinuousInput(-Math.PI, Math.PI);
+
+        applyTuning();
+        ConfigManager.getInstance().onChange("arm_*", this::applyTuning);
+    }
+
+    /** Apply the tuning values to the controllers, runs when an arm_ value changes */
+    private void applyTuning() {
+        pivotPID.setConstraints(
+                new TrapezoidProfile.Constraints(
+                        Math.toRadians(TuningKeys.ARM_MAX_VEL_DEGS.get()),
+                        TuningKeys.ARM_MAX_ACCEL_DEGS.get()));
+
+        pivotPID.setTolerance(Math.toRadians(TuningKeys.ARM_TOL.get()));
+
+        pivotPID.setP(TuningKeys.ARM_P.get());
+        pivotPID.setI(TuningKeys.ARM_I.get());
+        pivotPID.setD(TuningKeys.ARM_D.get());
+
+        pivotFF =
+                new ArmFeedforward(
+                        TuningKeys.ARM_KS.get(),
+                        TuningKeys.ARM_KG.get(),
+                        TuningKeys.ARM_KV.get(),
+                        TuningKeys.ARM_KA.get());
     }
 
     /**
@@ -79,7 +118,9 @@ public class ArmSubsystem extends SubsystemBase {
      * @param speed Target pivot speed
      */
     public void setPivotSpeed(double speed) {
-        pivotMotor.set(speed);
+        if (pivotSetpoint.shouldWrite(SetpointCache.MODE_PERCENT, speed)) {
+            pivotMotor.set(speed);
+        }
     }
 
     /**
@@ -93,8 +134,8 @@ public class ArmSubsystem extends SubsystemBase {
         double pidValue = pivotPID.calculate(getPivotAngle(), angle);
         double ffValue = pivotFF.calculate(angle, 0);
 
-        NTDebug.setEntry("Arm ff out", ffValue);
-        NTDebug.setEntry("Arm pid out", ffValue);
+        ffOutTelemetry.set(ffValue);
+        pidOutTelemetry.set(ffValue);
 
         setPivotSpeed(pidValue + ffValue);
     }
@@ -110,10 +151,7 @@ public class ArmSubsystem extends SubsystemBase {
         // ArmConstants.PIVOT_ENCODER_OFFSET
         //                : pivotAbsEncoder.getPosition() - ArmConstants.PIVOT_ENCODER_OFFSET;
         double x =
-                Math.PI * 2
-                        - pivotAbsEncoder.getPosition()
-                        - ConfigManager.getInstance()
-                                .get("arm_encoder_offset", ArmConstants.PIVOT_ENCODER_OFFSET);
+                Math.PI * 2 - pivotAbsEncoder.getPosition() - TuningKeys.ARM_ENCODER_OFFSET.get();
 
         if (x >= Math.PI) x -= Math.PI * 2;
 
@@ -125,31 +163,11 @@ public class ArmSubsystem extends SubsystemBase {
     }
 
     public void periodic() {
-        NTDebug.setEntry("Arm Encoder Pos", getPivotAngle());
-        NTDebug.setEntry("Arm Encoder Speed", getPivotSpeed());
+        encoderPosTelemetry.set(getPivotAngle());
+        encoderSpeedTelemetry.set(getPivotSpeed());
 
-        NTDebug.setEntry("Arm PID Error", pivotPID.getPositionError());
-        NTDebug.setEntry("Arm PID Setpoint", pivotPID.getGoal().position);
-
-        pivotPID.setConstraints(
-                new TrapezoidProfile.Constraints(
-                        Math.toRadians(
-                                ConfigManager.getInstance()
-                                        .get(
-                                                "arm_max_vel_degs",
-                                                Math.toDegrees(ArmConstants.PIVOT_MAX_VELOCITY))),
-                        ConfigManager.getInstance()
-                                .get(
-                                        "arm_max_accel_degs",
-                                        Math.toDegrees(ArmConstants.PIVOT_MAX_ACCELERATION))));
-
-        pivotPID.setTolerance(
-                Math.toRadians(
-                        ConfigManager.getInstance().get("arm_tol", ArmConstants.PIVOT_TOLERANCE)));
-
-        pivotPID.setP(ConfigManager.getInstance().get("arm_p", ArmConstants.PIVOT_P));
-        pivotPID.setI(ConfigManager.getInstance().get("arm_i", ArmConstants.PIVOT_I));
-        pivotPID.setD(ConfigManager.getInstance().get("arm_d", ArmConstants.PIVOT_D));
+        pidErrorTelemetry.set(pivotPID.getPositionError());
+        pidSetpointTelemetry.set(pivotPID.getGoal().position);
     }
 
     public void resetPID() {
@@ -7,6 +7,9 @@ import com.revrobotics.spark.SparkFlex;
 import com.revrobotics.spark.config.SparkBaseConfig;
 import com.revrobotics.spark.config.SparkFlexConfig;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import org.blackknights.constants.CanConstants;
+import org.blackknights.utils.CanBusLoad;
+import org.blackknights.utils.SetpointCache;
 
 /** Subsystem to controller the climber */
 public class ClimberSubsystem extends SubsystemBase {
@@ -15,13 +18,21 @@ public class ClimberSubsystem extends SubsystemBase {
 
     public SparkFlexConfig climberConfig = new SparkFlexConfig();
 
+    private final SetpointCache climberSetpoint = new SetpointCache();
+    private final SetpointCache lockSetpoint = new SetpointCache();
+
     public ClimberSubsystem() {
         climberConfig.idleMode(SparkBaseConfig.IdleMode.kBrake);
+        CanConstants.CLIMBER.apply(climberConfig);
 
         climberMotor.configure(
                 climberConfig,
                 SparkBase.ResetMode.kResetSafeParameters,
                 SparkBase.PersistMode.kPersistParameters);
+        CanConstants.CLIMBER_LOCK.apply(lockMotor);
+
+        CanBusLoad.getInstance().register(CanConstants.CLIMBER);
+        CanBusLoad.getInstance().register(CanConstants.CLIMBER_LOCK);
     }
 
     /**
@@ -30,7 +41,9 @@ public class ClimberSubsystem extends SubsystemBase {
      * @param speed The target speed in percent (-1-1)
      */
     public void setClimberSpeed(double speed) {
-        climberMotor.set(speed);
+        if (climberSetpoint.shouldWrite(SetpointCache.MODE_PERCENT, speed)) {
+            climberMotor.set(speed);
+        }
     }
 
     /**
@@ -39,6 +52,8 @@ public class ClimberSubsystem extends SubsystemBase {
      * @param speed The speed in percent (-1-1)
      */
     public void setLockSpeed(double speed) {
-        lockMotor.set(com.ctre.phoenix.motorcontrol.ControlMode.PercentOutput, speed);
+        if (lockSetpoint.shouldWrite(SetpointCache.MODE_PERCENT, speed)) {
+            lockMotor.set(com.ctre.phoenix.motorcontrol.ControlMode.PercentOutput, speed);
+        }
     }
 }
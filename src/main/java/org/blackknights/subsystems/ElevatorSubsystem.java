@@ -10,12 +10,15 @@ import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.controller.ElevatorFeedforward;
 import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
-import edu.wpi.first.networktables.DoubleEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import java.util.function.BooleanSupplier;
+import org.blackknights.constants.CanConstants;
 import org.blackknights.constants.ElevatorConstants;
+import org.blackknights.constants.TuningKeys;
+import org.blackknights.utils.CanBusLoad;
 import org.blackknights.utils.ConfigManager;
+import org.blackknights.utils.SetpointCache;
+import org.blackknights.utils.Telemetry;
 
 public class ElevatorSubsystem extends SubsystemBase {
 
@@ -31,6 +34,9 @@ public class ElevatorSubsystem extends SubsystemBase {
     private final RelativeEncoder leftEncoder = leftElevatorMotor.getEncoder();
     private final RelativeEncoder rightEncoder = rightElevatorMotor.getEncoder();
 
+    // Both motors always get the same command, so one cache covers them
+    private final SetpointCache setpoint = new SetpointCache();
+
     // Linebreaks
 
     private final ProfiledPIDController elevatorPID =
@@ -40,46 +46,20 @@ public class ElevatorSubsystem extends SubsystemBase {
                     ElevatorConstants.ELEVATOR_D,
                     ElevatorConstants.CONSTRAINTS);
 
-    private final ElevatorFeedforward elevatorFF =
-            new ElevatorFeedforward(
-                    ConfigManager.getInstance().get("elevator_ks", ElevatorConstants.ELEVATOR_KS),
-                    ConfigManager.getInstance().get("elevator_kg", ElevatorConstants.ELEVATOR_KG),
-                    ElevatorConstants.ELEVATOR_KV,
-                    ElevatorConstants.ELEVATOR_KA);
-
-    private final DoubleEntry elevatorEncoderPos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Elevator")
-                    .getDoubleTopic("EncoderPos")
-                    .getEntry(getElevatorPosition());
-
-    private final DoubleEntry elevatorLEncoderPos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Elevator")
-                    .getDoubleTopic("EncoderLPos")
-                    .getEntry(0.0);
-
-    private final DoubleEntry elevatorREncoderPos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Elevator")
-                    .getDoubleTopic("EncoderRPos")
-                    .getEntry(0.0);
-
-    private final DoubleEntry elevatorCurrent =
-            NetworkTableInstance.getDefault()
-                    .getTable("Elevator")
-                    .getDoubleTopic("Output Current")
-                    .getEntry(rightElevatorMotor.getOutputCurrent());
-
-    private final DoubleEntry elevatorVoltage =
-            NetworkTableInstance.getDefault()
-                    .getTable("Elevator")
-                    .getDoubleTopic("Applied Voltage")
-                    .getEntry(rightElevatorMotor.getAppliedOutput());
-
-    public double zeroVoltage =
-            ConfigManager.getInstance()
-                    .get("elevator_zero_voltage", ElevatorConstants.ELEVATOR_ZEROING_VOLTAGE);
+    private ElevatorFeedforward elevatorFF;
+
+    private final Telemetry.DoubleValue elevatorEncoderPos =
+            Telemetry.doubleValue("Elevator", "EncoderPos");
+    private final Telemetry.DoubleValue elevatorLEncoderPos =
+            Telemetry.doubleValue("Elevator", "EncoderLPos");
+    private final Telemetry.DoubleValue elevatorREncoderPos =
+            Telemetry.doubleValue("Elevator", "EncoderRPos");
+    private final Telemetry.DoubleValue elevatorCurrent =
+            Telemetry.doubleValue("Elevator", "Output Current");
+    private final Telemetry.DoubleValue elevatorVoltage =
+            Telemetry.doubleValue("Elevator", "Applied Voltage");
+
+    public double zeroVoltage = TuningKeys.ELEVATOR_ZERO_VOLTAGE.get();
 
     /** Subsystem for the elevator */
     public ElevatorSubsystem() {
@@ -101,6 +81,9 @@ public class ElevatorSubsystem extends SubsystemBase {
 
         //        rightElevatorMotorConfig.secondaryCurrentLimit(40);
 
+        CanConstants.ELEVATOR_RIGHT.apply(rightElevatorMotorConfig);
+        CanConstants.ELEVATOR_LEFT.apply(leftElevatorMotorConfig);
+
         rightElevatorMotor.configure(
                 rightElevatorMotorConfig,
                 SparkBase.ResetMode.kResetSafeParameters,
@@ -109,8 +92,32 @@ public class ElevatorSubsystem extends SubsystemBase {
                 leftElevatorMotorConfig,
                 SparkBase.ResetMode.kResetSafeParameters,
                 SparkBase.PersistMode.kPersistParameters);
+        CanBusLoad.getInstance().register(CanConstants.ELEVATOR_RIGHT);
+        CanBusLoad.getInstance().register(CanConstants.ELEVATOR_LEFT);
 
         elevatorPID.setGoal(0);
+
+        applyTuning();
+        ConfigManager.getInstance().onChange("elevator_*", this::applyTuning);
+    }
+
+    /** Apply the tuning values to the controllers, runs when an elevator_ value changes */
+    private void applyTuning() {
+        elevatorPID.setP(TuningKeys.ELEVATOR_P.get());
+        elevatorPID.setI(TuningKeys.ELEVATOR_I.get());
+        elevatorPID.setD(TuningKeys.ELEVATOR_D.get());
+        elevatorPID.setConstraints(
+                new TrapezoidProfile.Constraints(
+                        TuningKeys.ELEVATOR_MAX_VEL.get(), TuningKeys.ELEVATOR_MAX_ACCEL.get()));
+
+        elevatorFF =
+                new ElevatorFeedforward(
+                        TuningKeys.ELEVATOR_KS.get(),
+                        TuningKeys.ELEVATOR_KG.get(),
+                        ElevatorConstants.ELEVATOR_KV,
+                        ElevatorConstants.ELEVATOR_KA);
+
+        zeroVoltage = TuningKeys.ELEVATOR_ZERO_VOLTAGE.get();
     }
 
     /**
@@ -119,8 +126,10 @@ public class ElevatorSubsystem extends SubsystemBase {
      * @param speed Target percent
      */
     public void setElevatorSpeed(double speed) {
-        leftElevatorMotor.set(speed);
-        rightElevatorMotor.set(speed);
+        if (setpoint.shouldWrite(SetpointCache.MODE_PERCENT, speed)) {
+            leftElevatorMotor.set(speed);
+            rightElevatorMotor.set(speed);
+        }
     }
 
     /**
@@ -129,9 +138,10 @@ public class ElevatorSubsystem extends SubsystemBase {
      * @param voltage The target voltage
      */
     public void setVoltage(double voltage) {
-        leftElevatorMotor.setVoltage(voltage);
-        rightElevatorMotor.setVoltage(voltage);
-        // Always set voltage for PID and FF
+        if (setpoint.shouldWrite(SetpointCache.MODE_VOLTAGE, voltage)) {
+            leftElevatorMotor.setVoltage(voltage);
+            rightElevatorMotor.setVoltage(voltage);
+        }
     }
 
     /**
@@ -235,27 +245,10 @@ public class ElevatorSubsystem extends SubsystemBase {
 
     @Override
     public void periodic() {
-
-        elevatorPID.setP(
-                ConfigManager.getInstance().get("elevator_p", ElevatorConstants.ELEVATOR_P));
-        elevatorPID.setI(
-                ConfigManager.getInstance().get("elevator_i", ElevatorConstants.ELEVATOR_I));
-        elevatorPID.setD(
-                ConfigManager.getInstance().get("elevator_d", ElevatorConstants.ELEVATOR_D));
-        elevatorPID.setConstraints(
-                new TrapezoidProfile.Constraints(
-                        ConfigManager.getInstance()
-                                .get("elevator_max_vel", ElevatorConstants.ELEVATOR_MAX_VEL),
-                        ConfigManager.getInstance()
-                                .get("elevator_max_accel", ElevatorConstants.ELEVATOR_MAX_ACCEL)));
-
         elevatorLEncoderPos.set(leftEncoder.getPosition());
         elevatorREncoderPos.set(rightEncoder.getPosition());
 
         elevatorEncoderPos.set(getElevatorPosition());
-        zeroVoltage =
-                ConfigManager.getInstance()
-                        .get("elevator_zero_voltage", ElevatorConstants.ELEVATOR_ZEROING_VOLTAGE);
 
         elevatorCurrent.set(rightElevatorMotor.getOutputCurrent());
         elevatorVoltage.set(rightElevatorMotor.getAppliedOutput());
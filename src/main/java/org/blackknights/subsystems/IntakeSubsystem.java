@@ -5,11 +5,15 @@ import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
 import edu.wpi.first.wpilibj.DigitalInput;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import org.blackknights.constants.ArmConstants;
+import org.blackknights.constants.CanConstants;
+import org.blackknights.utils.CanBusLoad;
 import org.blackknights.utils.NetworkTablesUtils;
+import org.blackknights.utils.SetpointCache;
 
 /** Subsystem to manage the intake (NOT HAND) */
 public class IntakeSubsystem extends SubsystemBase {
     private final WPI_TalonSRX motor = new WPI_TalonSRX(ArmConstants.MOTOR_ID);
+    private final SetpointCache setpoint = new SetpointCache();
 
     private final DigitalInput intakeLinebreak = new DigitalInput(1);
 
@@ -19,6 +23,8 @@ public class IntakeSubsystem extends SubsystemBase {
         motor.enableCurrentLimit(true);
         motor.configContinuousCurrentLimit(20);
         motor.configPeakCurrentLimit(0);
+        CanConstants.INTAKE.apply(motor);
+        CanBusLoad.getInstance().register(CanConstants.INTAKE);
     }
 
     /**
@@ -27,7 +33,9 @@ public class IntakeSubsystem extends SubsystemBase {
      * @param speed The target speed in percent (0-1)
      */
     public void setSpeed(double speed) {
-        motor.set(speed);
+        if (setpoint.shouldWrite(SetpointCache.MODE_PERCENT, speed)) {
+            motor.set(speed);
+        }
     }
 
     /**
@@ -36,7 +44,9 @@ public class IntakeSubsystem extends SubsystemBase {
      * @param voltage The target voltage (0-12)
      */
     public void setVoltage(double voltage) {
-        motor.setVoltage(voltage);
+        if (setpoint.shouldWrite(SetpointCache.MODE_VOLTAGE, voltage)) {
+            motor.setVoltage(voltage);
+        }
     }
 
     public boolean getLinebreak() {
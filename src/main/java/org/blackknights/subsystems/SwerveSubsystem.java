@@ -5,7 +5,7 @@ import com.studica.frc.AHRS;
 import edu.wpi.first.hal.FRCNetComm.tInstances;
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
-import edu.wpi.first.math.filter.SlewRateLimiter;
+import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
@@ -13,22 +13,28 @@ import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.util.Units;
-import edu.wpi.first.networktables.DoubleArrayEntry;
-import edu.wpi.first.networktables.DoubleEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.util.WPIUtilJNI;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.blackknights.constants.DrivetrainConstants;
+import org.blackknights.constants.TuningKeys;
 import org.blackknights.controllers.MAXSwerveModule;
 import org.blackknights.framework.Odometry;
-import org.blackknights.utils.ConfigManager;
-import org.blackknights.utils.NetworkTablesUtils;
-import org.blackknights.utils.SwerveUtils;
+import org.blackknights.framework.OdometryThread;
+import org.blackknights.framework.RobotState;
+import org.blackknights.framework.RobotStateSnapshot;
+import org.blackknights.framework.SwerveSensorFrame;
+import org.blackknights.utils.SwerveKinematics;
+import org.blackknights.utils.SwerveSetpointGenerator;
+import org.blackknights.utils.Telemetry;
 
 public class SwerveSubsystem extends SubsystemBase {
     private static final Logger log = LogManager.getLogger(SwerveSubsystem.class);
+    // If drive isn't called for longer than this the setpoint starts again from the measured state
+    private static final double MAX_SETPOINT_PERIOD = 0.1;
     // Create MAXSwerveModules
     private final MAXSwerveModule frontLeft =
             new MAXSwerveModule(
@@ -57,78 +63,90 @@ public class SwerveSubsystem extends SubsystemBase {
     // The gyro sensor
     private final AHRS gyro = new AHRS(AHRS.NavXComType.kUSB1);
 
-    // Slew Rate Constants
-    private double currentRotation = 0.0;
-    private double currentTranslationDirection = 0.0;
-    private double currentTranslationMagnitude = 0.0;
-
-    // Slew Rate Limiters
-    private final SlewRateLimiter magnitudeLimiter =
-            new SlewRateLimiter(
-                    ConfigManager.getInstance()
-                            .get(
-                                    "drive_magnitude_slew_rate",
-                                    DrivetrainConstants.MAGNITUDE_SLEW_RATE));
-    private final SlewRateLimiter rotationLimiter =
-            new SlewRateLimiter(
-                    ConfigManager.getInstance()
-                            .get(
-                                    "drive_rotational_slew_rate",
-                                    DrivetrainConstants.ROTATIONAL_SLEW_RATE));
-
-    // Slew Rate Time
+    // Every module encoder and the gyro, read once a loop by readSensors
+    private final SwerveSensorFrame sensorFrame = new SwerveSensorFrame();
+
+    // Limits how fast the setpoint changes to what the drive motors and steering can follow
+    private final SwerveSetpointGenerator setpointGenerator =
+            new SwerveSetpointGenerator(
+                    new SwerveKinematics(DrivetrainConstants.MODULE_LOCATIONS),
+                    DrivetrainConstants.DRIVE_MOTOR,
+                    DrivetrainConstants.DRIVING_MOTOR_REDUCTION,
+                    DrivetrainConstants.WHEEL_DIAMETER_METERS / 2,
+                    DrivetrainConstants.DRIVE_CURRENT_LIMIT,
+                    DrivetrainConstants.ROBOT_MASS_KG,
+                    DrivetrainConstants.WHEEL_COF,
+                    DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND,
+                    DrivetrainConstants.MAX_MODULE_STEER_RATE);
+
+    // Time of the last setpoint
     private double previousTime = WPIUtilJNI.now() * 1e-6;
 
+    // Samples the modules and gyro between loops, FL, FR, RR, RL
+    private final OdometryThread odometryThread =
+            new OdometryThread(
+                    this::sampleOdometry,
+                    4,
+                    DrivetrainConstants.ODOMETRY_FREQUENCY_HZ,
+                    DrivetrainConstants.ODOMETRY_QUEUE_CAPACITY);
+    private final OdometryThread.SampleConsumer odometryConsumer = this::addOdometrySample;
+    private final SwerveModulePosition[] odometryPositions = {
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition()
+    };
+
     /** Creates a new DriveSubsystem. */
     public SwerveSubsystem() {
         // Usage reporting for MAXSwerve template
         HAL.report(tResourceType.kResourceType_RobotDrive, tInstances.kRobotDriveSwerve_MaxSwerve);
         gyro.setAngleAdjustment(180);
+        odometryThread.start();
     }
 
     // Network Tables Telemetry
 
-    private final NetworkTablesUtils NTUtils = NetworkTablesUtils.getTable("debug");
-    private final DoubleArrayEntry setpointsTelemetry =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleArrayTopic("Setpoints")
-                    .getEntry(new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0});
-    private final DoubleArrayEntry actualTelemetry =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleArrayTopic("Actual")
-                    .getEntry(new double[] {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0});
-
-    private final DoubleEntry gyroHeading =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleTopic("GyroHeading")
-                    .getEntry(getHeadingRad());
-
-    private final DoubleEntry frontrightpos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleTopic("frpos")
-                    .getEntry(frontRight.getPosition().angle.getRadians());
-
-    private final DoubleEntry frontleftpos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleTopic("flpos")
-                    .getEntry(frontLeft.getPosition().angle.getRadians());
-
-    private final DoubleEntry rearrightpos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleTopic("rrpos")
-                    .getEntry(rearRight.getPosition().angle.getRadians());
-
-    private final DoubleEntry rearleftpos =
-            NetworkTableInstance.getDefault()
-                    .getTable("Swerve")
-                    .getDoubleTopic("rlpos")
-                    .getEntry(rearLeft.getPosition().angle.getRadians());
+    private final Telemetry.DoubleValue gyroAngleTelemetry =
+            Telemetry.doubleValue("debug", "Gyro Angle");
+    private final Telemetry.DoubleValue accelerationTelemetry =
+            Telemetry.doubleValue("debug", "Acceleration");
+    private final Telemetry.DoubleValue gyroAccelTelemetry =
+            Telemetry.doubleValue("debug", "Gyro Accel");
+    private final Telemetry.ChassisSpeedsValue speedsTelemetry =
+            Telemetry.chassisSpeedsValue("debug", "Speeds");
+    private final Telemetry.ModuleStatesValue setpointsTelemetry =
+            Telemetry.moduleStatesValue("Swerve", "Setpoints", 4);
+    private final Telemetry.ModuleStatesValue actualTelemetry =
+            Telemetry.moduleStatesValue("Swerve", "Actual", 4);
+
+    // FL, FR, RL, RR, refilled every loop
+    private final SwerveModuleState[] measuredStates = new SwerveModuleState[4];
+    private final double[] desiredSpeeds = new double[4];
+    private final double[] desiredAngles = new double[4];
+
+    // FL, FR, RL, RR, written by drive so it doesn't allocate. The angles are kept between calls
+    // so the modules hold their heading when the robot stops
+    private final double[] moduleSpeeds = new double[4];
+    private final double[] moduleAngles = new double[4];
+
+    private final Telemetry.DoubleValue gyroHeading =
+            Telemetry.doubleValue("Swerve", "GyroHeading");
+    private final Telemetry.DoubleValue frontrightpos = Telemetry.doubleValue("Swerve", "frpos");
+    private final Telemetry.DoubleValue frontleftpos = Telemetry.doubleValue("Swerve", "flpos");
+    private final Telemetry.DoubleValue rearrightpos = Telemetry.doubleValue("Swerve", "rrpos");
+    private final Telemetry.DoubleValue rearleftpos = Telemetry.doubleValue("Swerve", "rlpos");
+
+    private final Telemetry.DoubleValue odometryRateTelemetry =
+            Telemetry.doubleValue("debug/Odometry", "Sample rate");
+    private final Telemetry.DoubleValue odometryPeriodTelemetry =
+            Telemetry.doubleValue("debug/Odometry", "Max period ms");
+    private final Telemetry.DoubleValue odometryDepthTelemetry =
+            Telemetry.doubleValue("debug/Odometry", "Queue depth");
+    private final Telemetry.DoubleValue odometryDroppedTelemetry =
+            Telemetry.doubleValue("debug/Odometry", "Dropped");
+    private final Telemetry.DoubleValue setpointScaleTelemetry =
+            Telemetry.doubleValue("debug", "Setpoint scale");
 
     //    public void reconfigure() {
     //        ConfigManager cm = ConfigManager.getInstance();
@@ -153,65 +171,135 @@ public class SwerveSubsystem extends SubsystemBase {
 
     @Override
     public void periodic() {
-        NTUtils.setEntry("Gyro Angle", gyro.getAngle());
+        RobotStateSnapshot state = RobotState.getInstance().getSnapshot();
+
+        gyroAngleTelemetry.set(sensorFrame.getGyroAngle());
 
-        NTUtils.setEntry("Acceleration", frontLeft.getState().speedMetersPerSecond);
+        accelerationTelemetry.set(state.getModuleState(0).speedMetersPerSecond);
 
-        NTUtils.setEntry(
-                "Gyro Accel",
+        gyroAccelTelemetry.set(
                 Math.sqrt(
                         Math.pow(gyro.getWorldLinearAccelX(), 2)
                                 + Math.pow(gyro.getWorldLinearAccelY(), 2)));
 
-        Odometry.getInstance()
-                .addWheelOdometry(
-                        new Rotation3d(Rotation2d.fromRadians(this.getHeadingRad())),
-                        new SwerveModulePosition[] {
-                            frontLeft.getPosition(),
-                            frontRight.getPosition(),
-                            rearRight.getPosition(),
-                            rearLeft.getPosition()
-                        });
-
-        NTUtils.setArrayEntry(
-                "Speeds",
-                new double[] {
-                    this.getFieldRelativeChassisSpeeds().vxMetersPerSecond,
-                    this.getFieldRelativeChassisSpeeds().vyMetersPerSecond,
-                    this.getFieldRelativeChassisSpeeds().omegaRadiansPerSecond
-                });
-
-        frontrightpos.set(frontRight.getPosition().angle.getRadians());
-        frontleftpos.set(frontLeft.getPosition().angle.getRadians());
-        rearrightpos.set(rearRight.getPosition().angle.getRadians());
-        rearleftpos.set(rearLeft.getPosition().angle.getRadians());
+        speedsTelemetry.set(state.getFieldRelativeSpeeds());
 
         // Set Network Tables Telemetry
-        actualTelemetry.set(
-                new double[] {
-                    frontLeft.getPosition().angle.getRadians(),
-                    frontLeft.getState().speedMetersPerSecond,
-                    frontRight.getPosition().angle.getRadians(),
-                    frontRight.getState().speedMetersPerSecond,
-                    rearLeft.getPosition().angle.getRadians(),
-                    rearLeft.getState().speedMetersPerSecond,
-                    rearRight.getPosition().angle.getRadians(),
-                    rearRight.getState().speedMetersPerSecond
-                });
-
-        setpointsTelemetry.set(
-                new double[] {
-                    frontLeft.getState().angle.getRadians(),
-                    frontLeft.getState().speedMetersPerSecond,
-                    frontRight.getState().angle.getRadians(),
-                    frontRight.getState().speedMetersPerSecond,
-                    rearLeft.getState().angle.getRadians(),
-                    rearLeft.getState().speedMetersPerSecond,
-                    rearRight.getState().angle.getRadians(),
-                    rearRight.getState().speedMetersPerSecond
-                });
-
-        gyroHeading.set(getHeadingRad());
+        for (int i = 0; i < measuredStates.length; i++) {
+            measuredStates[i] = state.getModuleState(i);
+        }
+        actualTelemetry.set(measuredStates);
+
+        desiredSpeeds[0] = frontLeft.getDesiredSpeed();
+        desiredSpeeds[1] = frontRight.getDesiredSpeed();
+        desiredSpeeds[2] = rearLeft.getDesiredSpeed();
+        desiredSpeeds[3] = rearRight.getDesiredSpeed();
+        desiredAngles[0] = frontLeft.getDesiredAngle();
+        desiredAngles[1] = frontRight.getDesiredAngle();
+        desiredAngles[2] = rearLeft.getDesiredAngle();
+        desiredAngles[3] = rearRight.getDesiredAngle();
+        setpointsTelemetry.set(desiredSpeeds, desiredAngles);
+
+        frontleftpos.set(measuredStates[0].angle.getRadians());
+        frontrightpos.set(measuredStates[1].angle.getRadians());
+        rearleftpos.set(measuredStates[2].angle.getRadians());
+        rearrightpos.set(measuredStates[3].angle.getRadians());
+
+        gyroHeading.set(sensorFrame.getHeadingRad());
+    }
+
+    /**
+     * Read every module encoder and the gyro once, call at the start of the loop before anything
+     * uses them
+     *
+     * @return The filled {@link SwerveSensorFrame}
+     */
+    public SwerveSensorFrame readSensors() {
+        sensorFrame.begin(Timer.getFPGATimestamp());
+        frontLeft.read(sensorFrame, 0);
+        frontRight.read(sensorFrame, 1);
+        rearLeft.read(sensorFrame, 2);
+        rearRight.read(sensorFrame, 3);
+        sensorFrame.setGyro(gyro.getAngle(), -gyro.getRate());
+        return sensorFrame;
+    }
+
+    /**
+     * Get the sensors read at the start of this loop
+     *
+     * @return The {@link SwerveSensorFrame}
+     */
+    public SwerveSensorFrame getSensorFrame() {
+        return sensorFrame;
+    }
+
+    /** Feed every wheel odometry sample taken since the last loop into the pose estimator */
+    public void updateOdometry() {
+        odometryThread.drain(odometryConsumer);
+        odometryRateTelemetry.set(odometryThread.getSampleRateHz());
+        odometryPeriodTelemetry.set(odometryThread.getMaxPeriodMs());
+        odometryDepthTelemetry.set(odometryThread.getQueueDepth());
+        odometryDroppedTelemetry.set(odometryThread.getDropped());
+    }
+
+    /**
+     * Reset the estimated pose, seeded with where the modules and gyro are now. Samples the
+     * odometry thread queued before the reset are thrown away, so they aren't replayed on top of
+     * the new pose
+     *
+     * @param pose The new pose of the robot
+     */
+    public void resetOdometry(Pose3d pose) {
+        double[] drivePositions = new double[4];
+        double[] turnAngles = new double[4];
+        double yaw = sampleOdometry(drivePositions, turnAngles);
+        // After reading, so every sample kept was read after the positions the reset starts from
+        odometryThread.clear();
+
+        SwerveModulePosition[] positions = new SwerveModulePosition[4];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] =
+                    new SwerveModulePosition(
+                            drivePositions[i], Rotation2d.fromRadians(turnAngles[i]));
+        }
+        Odometry.getInstance()
+                .resetPose(pose, new Rotation3d(Rotation2d.fromRadians(yaw)), positions);
+    }
+
+    /**
+     * Read the modules and gyro for the odometry thread
+     *
+     * @param drivePositions Filled with the drive distances, FL, FR, RR, RL
+     * @param turnAngles Filled with the module angles, FL, FR, RR, RL
+     * @return The heading in radians
+     */
+    private double sampleOdometry(double[] drivePositions, double[] turnAngles) {
+        drivePositions[0] = frontLeft.getDrivePositionMeters();
+        drivePositions[1] = frontRight.getDrivePositionMeters();
+        drivePositions[2] = rearRight.getDrivePositionMeters();
+        drivePositions[3] = rearLeft.getDrivePositionMeters();
+
+        turnAngles[0] = frontLeft.getAngleRad();
+        turnAngles[1] = frontRight.getAngleRad();
+        turnAngles[2] = rearRight.getAngleRad();
+        turnAngles[3] = rearLeft.getAngleRad();
+
+        return this.getHeadingRad();
+    }
+
+    /** Feed one drained odometry sample into the pose estimator at the time it was taken */
+    private void addOdometrySample(
+            double timestampSeconds, double yawRad, double[] drivePositions, double[] turnAngles) {
+        for (int i = 0; i < odometryPositions.length; i++) {
+            odometryPositions[i].distanceMeters = drivePositions[i];
+            odometryPositions[i].angle = Rotation2d.fromRadians(turnAngles[i]);
+        }
+
+        Odometry.getInstance()
+                .addWheelOdometry(
+                        timestampSeconds,
+                        new Rotation3d(Rotation2d.fromRadians(yawRad)),
+                        odometryPositions);
     }
 
     /**
@@ -223,7 +311,8 @@ public class SwerveSubsystem extends SubsystemBase {
      *     second.
      * @param radiansPerSecond Angular rate of the robot in radians per second.
      * @param fieldRelative Whether the provided x and y speeds are relative to the field.
-     * @param rateLimit Whether slew rates should be applied to the commanded speeds.
+     * @param rateLimit Whether to limit the commanded speeds to what the modules can follow, see
+     *     {@link SwerveSetpointGenerator}
      * @param useOdometryRotation Whether to use odometry rotation or raw gyro
      */
     public void drive(
@@ -234,85 +323,48 @@ public class SwerveSubsystem extends SubsystemBase {
             boolean rateLimit,
             boolean useOdometryRotation) { // TODO: We should only need odometry rotation
 
-        // Slew Rate Limiting
-        double xSpeedCommanded;
-        double ySpeedCommanded;
-
-        if (rateLimit) {
-
-            double inputTranslationDirection =
-                    Math.atan2(sidewaysMetersPerSecond, forwardMetersPerSecond);
-            double inputTranslationMagnitude =
-                    Math.sqrt(
-                            Math.pow(forwardMetersPerSecond, 2.0)
-                                    + Math.pow(sidewaysMetersPerSecond, 2.0));
-
-            double currentTranslationMagnitude =
-                    Math.sqrt(
-                            Math.pow(getRobotRelativeSpeeds().vxMetersPerSecond, 2.0)
-                                    + Math.pow(getRobotRelativeSpeeds().vyMetersPerSecond, 2.0));
-
-            double directionSlewRate;
-            if (currentTranslationMagnitude != 0.0) {
-                directionSlewRate =
-                        Math.abs(
-                                ConfigManager.getInstance()
-                                                .get(
-                                                        "drive_direction_slew_rate",
-                                                        DrivetrainConstants.DIRECTION_SLEW_RATE)
-                                        / currentTranslationMagnitude);
-            } else {
-                directionSlewRate =
-                        500.0; // super high number means change in direction is instantaneous
-            }
-
-            double currentTime = WPIUtilJNI.now() * 1e-6;
-            double elapsedTime = currentTime - previousTime;
-
-            currentTranslationDirection =
-                    SwerveUtils.stepTowardsCircular(
-                            currentTranslationDirection,
-                            inputTranslationDirection,
-                            directionSlewRate * elapsedTime);
-
-            previousTime = currentTime;
-
-            xSpeedCommanded = inputTranslationMagnitude * Math.cos(currentTranslationDirection);
-            ySpeedCommanded = inputTranslationMagnitude * Math.sin(currentTranslationDirection);
-
-        } else {
-            // If there's no rate limit, robot does the exact inputs given.
-            xSpeedCommanded = forwardMetersPerSecond;
-            ySpeedCommanded = sidewaysMetersPerSecond;
+        double vx = forwardMetersPerSecond;
+        double vy = sidewaysMetersPerSecond;
+        if (fieldRelative) {
+            double heading =
+                    useOdometryRotation
+                            ? Odometry.getInstance().getRobotPose().getRotation().getZ()
+                            : sensorFrame.getHeadingRad();
+            vx =
+                    SwerveKinematics.toRobotVx(
+                            forwardMetersPerSecond, sidewaysMetersPerSecond, heading);
+            vy =
+                    SwerveKinematics.toRobotVy(
+                            forwardMetersPerSecond, sidewaysMetersPerSecond, heading);
         }
 
-        double xSpeedDelivered = xSpeedCommanded;
-        double ySpeedDelivered = ySpeedCommanded;
-        double rotationDelivered = radiansPerSecond;
-
-        var swerveModuleStates =
-                DrivetrainConstants.DRIVE_KINEMATICS.toSwerveModuleStates(
-                        fieldRelative
-                                ? ChassisSpeeds.fromFieldRelativeSpeeds(
-                                        xSpeedDelivered,
-                                        ySpeedDelivered,
-                                        rotationDelivered,
-                                        Rotation2d.fromRadians(
-                                                useOdometryRotation
-                                                        ? Odometry.getInstance()
-                                                                .getRobotPose()
-                                                                .getRotation()
-                                                                .getZ()
-                                                        : this.getHeadingRad()))
-                                : new ChassisSpeeds(
-                                        xSpeedDelivered, ySpeedDelivered, rotationDelivered));
-        SwerveDriveKinematics.desaturateWheelSpeeds(
-                swerveModuleStates, DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND);
+        double currentTime = WPIUtilJNI.now() * 1e-6;
+        double elapsedTime = currentTime - previousTime;
+        previousTime = currentTime;
+        if (elapsedTime > MAX_SETPOINT_PERIOD) {
+            ChassisSpeeds measured = getRobotRelativeSpeeds();
+            for (int i = 0; i < SwerveSensorFrame.MODULES; i++) {
+                moduleAngles[i] = sensorFrame.getTurnAngle(i);
+            }
+            setpointGenerator.reset(
+                    measured.vxMetersPerSecond,
+                    measured.vyMetersPerSecond,
+                    measured.omegaRadiansPerSecond,
+                    moduleAngles);
+            elapsedTime = TimedRobot.kDefaultPeriod;
+        }
 
-        frontLeft.setDesiredState(swerveModuleStates[0]);
-        frontRight.setDesiredState(swerveModuleStates[1]);
-        rearLeft.setDesiredState(swerveModuleStates[2]);
-        rearRight.setDesiredState(swerveModuleStates[3]);
+        // Without the rate limit the setpoint jumps straight to the inputs, but is still tracked
+        // so turning the limit on later starts from where the robot is
+        setpointGenerator.setMaxAcceleration(TuningKeys.DRIVE_MAX_ACCELERATION.get());
+        setpointGenerator.generate(
+                vx, vy, radiansPerSecond, elapsedTime, rateLimit, moduleSpeeds, moduleAngles);
+        setpointScaleTelemetry.set(setpointGenerator.getLastScale());
+
+        frontLeft.setDesiredState(moduleSpeeds[0], moduleAngles[0]);
+        frontRight.setDesiredState(moduleSpeeds[1], moduleAngles[1]);
+        rearLeft.setDesiredState(moduleSpeeds[2], moduleAngles[2]);
+        rearRight.setDesiredState(moduleSpeeds[3], moduleAngles[3]);
     }
 
     /** Sets the wheels into an X formation to prevent movement. */
@@ -346,7 +398,8 @@ public class SwerveSubsystem extends SubsystemBase {
     }
 
     /**
-     * Returns the heading of the robot.
+     * Returns the heading of the robot straight from the gyro, for the odometry thread. The main
+     * loop should use {@link #getSensorFrame()}
      *
      * @return the robot's heading in degrees, from -pi to pi
      */
@@ -355,7 +408,8 @@ public class SwerveSubsystem extends SubsystemBase {
     }
 
     /**
-     * Returns the turn rate of the robot.
+     * Returns the turn rate of the robot straight from the gyro. The main loop should use {@link
+     * #getSensorFrame()}
      *
      * @return The turn rate of the robot, in degrees per second
      */
@@ -369,11 +423,9 @@ public class SwerveSubsystem extends SubsystemBase {
      * @return {@link ChassisSpeeds} of the current robots speed
      */
     public ChassisSpeeds getRobotRelativeSpeeds() {
-        return DrivetrainConstants.DRIVE_KINEMATICS.toChassisSpeeds(
-                frontLeft.getState(),
-                frontRight.getState(),
-                rearLeft.getState(),
-                rearRight.getState());
+        SwerveModuleState[] states = new SwerveModuleState[4];
+        getModuleStates(states);
+        return DrivetrainConstants.DRIVE_KINEMATICS.toChassisSpeeds(states);
     }
 
     /**
@@ -382,20 +434,29 @@ public class SwerveSubsystem extends SubsystemBase {
      * @return Returns robot speed as a {@link ChassisSpeeds} in meters/second
      */
     public ChassisSpeeds getFieldRelativeChassisSpeeds() {
+        ChassisSpeeds robotRelative = getRobotRelativeSpeeds();
+        double yaw = Odometry.getInstance().getRobotPose().getRotation().getZ();
+
         return new ChassisSpeeds(
-                getRobotRelativeSpeeds().vxMetersPerSecond
-                                * Math.cos(
-                                        Odometry.getInstance().getRobotPose().getRotation().getZ())
-                        - getRobotRelativeSpeeds().vyMetersPerSecond
-                                * Math.sin(
-                                        Odometry.getInstance().getRobotPose().getRotation().getZ()),
-                getRobotRelativeSpeeds().vyMetersPerSecond
-                                * Math.cos(
-                                        Odometry.getInstance().getRobotPose().getRotation().getZ())
-                        + getRobotRelativeSpeeds().vxMetersPerSecond
-                                * Math.sin(
-                                        Odometry.getInstance().getRobotPose().getRotation().getZ()),
-                getRobotRelativeSpeeds().omegaRadiansPerSecond);
+                robotRelative.vxMetersPerSecond * Math.cos(yaw)
+                        - robotRelative.vyMetersPerSecond * Math.sin(yaw),
+                robotRelative.vyMetersPerSecond * Math.cos(yaw)
+                        + robotRelative.vxMetersPerSecond * Math.sin(yaw),
+                robotRelative.omegaRadiansPerSecond);
+    }
+
+    /**
+     * Get the measured state of every module from the sensor frame
+     *
+     * @param out Filled with new states, FL, FR, RL, RR
+     */
+    public void getModuleStates(SwerveModuleState[] out) {
+        for (int i = 0; i < SwerveSensorFrame.MODULES; i++) {
+            out[i] =
+                    new SwerveModuleState(
+                            sensorFrame.getDriveVelocity(i),
+                            Rotation2d.fromRadians(sensorFrame.getTurnAngle(i)));
+        }
     }
 
     public void driveRobotRelative(ChassisSpeeds chassisSpeeds) {
@@ -1,19 +1,26 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.utils;
 
-import edu.wpi.first.apriltag.AprilTagFieldLayout;
-import edu.wpi.first.apriltag.AprilTagFields;
 import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Transform3d;
-import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.blackknights.constants.VisionConstants;
+import org.photonvision.EstimatedRobotPose;
 import org.photonvision.PhotonCamera;
 import org.photonvision.PhotonPoseEstimator;
 import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
 
 /** */
 public class Camera {
@@ -26,12 +33,31 @@ public class Camera {
     private final String name;
     private final CameraType camType;
 
-    private double photonTimestamp;
-    private Pose3d targetPose;
-    private boolean enabled;
+    // Written by the worker, read from the main loop
+    private volatile double photonTimestamp;
+    private volatile Pose3d targetPose;
+    private volatile boolean enabled;
+    private volatile boolean gated = false;
+    private volatile double cutoffDistance = Double.POSITIVE_INFINITY;
+    private volatile int expectedTags = 0;
+
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong framesSkipped = new AtomicLong();
+
+    // Worker only
+    private Notifier worker;
+    private Queue<VisionMeasurement> sink;
+    private Supplier<Pose3d> referencePose;
+    private Pose3d lastLimelightPose;
+    private final ArrayList<VisionMeasurement> workerMeasurements = new ArrayList<>();
+    private final TagVisibility visibility;
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    private static final Comparator<PhotonPipelineResult> TIMESTAMP_ORDER =
+            Comparator.comparingDouble(PhotonPipelineResult::getTimestampSeconds);
+
     /**
      * Util class for cameras
      *
@@ -39,74 +65,208 @@ public class Camera {
      * @param camType The {@link CameraType} of the camera
      */
     public Camera(String name, CameraType camType, Transform3d camOffset) {
+        this(
+                name,
+                camType,
+                camOffset,
+                camType == CameraType.PHOTONVISION ? new PhotonCamera(name) : null,
+                camType == CameraType.PHOTONVISION
+                        ? new PhotonPoseEstimator(
+                                FieldModel.getInstance().getLayout(),
+                                PhotonPoseEstimator.PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR,
+                                camOffset)
+                        : null);
+    }
+
+    Camera(
+            String name,
+            CameraType camType,
+            Transform3d camOffset,
+            PhotonCamera photonCamera,
+            PhotonPoseEstimator photonPoseEstimator) {
         this.camType = camType;
         this.camOffset = camOffset;
         this.name = name;
         this.enabled = true;
+        this.visibility =
+                new TagVisibility(
+                        FieldModel.getInstance(),
+                        camOffset,
+                        VisionConstants.CAMERA_HORIZONTAL_FOV,
+                        VisionConstants.CAMERA_VERTICAL_FOV,
+                        VisionConstants.MAX_TAG_VIEW_ANGLE);
 
-        switch (this.camType) {
-            case PHOTONVISION -> {
-                photonCamera = new PhotonCamera(name);
-                photonPoseEstimator =
-                        new PhotonPoseEstimator(
-                                AprilTagFieldLayout.loadField(AprilTagFields.k2025ReefscapeWelded),
-                                PhotonPoseEstimator.PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR,
-                                this.camOffset);
-                limelightTable = null;
-            }
-            case LIMELIGHT -> {
-                photonCamera = null;
-                photonPoseEstimator = null;
-                limelightTable = NetworkTablesUtils.getTable(name);
+        this.photonCamera = photonCamera;
+        this.photonPoseEstimator = photonPoseEstimator;
+        this.limelightTable =
+                camType == CameraType.LIMELIGHT ? NetworkTablesUtils.getTable(name) : null;
+    }
+
+    /**
+     * Start a worker that reads the camera as results arrive and posts every measurement to the
+     * sink, so the pose solve happens off the main loop
+     *
+     * @param sink A thread safe queue the main loop drains
+     * @param referencePose Supplies the latest estimated pose of the robot, called from the worker
+     *     before every solve so it has to be thread safe
+     */
+    public void start(Queue<VisionMeasurement> sink, Supplier<Pose3d> referencePose) {
+        if (this.worker != null) return;
+
+        this.sink = sink;
+        this.referencePose = referencePose;
+        this.worker = new Notifier(this::poll);
+        this.worker.setName("Camera " + this.name);
+        this.worker.startPeriodic(1.0 / VisionConstants.CAMERA_POLL_HZ);
+    }
+
+    /**
+     * Set whether frames are gated by the tags the camera should see from the reference pose. Only
+     * turn this on once the reference pose can be trusted, otherwise good frames get thrown away
+     *
+     * @param gated Whether to gate frames
+     */
+    public void setGated(boolean gated) {
+        this.gated = gated;
+    }
+
+    /**
+     * Set how far away tags can be and still be expected when frames are gated
+     *
+     * @param meters The vision cutoff distance
+     */
+    public void setCutoffDistance(double meters) {
+        this.cutoffDistance = meters;
+    }
+
+    private void poll() {
+        try {
+            this.workerMeasurements.clear();
+            this.getMeasurements(this.referencePose.get(), this.workerMeasurements);
+            for (VisionMeasurement measurement : this.workerMeasurements) {
+                this.sink.offer(measurement);
             }
+        } catch (Exception e) {
+            LOGGER.error("Failed to read camera `{}`", this.name, e);
         }
     }
 
     /**
-     * Get the robots position relative to the field (blue side)
+     * Get every robot pose seen since the last call, oldest first. Called by the worker once it's
+     * started, so only call it directly for cameras that haven't been started
      *
      * @param prevPosition The previous position of the robot
-     * @return Either an empty optional or the a {@link Pose3d} of the robot
+     * @param out The list to add a {@link VisionMeasurement} to for each usable frame
+     * @return The number of measurements added
      */
-    public Optional<Pose3d> getPoseFieldSpace(Pose3d prevPosition) {
+    public int getMeasurements(Pose3d prevPosition, List<VisionMeasurement> out) {
         switch (this.camType) {
             case PHOTONVISION -> {
-                assert this.photonPoseEstimator != null;
-                assert this.photonCamera != null;
-
-                PhotonPipelineResult res;
-                try {
-                    res = this.photonCamera.getAllUnreadResults().get(0);
-                    Transform3d worstTarget = res.getBestTarget().getBestCameraToTarget();
-                    this.targetPose =
-                            new Pose3d(worstTarget.getTranslation(), worstTarget.getRotation());
-                } catch (Exception e) {
-                    return Optional.empty();
-                }
-
-                if (!res.hasTargets()) return Optional.empty();
-
-                this.photonPoseEstimator.setReferencePose(prevPosition);
-                return photonPoseEstimator
-                        .update(res)
-                        .map(
-                                (e) -> {
-                                    this.photonTimestamp = e.timestampSeconds;
-                                    return e.estimatedPose;
-                                });
+                return getMeasurementsPhoton(prevPosition, out);
             }
             case LIMELIGHT -> {
-                return getPose3dLimelight();
+                return getMeasurementLimelight(out);
             }
         }
-        return Optional.empty();
+        return 0;
     }
 
-    private Optional<Pose3d> getPose3dLimelight() {
+    private int getMeasurementsPhoton(Pose3d prevPosition, List<VisionMeasurement> out) {
+        assert this.photonPoseEstimator != null;
+        assert this.photonCamera != null;
+
+        List<PhotonPipelineResult> results = this.photonCamera.getAllUnreadResults();
+        if (results.isEmpty()) return 0;
+        this.framesReceived.addAndGet(results.size());
+
+        boolean gated = this.gated;
+        if (gated) {
+            this.expectedTags =
+                    this.visibility.update(
+                            prevPosition.getX(),
+                            prevPosition.getY(),
+                            prevPosition.getRotation().getZ(),
+                            this.cutoffDistance + VisionConstants.VISIBILITY_DISTANCE_MARGIN);
+
+            // Nothing useful is in view, don't bother solving
+            if (this.expectedTags == 0) {
+                this.framesSkipped.addAndGet(results.size());
+                return 0;
+            }
+        }
+
+        results.sort(TIMESTAMP_ORDER);
+        this.photonPoseEstimator.setReferencePose(prevPosition);
+
+        int added = 0;
+        for (PhotonPipelineResult res : results) {
+            if (!res.hasTargets()) {
+                this.framesDropped.incrementAndGet();
+                continue;
+            }
+
+            if (gated && !this.isExpected(res.getTargets())) {
+                this.framesSkipped.incrementAndGet();
+                continue;
+            }
+
+            Transform3d bestTarget = res.getBestTarget().getBestCameraToTarget();
+            Pose3d resultTargetPose =
+                    new Pose3d(bestTarget.getTranslation(), bestTarget.getRotation());
+
+            Optional<EstimatedRobotPose> estimate = this.photonPoseEstimator.update(res);
+            if (estimate.isEmpty()) {
+                this.framesDropped.incrementAndGet();
+                continue;
+            }
+
+            this.targetPose = resultTargetPose;
+            this.photonTimestamp = estimate.get().timestampSeconds;
+            out.add(
+                    new VisionMeasurement(
+                            this.name,
+                            estimate.get().estimatedPose,
+                            this.photonTimestamp,
+                            resultTargetPose));
+            added++;
+        }
+
+        return added;
+    }
+
+    /**
+     * Check if the tags in a frame match the ones the camera should see. A single tag has to be
+     * expected, since that solve is easily thrown off, multi tag frames need at least one
+     */
+    private boolean isExpected(List<PhotonTrackedTarget> targets) {
+        if (targets.size() == 1) {
+            return this.visibility.isVisible(targets.get(0).getFiducialId());
+        }
+
+        for (PhotonTrackedTarget target : targets) {
+            if (this.visibility.isVisible(target.getFiducialId())) return true;
+        }
+        return false;
+    }
+
+    private int getMeasurementLimelight(List<VisionMeasurement> out) {
         assert this.limelightTable != null;
 
         double[] rawPose = this.limelightTable.getArrayEntry("botpose_wpiblue", new double[0]);
-        if (rawPose.length != 6) return Optional.empty();
+        if (rawPose.length != 6) return 0;
+
+        Pose3d pose =
+                new Pose3d(
+                                rawPose[0],
+                                rawPose[1],
+                                rawPose[2],
+                                new Rotation3d(0.0, 0.0, Math.toRadians(rawPose[5])))
+                        .transformBy(this.camOffset);
+        // Limelight results are polled from NT, so only new poses count as frames
+        if (pose.equals(this.lastLimelightPose)) return 0;
+
+        this.lastLimelightPose = pose;
+        this.framesReceived.incrementAndGet();
 
         double[] targetPoseRaw =
                 this.limelightTable.getArrayEntry("targetpose_cameraspace", new double[0]);
@@ -120,11 +280,13 @@ public class Camera {
             this.targetPose = cameraPose.transformBy(this.camOffset);
         }
 
-        return Optional.of(
-                new Pose3d(
-                                new Translation3d(rawPose[0], rawPose[1], rawPose[2]),
-                                new Rotation3d(0.0, 0.0, Math.toRadians(rawPose[5])))
-                        .transformBy(camOffset));
+        if (this.targetPose == null) {
+            this.framesDropped.incrementAndGet();
+            return 0;
+        }
+
+        out.add(new VisionMeasurement(this.name, pose, getTimestamp(), this.targetPose));
+        return 1;
     }
 
     /**
@@ -149,6 +311,43 @@ public class Camera {
         return 0;
     }
 
+    /**
+     * Get the number of frames read from the camera
+     *
+     * @return The number of frames
+     */
+    public long getFramesReceived() {
+        return this.framesReceived.get();
+    }
+
+    /**
+     * Get the number of frames that had no targets or no pose solution
+     *
+     * @return The number of frames
+     */
+    public long getFramesDropped() {
+        return this.framesDropped.get();
+    }
+
+    /**
+     * Get the number of frames skipped because they didn't contain a tag the camera should see
+     *
+     * @return The number of frames
+     */
+    public long getFramesSkipped() {
+        return this.framesSkipped.get();
+    }
+
+    /**
+     * Get the number of tags the camera should see from the last reference pose, only updated while
+     * gated
+     *
+     * @return The number of tags
+     */
+    public int getExpectedTags() {
+        return this.expectedTags;
+    }
+
     public void setEnabled(boolean e) {
         this.enabled = e;
     }
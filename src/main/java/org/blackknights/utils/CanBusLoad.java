@@ -0,0 +1,103 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.hal.can.CANStatus;
+import edu.wpi.first.wpilibj.RobotController;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Estimates how busy the CAN bus is from the {@link CanSignalProfile} of every device, and
+ * publishes it next to the utilization the roboRIO measures so the profiles can be checked
+ */
+public final class CanBusLoad {
+    private static CanBusLoad INSTANCE = null;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The bit rate of the FRC CAN bus */
+    public static final double BUS_BITS_PER_SECOND = 1_000_000.0;
+
+    /** An extended frame with 8 data bytes, plus about 10% for bit stuffing */
+    public static final double BITS_PER_FRAME = 144.0;
+
+    private final List<CanSignalProfile> devices = new ArrayList<>();
+    private double framesPerSecond = 0.0;
+
+    private final Telemetry.DoubleValue estimatedTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Estimated utilization %");
+    private final Telemetry.DoubleValue measuredTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Measured utilization %");
+    private final Telemetry.DoubleValue framesTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Estimated frames per second");
+    private final Telemetry.DoubleValue devicesTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Devices");
+    private final Telemetry.DoubleValue errorsTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Transmit errors");
+    private final Telemetry.DoubleValue writtenTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Setpoint writes");
+    private final Telemetry.DoubleValue skippedTelemetry =
+            Telemetry.doubleValue("debug/CAN", "Setpoint writes saved");
+
+    private CanBusLoad() {}
+
+    /**
+     * Get the instance of CanBusLoad, creating a new one if it doesn't exist
+     *
+     * @return The instance
+     */
+    public static synchronized CanBusLoad getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new CanBusLoad();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Add a device to the estimate, call once for every device configured with a profile
+     *
+     * @param profile The profile the device was configured with
+     */
+    public synchronized void register(CanSignalProfile profile) {
+        this.devices.add(profile);
+        this.framesPerSecond += profile.getFramesPerSecond();
+        LOGGER.debug(
+                "CAN device `{}` at {} frames/s, bus estimate now {}%",
+                profile.getName(),
+                profile.getFramesPerSecond(),
+                this.getEstimatedUtilization() * 100);
+    }
+
+    /**
+     * Get the estimated frames a second of every registered device
+     *
+     * @return The frames per second
+     */
+    public synchronized double getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+
+    /**
+     * Get the estimated bus utilization of every registered device
+     *
+     * @return The utilization, 0 to 1
+     */
+    public synchronized double getEstimatedUtilization() {
+        return this.framesPerSecond * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+    }
+
+    /** Publish the estimate, the measured utilization and the setpoint writes saved */
+    public void periodic() {
+        CANStatus status = RobotController.getCANStatus();
+
+        estimatedTelemetry.set(this.getEstimatedUtilization() * 100);
+        measuredTelemetry.set(status.percentBusUtilization * 100);
+        framesTelemetry.set(this.getFramesPerSecond());
+        devicesTelemetry.set(this.devices.size());
+        errorsTelemetry.set(status.transmitErrorCount);
+        writtenTelemetry.set(SetpointCache.getTotalWritten());
+        skippedTelemetry.set(SetpointCache.getTotalSkipped());
+    }
+}
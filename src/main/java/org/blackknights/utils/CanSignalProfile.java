@@ -0,0 +1,176 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+import com.revrobotics.spark.config.SparkBaseConfig;
+
+/**
+ * How often a motor controller sends each group of status signals. Signals the robot reads get a
+ * fast period, everything else is throttled so it doesn't use bus time. A period of 0 means the
+ * signal is never read, so it's sent as slowly as the device allows
+ */
+public final class CanSignalProfile {
+    /** The slowest period used for Spark signals nothing reads */
+    public static final int SPARK_SLOW_PERIOD_MS = 500;
+
+    /** The slowest period a Talon SRX status frame can have */
+    public static final int TALON_SLOW_PERIOD_MS = 255;
+
+    // Talon frames this robot never reads, always throttled
+    private static final StatusFrameEnhanced[] TALON_UNUSED_FRAMES = {
+        StatusFrameEnhanced.Status_3_Quadrature,
+        StatusFrameEnhanced.Status_8_PulseWidth,
+        StatusFrameEnhanced.Status_10_Targets,
+        StatusFrameEnhanced.Status_12_Feedback1,
+        StatusFrameEnhanced.Status_13_Base_PIDF0,
+        StatusFrameEnhanced.Status_14_Turn_PIDF1
+    };
+
+    private final String name;
+    private final Device device;
+    private final int outputPeriodMs;
+    private final int faultsPeriodMs;
+    private final int primaryEncoderPeriodMs;
+    private final int absoluteEncoderPeriodMs;
+    private final double controlHz;
+
+    /**
+     * Create a new signal profile
+     *
+     * @param name A name for the device, for logging
+     * @param device The kind of motor controller
+     * @param outputPeriodMs Applied output, bus voltage, current and temperature
+     * @param faultsPeriodMs Faults and warnings
+     * @param primaryEncoderPeriodMs The position and velocity of the built in (or quadrature)
+     *     encoder
+     * @param absoluteEncoderPeriodMs The position and velocity of the absolute encoder, Spark only
+     * @param controlHz How often the robot sends the device a setpoint
+     */
+    public CanSignalProfile(
+            String name,
+            Device device,
+            int outputPeriodMs,
+            int faultsPeriodMs,
+            int primaryEncoderPeriodMs,
+            int absoluteEncoderPeriodMs,
+            double controlHz) {
+        this.name = name;
+        this.device = device;
+        this.outputPeriodMs = outputPeriodMs;
+        this.faultsPeriodMs = faultsPeriodMs;
+        this.primaryEncoderPeriodMs = primaryEncoderPeriodMs;
+        this.absoluteEncoderPeriodMs = absoluteEncoderPeriodMs;
+        this.controlHz = controlHz;
+    }
+
+    /**
+     * Set the signal periods on a Spark config, apply it with the rest of the config
+     *
+     * @param config The config of the Spark
+     */
+    public void apply(SparkBaseConfig config) {
+        int output = sparkPeriod(this.outputPeriodMs);
+        int faults = sparkPeriod(this.faultsPeriodMs);
+        int primary = sparkPeriod(this.primaryEncoderPeriodMs);
+        int absolute = sparkPeriod(this.absoluteEncoderPeriodMs);
+
+        config.signals
+                .appliedOutputPeriodMs(output)
+                .busVoltagePeriodMs(output)
+                .outputCurrentPeriodMs(output)
+                .motorTemperaturePeriodMs(output)
+                .limitsPeriodMs(output)
+                .faultsPeriodMs(faults)
+                .warningsPeriodMs(faults)
+                .primaryEncoderPositionPeriodMs(primary)
+                .primaryEncoderVelocityPeriodMs(primary)
+                .absoluteEncoderPositionPeriodMs(absolute)
+                .absoluteEncoderVelocityPeriodMs(absolute)
+                .analogVoltagePeriodMs(SPARK_SLOW_PERIOD_MS)
+                .analogPositionPeriodMs(SPARK_SLOW_PERIOD_MS)
+                .analogVelocityPeriodMs(SPARK_SLOW_PERIOD_MS)
+                .externalOrAltEncoderPosition(SPARK_SLOW_PERIOD_MS)
+                .externalOrAltEncoderVelocity(SPARK_SLOW_PERIOD_MS)
+                .iAccumulationPeriodMs(SPARK_SLOW_PERIOD_MS);
+    }
+
+    /**
+     * Set the status frame periods on a Talon SRX
+     *
+     * @param talon The Talon
+     */
+    public void apply(TalonSRX talon) {
+        talon.setStatusFramePeriod(
+                StatusFrameEnhanced.Status_1_General, talonPeriod(this.outputPeriodMs));
+        talon.setStatusFramePeriod(
+                StatusFrameEnhanced.Status_2_Feedback0, talonPeriod(this.primaryEncoderPeriodMs));
+        talon.setStatusFramePeriod(
+                StatusFrameEnhanced.Status_4_AinTempVbat, talonPeriod(this.faultsPeriodMs));
+        for (StatusFrameEnhanced frame : TALON_UNUSED_FRAMES) {
+            talon.setStatusFramePeriod(frame, TALON_SLOW_PERIOD_MS);
+        }
+    }
+
+    /**
+     * Estimate how many frames a second the device puts on the bus with this profile, including the
+     * setpoints sent to it
+     *
+     * @return The frames per second
+     */
+    public double getFramesPerSecond() {
+        double frames = this.controlHz;
+        switch (this.device) {
+            case SPARK -> {
+                // Sparks only send encoder signals something uses
+                frames += 1000.0 / sparkPeriod(this.outputPeriodMs);
+                frames += 1000.0 / sparkPeriod(this.faultsPeriodMs);
+                if (this.primaryEncoderPeriodMs > 0) {
+                    frames += 1000.0 / this.primaryEncoderPeriodMs;
+                }
+                if (this.absoluteEncoderPeriodMs > 0) {
+                    frames += 1000.0 / this.absoluteEncoderPeriodMs;
+                }
+            }
+            case TALON_SRX -> {
+                // Talons send every frame whether anything reads it or not
+                frames += 1000.0 / talonPeriod(this.outputPeriodMs);
+                frames += 1000.0 / talonPeriod(this.primaryEncoderPeriodMs);
+                frames += 1000.0 / talonPeriod(this.faultsPeriodMs);
+                frames += TALON_UNUSED_FRAMES.length * 1000.0 / TALON_SLOW_PERIOD_MS;
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Get the name of the device
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the kind of motor controller
+     *
+     * @return The {@link Device}
+     */
+    public Device getDevice() {
+        return this.device;
+    }
+
+    private static int sparkPeriod(int periodMs) {
+        return periodMs > 0 ? periodMs : SPARK_SLOW_PERIOD_MS;
+    }
+
+    private static int talonPeriod(int periodMs) {
+        return periodMs > 0 ? Math.min(periodMs, TALON_SLOW_PERIOD_MS) : TALON_SLOW_PERIOD_MS;
+    }
+
+    public enum Device {
+        SPARK,
+        TALON_SRX
+    }
+}
@@ -0,0 +1,262 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded history of changes to the {@link ConfigManager}. Each revision only stores the keys
+ * that changed with their old and new values, so the config at any revision is rebuilt by walking
+ * the deltas
+ *
+ * <p>Revision <code>n</code> means "the config after change n was applied". Revision 0 is the
+ * config as it was loaded at boot, and is reachable until the oldest change falls out of the
+ * history
+ */
+public class ConfigHistory {
+    private final int capacity;
+    private final ArrayDeque<Revision> revisions;
+    private long nextId = 1;
+
+    /**
+     * Create a new config history
+     *
+     * @param capacity The max number of revisions to keep
+     */
+    public ConfigHistory(int capacity) {
+        this.capacity = capacity;
+        this.revisions = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Record a change to one key
+     *
+     * @param key The key that changed
+     * @param oldValue The value before the change (null if the key did not exist)
+     * @param newValue The value after the change
+     * @return The id of the new revision, or the latest id if nothing changed
+     */
+    public long record(String key, Object oldValue, Object newValue) {
+        return this.record(new String[] {key}, new Object[] {oldValue}, new Object[] {newValue});
+    }
+
+    /**
+     * Record a change to several keys as one revision
+     *
+     * @param keys The keys that changed
+     * @param oldValues The values before the change (null if the key did not exist)
+     * @param newValues The values after the change
+     * @return The id of the new revision, or the latest id if nothing changed
+     */
+    public synchronized long record(String[] keys, Object[] oldValues, Object[] newValues) {
+        boolean changed = false;
+        for (int i = 0; i < keys.length; i++) {
+            changed |= !Objects.equals(oldValues[i], newValues[i]);
+        }
+        if (!changed) return this.getLatestId();
+
+        if (this.revisions.size() >= this.capacity) this.revisions.removeFirst();
+
+        Revision revision =
+                new Revision(this.nextId++, System.currentTimeMillis(), keys, oldValues, newValues);
+        this.revisions.addLast(revision);
+        return revision.getId();
+    }
+
+    /**
+     * Get the id of the latest revision
+     *
+     * @return The latest revision id, 0 if nothing has changed since boot
+     */
+    public synchronized long getLatestId() {
+        return this.nextId - 1;
+    }
+
+    /**
+     * Get the id of the oldest revision that can still be diffed or rolled back to
+     *
+     * @return The oldest reachable revision id
+     */
+    public synchronized long getOldestId() {
+        if (this.revisions.isEmpty()) return this.getLatestId();
+        return this.revisions.getFirst().getId() - 1;
+    }
+
+    /**
+     * Get every revision in the history
+     *
+     * @return The revisions, oldest first
+     */
+    public synchronized List<Revision> getRevisions() {
+        return new ArrayList<>(this.revisions);
+    }
+
+    /**
+     * Get the keys that are different between two revisions
+     *
+     * @param fromId The revision to diff from
+     * @param toId The revision to diff to
+     * @return A map of key to <code>{value at fromId, value at toId}</code>, in the order the keys
+     *     were first changed
+     * @throws IllegalArgumentException If either revision is no longer in the history
+     */
+    public synchronized Map<String, Object[]> diff(long fromId, long toId) {
+        this.checkReachable(fromId);
+        this.checkReachable(toId);
+
+        long low = Math.min(fromId, toId);
+        long high = Math.max(fromId, toId);
+        boolean reversed = fromId > toId;
+
+        Map<String, Object[]> diff = new LinkedHashMap<>();
+        for (Revision revision : this.revisions) {
+            if (revision.getId() <= low || revision.getId() > high) continue;
+
+            for (int i = 0; i < revision.keys.length; i++) {
+                Object[] values = diff.get(revision.keys[i]);
+                if (values == null) {
+                    values = new Object[] {revision.oldValues[i], null};
+                    diff.put(revision.keys[i], values);
+                }
+                values[1] = revision.newValues[i];
+            }
+        }
+
+        Iterator<Object[]> it = diff.values().iterator();
+        while (it.hasNext()) {
+            Object[] values = it.next();
+            if (Objects.equals(values[0], values[1])) {
+                it.remove();
+            } else if (reversed) {
+                Object temp = values[0];
+                values[0] = values[1];
+                values[1] = temp;
+            }
+        }
+
+        return diff;
+    }
+
+    /**
+     * Get the values needed to put the config back to how it was at a revision. Keys that did not
+     * exist at that revision are left out since they can't be removed from network tables
+     *
+     * @param toId The revision to roll back to
+     * @return A map of key to the value it had at that revision
+     * @throws IllegalArgumentException If the revision is no longer in the history
+     */
+    public synchronized Map<String, Object> rollbackValues(long toId) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object[]> entry : this.diff(this.getLatestId(), toId).entrySet()) {
+            if (entry.getValue()[1] != null) values.put(entry.getKey(), entry.getValue()[1]);
+        }
+
+        return values;
+    }
+
+    /**
+     * Make sure a revision can still be rebuilt
+     *
+     * @param id The revision id
+     */
+    private void checkReachable(long id) {
+        if (id < this.getOldestId() || id > this.getLatestId()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Revision %d is not in the history (%d to %d)",
+                            id, this.getOldestId(), this.getLatestId()));
+        }
+    }
+
+    /** One change to the config */
+    public static class Revision {
+        private final long id;
+        private final long timestamp;
+        private final String[] keys;
+        private final Object[] oldValues;
+        private final Object[] newValues;
+
+        /**
+         * Create a new revision
+         *
+         * @param id The revision id
+         * @param timestamp The time of the change in milliseconds since the epoch
+         * @param keys The keys that changed
+         * @param oldValues The values before the change
+         * @param newValues The values after the change
+         */
+        private Revision(
+                long id, long timestamp, String[] keys, Object[] oldValues, Object[] newValues) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.keys = keys;
+            this.oldValues = oldValues;
+            this.newValues = newValues;
+        }
+
+        /**
+         * Get the revision id
+         *
+         * @return The id
+         */
+        public long getId() {
+            return this.id;
+        }
+
+        /**
+         * Get when the change happened
+         *
+         * @return The time in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        /**
+         * Get the keys that changed
+         *
+         * @return The keys
+         */
+        public List<String> getKeys() {
+            return Arrays.asList(this.keys);
+        }
+
+        /**
+         * Get the value of a key before the change
+         *
+         * @param index The index of the key in {@link #getKeys()}
+         * @return The old value (null if the key did not exist)
+         */
+        public Object getOldValue(int index) {
+            return this.oldValues[index];
+        }
+
+        /**
+         * Get the value of a key after the change
+         *
+         * @param index The index of the key in {@link #getKeys()}
+         * @return The new value
+         */
+        public Object getNewValue(int index) {
+            return this.newValues[index];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(this.id).append(" @ ").append(this.timestamp).append(':');
+            for (int i = 0; i < this.keys.length; i++) {
+                builder.append(i == 0 ? " " : ", ").append(this.keys[i]).append(' ');
+                builder.append(this.oldValues[i]).append(" -> ").append(this.newValues[i]);
+            }
+
+            return builder.toString();
+        }
+    }
+}
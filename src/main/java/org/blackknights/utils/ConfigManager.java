@@ -5,11 +5,17 @@ import edu.wpi.first.networktables.NetworkTableEvent;
 import edu.wpi.first.wpilibj.Filesystem;
 import java.io.*;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 /**
@@ -19,15 +25,42 @@ import org.json.simple.parser.ParseException;
  * <p><strong>NOTE:</strong> These values are stored on the RoboRIO, if you switch rios the values
  * WILL NOT BE THE SAME and you will have to either: Renter them, or copy the file from the other
  * rio
+ *
+ * <p>By default the values are saved by rewriting the whole json file. Setting the <code>
+ * org.blackknights.configStore</code> system property to <code>journal</code> uses a {@link
+ * JournalConfigStore} instead, which only appends the values that changed
+ *
+ * <p>Every change is also kept in a {@link ConfigHistory}, which is published to the <code>
+ * TuneHistory</code> table. Setting <code>Diff from</code> and <code>Diff to</code> there shows the
+ * changes between two revisions, and setting <code>Rollback to</code> puts every value back to how
+ * it was at that revision
  */
 public class ConfigManager {
     private static ConfigManager INSTANCE = null;
 
-    private final File configFile;
+    private static final long FLUSH_PERIOD_MS = 250;
+    private static final int JOURNAL_COMPACT_THRESHOLD = 500;
+    private static final int HISTORY_SIZE = 256;
+    private static final long HISTORY_PUBLISH_PERIOD_MS = 1000;
+
+    private final ConfigStore store;
+    private final ConfigWriter writer;
 
     private JSONObject json;
 
     private final NetworkTablesUtils NTTune = NetworkTablesUtils.getTable("Tune");
+    private final NetworkTablesUtils NTHistory = NetworkTablesUtils.getTable("TuneHistory");
+
+    private final ConfigHistory history = new ConfigHistory(HISTORY_SIZE);
+    private final AtomicLong pendingRollback = new AtomicLong(-1);
+    private volatile boolean historyChanged = true;
+    private long lastHistoryPublish = 0;
+
+    private final Map<String, TunableDouble> doubleKeys = new ConcurrentHashMap<>();
+    private final Map<String, TunableBoolean> booleanKeys = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<String> changedKeys = new ConcurrentLinkedQueue<>();
+    private final List<ChangeListener> changeListeners = new ArrayList<>();
 
     private static final Logger LOGGER = LogManager.getLogger();
 
@@ -56,21 +89,24 @@ public class ConfigManager {
 
     /** Util class to allow for good network table tuning */
     private ConfigManager(File configFile) {
-        this.configFile = configFile;
-        try {
-            if (configFile.createNewFile() || configFile.length() == 0) {
-                LOGGER.info("Created config file");
-                this.json = this.getDefault();
-                this.saveConfig();
-            }
-        } catch (IOException e) {
+        this.store =
+                "journal".equals(System.getProperty("org.blackknights.configStore"))
+                        ? new JournalConfigStore(
+                                configFile,
+                                new File(configFile.getPath() + ".journal"),
+                                JOURNAL_COMPACT_THRESHOLD)
+                        : new JsonConfigStore(configFile);
 
-            LOGGER.warn("Failed to create config file", e);
+        this.parseConfig();
+        this.writer = new ConfigWriter(this.store, this::snapshot, FLUSH_PERIOD_MS);
+        if (!configFile.exists()) {
+            LOGGER.info("Created config file");
+            this.writer.flush();
         }
 
-        this.parseConfig();
         this.initNtValues();
         this.initListener();
+        this.initHistoryListener();
     }
 
     /** Initialize the network table values */
@@ -89,10 +125,35 @@ public class ConfigManager {
                 (EnumSet.of(NetworkTableEvent.Kind.kValueRemote)),
                 (table, key1, event) -> {
                     Object value = table.getValue(key1).getValue();
-                    this.json.put(key1, value);
+                    synchronized (this) {
+                        this.history.record(key1, this.json.put(key1, value), value);
+                    }
+                    this.historyChanged = true;
+                    this.changedKeys.add(key1);
                     LOGGER.info("Updated [{}] to `{}`", key1, value.toString());
 
-                    this.saveConfig();
+                    this.writer.requestSave(key1);
+                });
+    }
+
+    /** Add a listener to network tables for diff and rollback requests */
+    private void initHistoryListener() {
+        NTHistory.setEntry("Diff from", 0.0);
+        NTHistory.setEntry("Diff to", 0.0);
+        NTHistory.setArrayEntry("Diff", new String[0]);
+        NTHistory.setEntry("Rollback to", -1.0);
+
+        NTHistory.addListener(
+                (EnumSet.of(NetworkTableEvent.Kind.kValueRemote)),
+                (table, key1, event) -> {
+                    if (key1.equals("Rollback to")) {
+                        long id = (long) NTHistory.getEntry(key1, -1.0);
+                        if (id >= 0) this.pendingRollback.set(id);
+                    } else if (key1.equals("Diff from") || key1.equals("Diff to")) {
+                        this.publishDiff(
+                                (long) NTHistory.getEntry("Diff from", 0.0),
+                                (long) NTHistory.getEntry("Diff to", 0.0));
+                    }
                 });
     }
 
@@ -157,6 +218,191 @@ public class ConfigManager {
         return getBoolean(key, defaultValue);
     }
 
+    /**
+     * Get a handle to a double value in the config. The handle is registered once and updated
+     * whenever the value changes, so it is safe (and cheap) to read every loop. Robot code should
+     * use the handles declared in {@link org.blackknights.constants.TuningKeys} instead of calling
+     * this with a string
+     *
+     * @param key The key in the json
+     * @param defaultValue A default value in case we fail to get the key
+     * @return A {@link TunableDouble} for the key
+     */
+    public synchronized TunableDouble doubleKey(String key, double defaultValue) {
+        TunableDouble handle = this.doubleKeys.get(key);
+        if (handle == null) {
+            handle = new TunableDouble(key, this.get(key, defaultValue));
+            this.doubleKeys.put(key, handle);
+        }
+
+        return handle;
+    }
+
+    /**
+     * Get a handle to a boolean value in the config. The handle is registered once and updated
+     * whenever the value changes, so it is safe (and cheap) to read every loop. Robot code should
+     * use the handles declared in {@link org.blackknights.constants.TuningKeys} instead of calling
+     * this with a string
+     *
+     * @param key The key in the json
+     * @param defaultValue A default value in case we fail to get the key
+     * @return A {@link TunableBoolean} for the key
+     */
+    public synchronized TunableBoolean booleanKey(String key, boolean defaultValue) {
+        TunableBoolean handle = this.booleanKeys.get(key);
+        if (handle == null) {
+            handle = new TunableBoolean(key, this.get(key, defaultValue));
+            this.booleanKeys.put(key, handle);
+        }
+
+        return handle;
+    }
+
+    /**
+     * Register a listener that runs when a value changes. Listeners are run on the main thread from
+     * {@link #dispatchChanges()}, and only once per loop even if several matching keys changed.
+     * This should only be called from the main thread
+     *
+     * @param pattern Either an exact key, or a prefix ending in <code>*</code> (Ex: elevator_*)
+     * @param listener The function to run when a matching key changes
+     */
+    public void onChange(String pattern, Runnable listener) {
+        this.changeListeners.add(new ChangeListener(pattern, listener));
+    }
+
+    /**
+     * Copy every value that changed since the last call into its handle, then run the change
+     * listeners. Call this once per loop from the main thread before anything uses the tuning
+     * values
+     */
+    public void dispatchChanges() {
+        long rollbackId = this.pendingRollback.getAndSet(-1);
+        if (rollbackId >= 0) {
+            this.rollback(rollbackId);
+            NTHistory.setEntry("Rollback to", -1.0);
+        }
+
+        String key;
+        while ((key = this.changedKeys.poll()) != null) {
+            Object value;
+            synchronized (this) {
+                value = this.json.get(key);
+            }
+            if (value != null) this.updateHandles(key, value);
+
+            for (ChangeListener listener : this.changeListeners) {
+                if (listener.matches(key)) listener.pending = true;
+            }
+        }
+
+        for (ChangeListener listener : this.changeListeners) {
+            if (listener.pending) {
+                listener.pending = false;
+                listener.callback.run();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (this.historyChanged && now - this.lastHistoryPublish >= HISTORY_PUBLISH_PERIOD_MS) {
+            this.historyChanged = false;
+            this.lastHistoryPublish = now;
+            this.publishHistory();
+        }
+    }
+
+    /**
+     * Put every value back to how it was at a revision. All the values are changed at once and
+     * saved with a single write, and the rollback is recorded as a new revision so it can be
+     * undone. This should only be called from the main thread
+     *
+     * @param revisionId The revision to roll back to
+     */
+    public void rollback(long revisionId) {
+        Map<String, Object> values;
+        try {
+            values = this.history.rollbackValues(revisionId);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Failed to roll back config", e);
+            return;
+        }
+
+        LOGGER.info("Rolling back {} values to revision {}", values.size(), revisionId);
+        this.setAll(values);
+    }
+
+    /**
+     * Get the history of changes to the config
+     *
+     * @return The {@link ConfigHistory}
+     */
+    public ConfigHistory getHistory() {
+        return this.history;
+    }
+
+    /** Publish the list of revisions to network tables */
+    private void publishHistory() {
+        List<ConfigHistory.Revision> revisions = this.history.getRevisions();
+        String[] lines = new String[revisions.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = revisions.get(lines.length - 1 - i).toString();
+        }
+
+        NTHistory.setArrayEntry("Revisions", lines);
+        NTHistory.setEntry("Latest revision", (double) this.history.getLatestId());
+        NTHistory.setEntry("Oldest revision", (double) this.history.getOldestId());
+    }
+
+    /**
+     * Publish the changes between two revisions to network tables
+     *
+     * @param fromId The revision to diff from
+     * @param toId The revision to diff to
+     */
+    private void publishDiff(long fromId, long toId) {
+        String[] lines;
+        try {
+            Map<String, Object[]> diff = this.history.diff(fromId, toId);
+            lines = new String[diff.size()];
+            int i = 0;
+            for (Map.Entry<String, Object[]> entry : diff.entrySet()) {
+                lines[i++] =
+                        String.format(
+                                "%s: %s -> %s",
+                                entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            lines = new String[] {e.getMessage()};
+        }
+
+        NTHistory.setArrayEntry("Diff", lines);
+    }
+
+    /**
+     * Update any registered handles for a key with a new value
+     *
+     * @param key The key in the json
+     * @param value The new value
+     */
+    private void updateHandles(String key, Object value) {
+        TunableDouble doubleHandle = this.doubleKeys.get(key);
+        if (doubleHandle != null) {
+            try {
+                doubleHandle.set(Double.parseDouble(value.toString()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Failed to get {} as a double", key, e);
+            }
+        }
+
+        TunableBoolean booleanHandle = this.booleanKeys.get(key);
+        if (booleanHandle != null) {
+            if (value instanceof Boolean) {
+                booleanHandle.set((Boolean) value);
+            } else {
+                LOGGER.warn("Failed to get {} as a boolean", key);
+            }
+        }
+    }
+
     /**
      * Get a double from the config
      *
@@ -218,35 +464,75 @@ public class ConfigManager {
     }
 
     /**
-     * Set a value
+     * Set a value. This should only be called from the main thread
      *
      * @param key The key for the json file
      * @param value The value to set
      */
     @SuppressWarnings("unchecked")
     public <T> void set(String key, T value) {
-        this.json.put(key, value);
-        this.saveConfig();
+        synchronized (this) {
+            this.history.record(key, this.json.put(key, value), value);
+        }
+        this.historyChanged = true;
+        this.updateHandles(key, value);
+        this.changedKeys.add(key);
+        this.writer.requestSave(key);
     }
 
-    /** Save the config to the config file location */
-    public synchronized void saveConfig() {
-        try (PrintWriter printWriter = new PrintWriter(this.configFile)) {
-            printWriter.println(this.json.toJSONString());
-            printWriter.flush();
-        } catch (FileNotFoundException e) {
-            LOGGER.warn("Failed to save file: {}", configFile, e);
+    /**
+     * Set several values at once. They are recorded as one revision and saved with a single write
+     *
+     * @param values A map of key to the new value
+     */
+    @SuppressWarnings("unchecked")
+    public void setAll(Map<String, ?> values) {
+        String[] keys = values.keySet().toArray(new String[0]);
+        Object[] oldValues = new Object[keys.length];
+        Object[] newValues = new Object[keys.length];
+
+        synchronized (this) {
+            for (int i = 0; i < keys.length; i++) {
+                newValues[i] = values.get(keys[i]);
+                oldValues[i] = this.json.put(keys[i], newValues[i]);
+            }
+            this.history.record(keys, oldValues, newValues);
         }
+        this.historyChanged = true;
+
+        for (int i = 0; i < keys.length; i++) {
+            this.NTTune.getNetworkTable().getEntry(keys[i]).setValue(newValues[i]);
+            this.updateHandles(keys[i], newValues[i]);
+            this.changedKeys.add(keys[i]);
+        }
+        this.writer.requestSave(values.keySet());
     }
 
-    /** Parse the config file */
+    /**
+     * Save the config to the config file location. This does not block, the file is written by a
+     * {@link ConfigWriter} on a background thread
+     */
+    public void saveConfig() {
+        this.writer.requestSave(ConfigStore.ALL_KEYS);
+    }
+
+    /**
+     * Copy the config, called by the {@link ConfigWriter} thread
+     *
+     * @return A copy of every value
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized Map<String, Object> snapshot() {
+        return new HashMap<String, Object>(this.json);
+    }
+
+    /** Load the config from the store */
     private void parseConfig() {
-        JSONParser parser = new JSONParser();
         try {
-            Object obj = parser.parse(new FileReader(this.configFile));
-            this.json = (JSONObject) obj;
-        } catch (IOException | ParseException | ClassCastException e) {
+            this.json = this.store.load();
+        } catch (IOException | ParseException e) {
             LOGGER.error("An error occurred while parsing the config file", e);
+            this.json = this.getDefault();
         }
     }
 
@@ -264,4 +550,34 @@ public class ConfigManager {
             this.json.put(key, defaultValue);
         }
     }
+
+    /** A listener registered with {@link #onChange(String, Runnable)} */
+    private static class ChangeListener {
+        private final String pattern;
+        private final boolean isPrefix;
+        private final Runnable callback;
+        private boolean pending = false;
+
+        /**
+         * Create a new change listener
+         *
+         * @param pattern Either an exact key, or a prefix ending in <code>*</code>
+         * @param callback The function to run when a matching key changes
+         */
+        private ChangeListener(String pattern, Runnable callback) {
+            this.isPrefix = pattern.endsWith("*");
+            this.pattern = this.isPrefix ? pattern.substring(0, pattern.length() - 1) : pattern;
+            this.callback = callback;
+        }
+
+        /**
+         * Check if a key matches this listener
+         *
+         * @param key The key that changed
+         * @return If the listener should run
+         */
+        private boolean matches(String key) {
+            return this.isPrefix ? key.startsWith(this.pattern) : key.equals(this.pattern);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+/** Where {@link ConfigManager} loads its values from and saves them to */
+public interface ConfigStore {
+    /** The key passed to {@link #save(Set, Map)} when every value should be written */
+    String ALL_KEYS = "*";
+
+    /**
+     * Load every saved value
+     *
+     * @return The saved values, empty if nothing has been saved yet
+     * @throws IOException If the store could not be read
+     * @throws ParseException If the store is corrupt
+     */
+    JSONObject load() throws IOException, ParseException;
+
+    /**
+     * Save values to disk, called from the {@link ConfigWriter} thread
+     *
+     * @param changedKeys The keys that changed since the last save (may contain {@link #ALL_KEYS})
+     * @param values A snapshot of every value in the config
+     * @throws IOException If the values could not be written
+     */
+    void save(Set<String> changedKeys, Map<String, Object> values) throws IOException;
+}
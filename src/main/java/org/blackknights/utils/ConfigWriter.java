@@ -0,0 +1,227 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Saves the {@link ConfigManager} values to a {@link ConfigStore} on a background thread. Save
+ * requests are put on a bounded queue and coalesced so a burst of changes (like dragging a slider
+ * on the dashboard) only writes to disk once every flush period.
+ */
+public class ConfigWriter {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int QUEUE_SIZE = 64;
+
+    private final ConfigStore store;
+    private final Supplier<Map<String, Object>> snapshotSupplier;
+    private final long flushPeriodMs;
+
+    private final BlockingQueue<String> pendingKeys = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Set<String> batch = new LinkedHashSet<>(QUEUE_SIZE);
+    private int batchRequests = 0;
+
+    private final NetworkTablesUtils NTDebug = NetworkTablesUtils.getTable("debug/ConfigManager");
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong droppedRequests = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicBoolean saveAll = new AtomicBoolean();
+    private volatile double lastFlushMs = 0.0;
+    private volatile double maxFlushMs = 0.0;
+
+    private volatile long lastFlushTime = 0;
+
+    /**
+     * Create a new config writer and start the background thread
+     *
+     * @param store The store to save to
+     * @param snapshotSupplier Returns a copy of every value, called from the writer thread
+     * @param flushPeriodMs The minimum time between writes in milliseconds
+     */
+    public ConfigWriter(
+            ConfigStore store, Supplier<Map<String, Object>> snapshotSupplier, long flushPeriodMs) {
+        this(store, snapshotSupplier, flushPeriodMs, true);
+    }
+
+    /**
+     * Create a new config writer, tests leave the thread stopped and call {@link #flushPending()}
+     *
+     * @param store The store to save to
+     * @param snapshotSupplier Returns a copy of every value
+     * @param flushPeriodMs The minimum time between writes in milliseconds
+     * @param startThread Whether to start the background thread
+     */
+    ConfigWriter(
+            ConfigStore store,
+            Supplier<Map<String, Object>> snapshotSupplier,
+            long flushPeriodMs,
+            boolean startThread) {
+        this.store = store;
+        this.snapshotSupplier = snapshotSupplier;
+        this.flushPeriodMs = flushPeriodMs;
+
+        if (!startThread) return;
+
+        Thread thread = new Thread(this::run, "ConfigWriter");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "ConfigWriter-shutdown"));
+    }
+
+    /**
+     * Ask for the config to be saved, never blocks. If the queue is full a flush is already
+     * pending, so the request is counted and dropped and that flush saves every key instead
+     *
+     * @param key The key that changed, or {@link ConfigStore#ALL_KEYS} to save everything
+     */
+    public void requestSave(String key) {
+        if (!this.pendingKeys.offer(key)) {
+            this.saveAll.set(true);
+            this.droppedRequests.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ask for several changed keys to be saved together, never blocks
+     *
+     * @param keys The keys that changed
+     */
+    public void requestSave(Collection<String> keys) {
+        for (String key : keys) this.requestSave(key);
+    }
+
+    /**
+     * Background loop, waits for a request then flushes at most once per flush period. A batch that
+     * failed to save is kept and retried after the flush period, with any new keys added
+     */
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                String first =
+                        this.batch.isEmpty()
+                                ? this.pendingKeys.take()
+                                : this.pendingKeys.poll(this.flushPeriodMs, TimeUnit.MILLISECONDS);
+                if (first != null) this.addToBatch(first);
+
+                long wait = this.lastFlushTime + this.flushPeriodMs - System.currentTimeMillis();
+                if (wait > 0) Thread.sleep(wait);
+
+                this.flushPending();
+                this.publishMetrics();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Add every queued request to the batch and write it, only called from the writer thread. A
+     * batch that fails to save is kept for the next call
+     *
+     * @return Whether the batch was saved
+     */
+    boolean flushPending() {
+        String key;
+        while ((key = this.pendingKeys.poll()) != null) this.addToBatch(key);
+        if (this.saveAll.getAndSet(false)) this.batch.add(ConfigStore.ALL_KEYS);
+        this.coalescedWrites.addAndGet(Math.max(0, this.batchRequests - 1));
+        this.batchRequests = 0;
+
+        if (!this.flush(this.batch)) return false;
+        this.batch.clear();
+        return true;
+    }
+
+    /**
+     * Add a requested key to the current batch
+     *
+     * @param key The key that changed
+     */
+    private void addToBatch(String key) {
+        this.batch.add(key);
+        this.batchRequests++;
+    }
+
+    /** Write every value to disk right now (blocking) */
+    public void flush() {
+        this.flush(Collections.singleton(ConfigStore.ALL_KEYS));
+    }
+
+    /**
+     * Write the changed keys to disk right now (blocking)
+     *
+     * @param changedKeys The keys that changed since the last flush
+     * @return Whether the keys were saved, if not they still need to be
+     */
+    private synchronized boolean flush(Set<String> changedKeys) {
+        long start = System.nanoTime();
+
+        try {
+            this.store.save(changedKeys, this.snapshotSupplier.get());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save config, retrying {} keys later", changedKeys.size(), e);
+            this.failedFlushes.incrementAndGet();
+            return false;
+        }
+
+        this.lastFlushTime = System.currentTimeMillis();
+        this.lastFlushMs = (System.nanoTime() - start) / 1e6;
+        this.maxFlushMs = Math.max(this.maxFlushMs, this.lastFlushMs);
+        this.flushCount.incrementAndGet();
+        return true;
+    }
+
+    /** Publish the flush metrics to network tables */
+    private void publishMetrics() {
+        NTDebug.setEntry("Flush latency ms", this.lastFlushMs);
+        NTDebug.setEntry("Max flush latency ms", this.maxFlushMs);
+        NTDebug.setEntry("Flushes", this.flushCount.get());
+        NTDebug.setEntry("Coalesced writes", this.coalescedWrites.get());
+        NTDebug.setEntry("Dropped requests", this.droppedRequests.get());
+        NTDebug.setEntry("Failed flushes", this.failedFlushes.get());
+    }
+
+    /**
+     * Get the time the last flush took
+     *
+     * @return The latency of the last flush in milliseconds
+     */
+    public double getLastFlushMs() {
+        return this.lastFlushMs;
+    }
+
+    /**
+     * Get the number of times the config has been written
+     *
+     * @return The number of flushes
+     */
+    public long getFlushCount() {
+        return this.flushCount.get();
+    }
+
+    /**
+     * Get the number of save requests that were merged into another write
+     *
+     * @return The number of coalesced writes
+     */
+    public long getCoalescedWrites() {
+        return this.coalescedWrites.get();
+    }
+}
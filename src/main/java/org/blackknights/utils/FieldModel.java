@@ -0,0 +1,190 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.blackknights.constants.VisionConstants;
+
+/**
+ * The april tag layout of the field, loaded once and shared by everything that needs it. Tag poses
+ * are precomputed into arrays indexed by tag id, so looking one up never allocates
+ */
+public final class FieldModel {
+    private static FieldModel INSTANCE = null;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final AprilTagFieldLayout layout;
+
+    private final boolean[] present;
+    private final Pose3d[] poses3d;
+    private final Pose2d[] poses2d;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final double[] yaws;
+    private final double[] normalXs;
+    private final double[] normalYs;
+
+    private FieldModel(AprilTagFieldLayout layout) {
+        this.layout = layout;
+
+        List<AprilTag> tags = layout.getTags();
+        int maxId = 0;
+        for (AprilTag tag : tags) {
+            maxId = Math.max(maxId, tag.ID);
+        }
+
+        this.present = new boolean[maxId + 1];
+        this.poses3d = new Pose3d[maxId + 1];
+        this.poses2d = new Pose2d[maxId + 1];
+        this.xs = new double[maxId + 1];
+        this.ys = new double[maxId + 1];
+        this.zs = new double[maxId + 1];
+        this.yaws = new double[maxId + 1];
+        this.normalXs = new double[maxId + 1];
+        this.normalYs = new double[maxId + 1];
+
+        for (AprilTag tag : tags) {
+            int id = tag.ID;
+            this.present[id] = true;
+            this.poses3d[id] = tag.pose;
+            this.poses2d[id] = tag.pose.toPose2d();
+            this.xs[id] = tag.pose.getX();
+            this.ys[id] = tag.pose.getY();
+            this.zs[id] = tag.pose.getZ();
+            this.yaws[id] = tag.pose.getRotation().getZ();
+            // A tag faces out along its own +x axis
+            this.normalXs[id] = Math.cos(this.yaws[id]);
+            this.normalYs[id] = Math.sin(this.yaws[id]);
+        }
+    }
+
+    /**
+     * Get the field model, loading the layout the first time
+     *
+     * @return The instance
+     */
+    public static synchronized FieldModel getInstance() {
+        if (INSTANCE == null) {
+            LOGGER.info("Loading field layout {}", VisionConstants.FIELD_LAYOUT);
+            INSTANCE = new FieldModel(AprilTagFieldLayout.loadField(VisionConstants.FIELD_LAYOUT));
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Get the underlying layout, for things like the PhotonVision pose estimator
+     *
+     * @return The {@link AprilTagFieldLayout}
+     */
+    public AprilTagFieldLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Get the highest tag id on the field
+     *
+     * @return The highest id
+     */
+    public int getMaxId() {
+        return this.present.length - 1;
+    }
+
+    /**
+     * Check if a tag is on the field
+     *
+     * @param id The tag id
+     * @return Whether the tag exists
+     */
+    public boolean hasTag(int id) {
+        return id >= 0 && id < this.present.length && this.present[id];
+    }
+
+    /**
+     * Get the pose of a tag
+     *
+     * @param id The tag id
+     * @return The {@link Pose3d} of the tag, or null if it's not on the field
+     */
+    public Pose3d getTagPose3d(int id) {
+        return this.hasTag(id) ? this.poses3d[id] : null;
+    }
+
+    /**
+     * Get the pose of a tag on the floor
+     *
+     * @param id The tag id
+     * @return The {@link Pose2d} of the tag, or null if it's not on the field
+     */
+    public Pose2d getTagPose2d(int id) {
+        return this.hasTag(id) ? this.poses2d[id] : null;
+    }
+
+    /**
+     * Get the x position of a tag, only valid if {@link #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The x position in meters
+     */
+    public double getTagX(int id) {
+        return this.xs[id];
+    }
+
+    /**
+     * Get the y position of a tag, only valid if {@link #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The y position in meters
+     */
+    public double getTagY(int id) {
+        return this.ys[id];
+    }
+
+    /**
+     * Get the height of a tag, only valid if {@link #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The z position in meters
+     */
+    public double getTagZ(int id) {
+        return this.zs[id];
+    }
+
+    /**
+     * Get the direction a tag faces, only valid if {@link #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The yaw in radians
+     */
+    public double getTagYaw(int id) {
+        return this.yaws[id];
+    }
+
+    /**
+     * Get the x part of the unit vector pointing out of a tag's face, only valid if {@link
+     * #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The x component
+     */
+    public double getNormalX(int id) {
+        return this.normalXs[id];
+    }
+
+    /**
+     * Get the y part of the unit vector pointing out of a tag's face, only valid if {@link
+     * #hasTag(int)}
+     *
+     * @param id The tag id
+     * @return The y component
+     */
+    public double getNormalY(int id) {
+        return this.normalYs[id];
+    }
+}
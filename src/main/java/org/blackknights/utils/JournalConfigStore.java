@@ -0,0 +1,236 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Stores the config as a json snapshot plus an append only journal of changes. Each save only
+ * appends one line per changed key, so the cost of a save depends on the size of the change and not
+ * the size of the config. Once the journal gets long it is compacted into the snapshot
+ *
+ * <p>Each journal line is <code>crc32 \t key \t json value</code>. On load the snapshot is read and
+ * then the journal is replayed on top of it. A torn or corrupt line (Ex: the rio browned out in the
+ * middle of a write) stops the replay, so at most the last record is lost
+ *
+ * <p>Every compaction bumps a generation stored in the snapshot, and the first line of the journal
+ * says which generation it belongs to. A crash after a new snapshot is written but before the
+ * journal is emptied leaves a journal from an older generation, which is thrown away instead of
+ * replayed over the newer values
+ */
+public class JournalConfigStore implements ConfigStore {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The key the generation is stored under in the snapshot and the journal header */
+    public static final String GENERATION_KEY = "__journal_generation";
+
+    private final JsonConfigStore snapshot;
+    private final File journalFile;
+    private final int compactThreshold;
+
+    private final CRC32 crc = new CRC32();
+    private final StringBuilder record = new StringBuilder();
+
+    private int journalRecords = 0;
+    private long generation = 0;
+    private boolean headerWritten = false;
+
+    /**
+     * Create a new journal config store
+     *
+     * @param snapshotFile The json snapshot file
+     * @param journalFile The journal file
+     * @param compactThreshold How many records can be in the journal before it is compacted
+     */
+    public JournalConfigStore(File snapshotFile, File journalFile, int compactThreshold) {
+        this.snapshot = new JsonConfigStore(snapshotFile);
+        this.journalFile = journalFile;
+        this.compactThreshold = compactThreshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JSONObject load() throws IOException, ParseException {
+        JSONObject values = this.snapshot.load();
+        Object snapshotGeneration = values.remove(GENERATION_KEY);
+        this.generation =
+                snapshotGeneration instanceof Number
+                        ? ((Number) snapshotGeneration).longValue()
+                        : 0;
+        this.journalRecords = 0;
+        this.headerWritten = false;
+
+        if (!this.journalFile.exists()) return values;
+
+        long goodLength = 0;
+        boolean first = true;
+        boolean stale = false;
+        try (BufferedReader reader =
+                new BufferedReader(new FileReader(this.journalFile, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int firstTab = line.indexOf('\t');
+                int secondTab = line.indexOf('\t', firstTab + 1);
+                if (firstTab < 0 || secondTab < 0) break;
+
+                String body = line.substring(firstTab + 1);
+                long expected;
+                try {
+                    expected = Long.parseLong(line.substring(0, firstTab), 16);
+                } catch (NumberFormatException e) {
+                    break;
+                }
+                if (expected != this.checksum(body)) break;
+
+                Object value;
+                try {
+                    value = JSONValue.parseWithException(line.substring(secondTab + 1));
+                } catch (ParseException e) {
+                    break;
+                }
+
+                String key = line.substring(firstTab + 1, secondTab);
+                goodLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+
+                if (first) {
+                    first = false;
+                    // Journals without a header are from before generations, so generation 0
+                    boolean header = GENERATION_KEY.equals(key) && value instanceof Number;
+                    long journalGeneration = header ? ((Number) value).longValue() : 0;
+                    if (journalGeneration < this.generation) {
+                        stale = true;
+                        break;
+                    }
+                    this.headerWritten = true;
+                    if (header) continue;
+                }
+
+                values.put(key, value);
+                this.journalRecords++;
+            }
+        }
+
+        long length = this.journalFile.length();
+        if (stale) {
+            // A compaction finished the snapshot but not the truncate, everything here is older
+            LOGGER.info("Dropping journal from before the last compaction in {}", this.journalFile);
+            try (RandomAccessFile file = new RandomAccessFile(this.journalFile, "rw")) {
+                file.setLength(0);
+            }
+        } else if (goodLength > length) {
+            // The last record is complete but lost its newline, put it back before appending
+            try (FileOutputStream out = new FileOutputStream(this.journalFile, true)) {
+                out.write('\n');
+            }
+        } else if (goodLength < length) {
+            LOGGER.warn(
+                    "Dropping {} bytes of torn journal in {}",
+                    length - goodLength,
+                    this.journalFile);
+            try (RandomAccessFile file = new RandomAccessFile(this.journalFile, "rw")) {
+                file.setLength(goodLength);
+            }
+        }
+
+        return values;
+    }
+
+    @Override
+    public void save(Set<String> changedKeys, Map<String, Object> values) throws IOException {
+        if (changedKeys.contains(ALL_KEYS)
+                || this.journalRecords + changedKeys.size() > this.compactThreshold) {
+            this.compact(values);
+            return;
+        }
+
+        this.record.setLength(0);
+        if (!this.headerWritten) {
+            this.appendRecord(GENERATION_KEY, this.generation);
+        }
+        for (String key : changedKeys) {
+            Object value = values.get(key);
+            if (value == null || key.indexOf('\t') >= 0 || key.indexOf('\n') >= 0) {
+                // Can't be represented in the journal, fall back to a full snapshot
+                this.compact(values);
+                return;
+            }
+
+            this.appendRecord(key, value);
+        }
+
+        try (FileOutputStream out = new FileOutputStream(this.journalFile, true)) {
+            out.write(this.record.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        this.headerWritten = true;
+        this.journalRecords += changedKeys.size();
+    }
+
+    /**
+     * Add one journal line to the pending record
+     *
+     * @param key The key
+     * @param value The value, written as json
+     */
+    private void appendRecord(String key, Object value) {
+        String body = key + "\t" + JSONValue.toJSONString(value);
+        this.record.append(Long.toHexString(this.checksum(body))).append('\t');
+        this.record.append(body).append('\n');
+    }
+
+    /**
+     * Write every value to the snapshot and empty the journal
+     *
+     * @param values The values to write
+     * @throws IOException If the snapshot could not be written
+     */
+    public void compact(Map<String, Object> values) throws IOException {
+        Map<String, Object> contents = new HashMap<>(values);
+        contents.put(GENERATION_KEY, this.generation + 1);
+        this.snapshot.write(contents);
+        this.generation++;
+
+        // The journal now has an older generation than the snapshot, so if this truncate never
+        // happens the journal is thrown away on the next load instead of replayed
+        try (FileOutputStream out = new FileOutputStream(this.journalFile)) {
+            out.getFD().sync();
+        }
+        this.headerWritten = false;
+        this.journalRecords = 0;
+    }
+
+    /**
+     * Get the number of records in the journal since the last compaction
+     *
+     * @return The number of records
+     */
+    public int getJournalRecords() {
+        return this.journalRecords;
+    }
+
+    /**
+     * Get the crc32 of a journal line
+     *
+     * @param body The key and value part of the line
+     * @return The checksum
+     */
+    private long checksum(String body) {
+        this.crc.reset();
+        this.crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return this.crc.getValue();
+    }
+}
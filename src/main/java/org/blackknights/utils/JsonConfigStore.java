@@ -0,0 +1,83 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Stores the config as one json file that is rewritten in full on every save
+ *
+ * <p>The file is written to a temp file first and then renamed over the real one, so a brownout in
+ * the middle of a write leaves the old file intact
+ */
+public class JsonConfigStore implements ConfigStore {
+    private final File file;
+    private final File tempFile;
+
+    /**
+     * Create a new json config store
+     *
+     * @param file The json file
+     */
+    public JsonConfigStore(File file) {
+        this.file = file;
+        this.tempFile = new File(file.getPath() + ".tmp");
+    }
+
+    @Override
+    public JSONObject load() throws IOException, ParseException {
+        if (!this.file.exists() || this.file.length() == 0) return new JSONObject();
+
+        try (Reader reader = new FileReader(this.file, StandardCharsets.UTF_8)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        } catch (ClassCastException e) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, e);
+        }
+    }
+
+    @Override
+    public void save(Set<String> changedKeys, Map<String, Object> values) throws IOException {
+        this.write(values);
+    }
+
+    /**
+     * Write every value to the file
+     *
+     * @param values The values to write
+     * @throws IOException If the file could not be written
+     */
+    public void write(Map<String, Object> values) throws IOException {
+        byte[] contents = (JSONValue.toJSONString(values) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileOutputStream out = new FileOutputStream(this.tempFile)) {
+            out.write(contents);
+            out.getFD().sync();
+        }
+
+        Files.move(
+                this.tempFile.toPath(),
+                this.file.toPath(),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Get the json file
+     *
+     * @return The file the config is stored in
+     */
+    public File getFile() {
+        return this.file;
+    }
+}
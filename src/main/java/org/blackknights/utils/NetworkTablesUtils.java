@@ -1,15 +1,44 @@
 /* Black Knights Robotics (C) 2025 */
 package org.blackknights.utils;
 
+import edu.wpi.first.networktables.BooleanArrayPublisher;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
 import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableEvent;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.RawPublisher;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.util.struct.Struct;
 import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Wrapper class for network tables to maker interaction easier */
+/**
+ * Wrapper class for network tables to maker interaction easier
+ *
+ * <p>Tables and entries are cached, so calling {@link #getTable(String)} or {@link
+ * #setEntry(String, double)} again with the same name is just a map lookup. For values published
+ * every loop, get a typed publisher once (Ex: {@link #getDoublePublisher(String)}) and keep it,
+ * then publishing is a direct call with no string work
+ */
 public class NetworkTablesUtils {
+    private static final Map<String, NetworkTablesUtils> TABLES = new ConcurrentHashMap<>();
+
     private final NetworkTable table;
 
+    private final Map<String, NetworkTableEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, DoublePublisher> doublePublishers = new ConcurrentHashMap<>();
+    private final Map<String, DoubleArrayPublisher> doubleArrayPublishers =
+            new ConcurrentHashMap<>();
+    private final Map<String, BooleanPublisher> booleanPublishers = new ConcurrentHashMap<>();
+    private final Map<String, BooleanArrayPublisher> booleanArrayPublishers =
+            new ConcurrentHashMap<>();
+    private final Map<String, StringPublisher> stringPublishers = new ConcurrentHashMap<>();
+    private final Map<String, RawPublisher> structPublishers = new ConcurrentHashMap<>();
+
     /**
      * Construct a NetworkTablesUtils
      *
@@ -24,13 +53,16 @@ public class NetworkTablesUtils {
     }
 
     /**
-     * Get a table from NetworkTables
+     * Get a table from NetworkTables, the same instance is returned for the same name
      *
      * @param tableName The table name as it appears in Network Tables
      * @return An instance of {@link NetworkTablesUtils} for the specified table
      */
     public static NetworkTablesUtils getTable(String tableName) {
-        return new NetworkTablesUtils(tableName);
+        NetworkTablesUtils table = TABLES.get(tableName);
+        if (table == null) table = TABLES.computeIfAbsent(tableName, NetworkTablesUtils::new);
+
+        return table;
     }
 
     /**
@@ -63,7 +95,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public double getEntry(String key, double defaultValue) {
-        return this.table.getEntry(key).getDouble(defaultValue);
+        return this.entry(key).getDouble(defaultValue);
     }
 
     /**
@@ -74,7 +106,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public long getEntry(String key, long defaultValue) {
-        return this.table.getEntry(key).getInteger(defaultValue);
+        return this.entry(key).getInteger(defaultValue);
     }
 
     /**
@@ -85,7 +117,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public boolean getEntry(String key, boolean defaultValue) {
-        return this.table.getEntry(key).getBoolean(defaultValue);
+        return this.entry(key).getBoolean(defaultValue);
     }
 
     /**
@@ -96,7 +128,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public String getEntry(String key, String defaultValue) {
-        return this.table.getEntry(key).getString(defaultValue);
+        return this.entry(key).getString(defaultValue);
     }
 
     /**
@@ -107,7 +139,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public double[] getArrayEntry(String key, double[] defaultValues) {
-        return this.table.getEntry(key).getDoubleArray(defaultValues);
+        return this.entry(key).getDoubleArray(defaultValues);
     }
 
     /**
@@ -118,7 +150,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public long[] getArrayEntry(String key, long[] defaultValues) {
-        return this.table.getEntry(key).getIntegerArray(defaultValues);
+        return this.entry(key).getIntegerArray(defaultValues);
     }
 
     /**
@@ -129,7 +161,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public boolean[] getArrayEntry(String key, boolean[] defaultValues) {
-        return this.table.getEntry(key).getBooleanArray(defaultValues);
+        return this.entry(key).getBooleanArray(defaultValues);
     }
 
     /**
@@ -140,7 +172,7 @@ public class NetworkTablesUtils {
      * @return Either the default value or the corresponding value in network tables
      */
     public String[] getArrayEntry(String key, String[] defaultValues) {
-        return this.table.getEntry(key).getStringArray(defaultValues);
+        return this.entry(key).getStringArray(defaultValues);
     }
 
     /**
@@ -150,7 +182,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setEntry(String key, double value) {
-        this.table.getEntry(key).setDouble(value);
+        this.entry(key).setDouble(value);
     }
 
     /**
@@ -160,7 +192,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setEntry(String key, long value) {
-        this.table.getEntry(key).setInteger(value);
+        this.entry(key).setInteger(value);
     }
 
     /**
@@ -170,7 +202,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setEntry(String key, boolean value) {
-        this.table.getEntry(key).setBoolean(value);
+        this.entry(key).setBoolean(value);
     }
 
     /**
@@ -180,7 +212,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setEntry(String key, String value) {
-        this.table.getEntry(key).setString(value);
+        this.entry(key).setString(value);
     }
 
     /**
@@ -190,7 +222,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setArrayEntry(String key, double[] value) {
-        this.table.getEntry(key).setDoubleArray(value);
+        this.entry(key).setDoubleArray(value);
     }
 
     /**
@@ -200,7 +232,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setArrayEntry(String key, long[] value) {
-        this.table.getEntry(key).setIntegerArray(value);
+        this.entry(key).setIntegerArray(value);
     }
 
     /**
@@ -210,7 +242,7 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setArrayEntry(String key, boolean[] value) {
-        this.table.getEntry(key).setBooleanArray(value);
+        this.entry(key).setBooleanArray(value);
     }
 
     /**
@@ -220,7 +252,155 @@ public class NetworkTablesUtils {
      * @param value The value that will be set
      */
     public void setArrayEntry(String key, String[] value) {
-        this.table.getEntry(key).setStringArray(value);
+        this.entry(key).setStringArray(value);
+    }
+
+    /**
+     * Get a cached publisher for a double topic. Get this once and keep it, then call {@link
+     * DoublePublisher#set(double)} from the loop
+     *
+     * @param key The key for the value
+     * @return The publisher for the key
+     */
+    public DoublePublisher getDoublePublisher(String key) {
+        DoublePublisher publisher = this.doublePublishers.get(key);
+        if (publisher == null) {
+            publisher = this.table.getDoubleTopic(key).publish();
+            DoublePublisher existing = this.doublePublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached publisher for a double array topic. Get this once and keep it, then call {@link
+     * DoubleArrayPublisher#set(double[])} from the loop (the array is copied, so it can be reused)
+     *
+     * @param key The key for the value
+     * @return The publisher for the key
+     */
+    public DoubleArrayPublisher getDoubleArrayPublisher(String key) {
+        DoubleArrayPublisher publisher = this.doubleArrayPublishers.get(key);
+        if (publisher == null) {
+            publisher = this.table.getDoubleArrayTopic(key).publish();
+            DoubleArrayPublisher existing = this.doubleArrayPublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached publisher for a boolean topic. Get this once and keep it, then call {@link
+     * BooleanPublisher#set(boolean)} from the loop
+     *
+     * @param key The key for the value
+     * @return The publisher for the key
+     */
+    public BooleanPublisher getBooleanPublisher(String key) {
+        BooleanPublisher publisher = this.booleanPublishers.get(key);
+        if (publisher == null) {
+            publisher = this.table.getBooleanTopic(key).publish();
+            BooleanPublisher existing = this.booleanPublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached publisher for a boolean array topic. Get this once and keep it, then call {@link
+     * BooleanArrayPublisher#set(boolean[])} from the loop
+     *
+     * @param key The key for the value
+     * @return The publisher for the key
+     */
+    public BooleanArrayPublisher getBooleanArrayPublisher(String key) {
+        BooleanArrayPublisher publisher = this.booleanArrayPublishers.get(key);
+        if (publisher == null) {
+            publisher = this.table.getBooleanArrayTopic(key).publish();
+            BooleanArrayPublisher existing =
+                    this.booleanArrayPublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached publisher for a string topic. Get this once and keep it, then call {@link
+     * StringPublisher#set(String)} from the loop
+     *
+     * @param key The key for the value
+     * @return The publisher for the key
+     */
+    public StringPublisher getStringPublisher(String key) {
+        StringPublisher publisher = this.stringPublishers.get(key);
+        if (publisher == null) {
+            publisher = this.table.getStringTopic(key).publish();
+            StringPublisher existing = this.stringPublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached raw publisher for a struct topic and publish the struct's schema. The caller
+     * packs the struct bytes itself, so publishing doesn't need a new object every time
+     *
+     * @param key The key for the value
+     * @param struct The struct the bytes are laid out as (Ex: <code>Pose2d.struct</code>)
+     * @param array If the topic is an array of the struct
+     * @return The publisher for the key
+     */
+    public RawPublisher getStructPublisher(String key, Struct<?> struct, boolean array) {
+        RawPublisher publisher = this.structPublishers.get(key);
+        if (publisher == null) {
+            this.table.getInstance().addSchema(struct);
+
+            String typeString = struct.getTypeString() + (array ? "[]" : "");
+            publisher = this.table.getRawTopic(key).publish(typeString);
+            RawPublisher existing = this.structPublishers.putIfAbsent(key, publisher);
+            if (existing != null) {
+                publisher.close();
+                publisher = existing;
+            }
+        }
+
+        return publisher;
+    }
+
+    /**
+     * Get a cached entry
+     *
+     * @param key The key for the value
+     * @return The {@link NetworkTableEntry} for the key
+     */
+    private NetworkTableEntry entry(String key) {
+        NetworkTableEntry entry = this.entries.get(key);
+        if (entry == null) {
+            entry = this.table.getEntry(key);
+            this.entries.put(key, entry);
+        }
+
+        return entry;
     }
 
     /**
@@ -230,7 +410,7 @@ public class NetworkTablesUtils {
      * @return If the key exists
      */
     public boolean keyExists(String key) {
-        return this.table.getEntry(key).exists();
+        return this.entry(key).exists();
     }
 
     /**
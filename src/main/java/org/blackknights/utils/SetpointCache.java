@@ -0,0 +1,133 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.util.function.LongSupplier;
+import org.blackknights.constants.CanConstants;
+
+/**
+ * Remembers the last command sent to one motor controller so the same command isn't sent again
+ * every loop. A command is resent anyway once the keep alive runs out, so anything watching for
+ * fresh setpoints still sees them. Only use it from the main loop
+ *
+ * <pre>
+ * if (cache.shouldWrite(MODE_VOLTAGE, volts)) motor.setVoltage(volts);
+ * </pre>
+ */
+public final class SetpointCache {
+    public static final int MODE_PERCENT = 0;
+    public static final int MODE_VOLTAGE = 1;
+    public static final int MODE_VELOCITY = 2;
+    public static final int MODE_POSITION = 3;
+
+    private static long totalWritten = 0;
+    private static long totalSkipped = 0;
+
+    private final double tolerance;
+    private final long keepAliveNanos;
+    private final LongSupplier clock;
+
+    private boolean valid = false;
+    private int lastMode;
+    private double lastValue;
+    private double lastAux;
+    private long lastWriteNanos;
+
+    private long written = 0;
+    private long skipped = 0;
+
+    /** Create a new setpoint cache with the default tolerance and keep alive */
+    public SetpointCache() {
+        this(
+                CanConstants.SETPOINT_TOLERANCE,
+                CanConstants.SETPOINT_KEEP_ALIVE_SECONDS,
+                System::nanoTime);
+    }
+
+    SetpointCache(double tolerance, double keepAliveSeconds, LongSupplier clock) {
+        this.tolerance = tolerance;
+        this.keepAliveNanos = (long) (keepAliveSeconds * 1e9);
+        this.clock = clock;
+    }
+
+    /**
+     * Check if a command has to be sent, and remember it if it does
+     *
+     * @param mode The control mode, changing it always sends the command
+     * @param value The setpoint
+     * @param aux A second value sent with the setpoint, like an arbitrary feedforward
+     * @return Whether to send the command
+     */
+    public boolean shouldWrite(int mode, double value, double aux) {
+        long now = this.clock.getAsLong();
+        if (this.valid
+                && mode == this.lastMode
+                && Math.abs(value - this.lastValue) <= this.tolerance
+                && Math.abs(aux - this.lastAux) <= this.tolerance
+                && now - this.lastWriteNanos < this.keepAliveNanos) {
+            this.skipped++;
+            totalSkipped++;
+            return false;
+        }
+
+        this.valid = true;
+        this.lastMode = mode;
+        this.lastValue = value;
+        this.lastAux = aux;
+        this.lastWriteNanos = now;
+        this.written++;
+        totalWritten++;
+        return true;
+    }
+
+    /**
+     * Check if a command has to be sent, and remember it if it does
+     *
+     * @param mode The control mode, changing it always sends the command
+     * @param value The setpoint
+     * @return Whether to send the command
+     */
+    public boolean shouldWrite(int mode, double value) {
+        return this.shouldWrite(mode, value, 0.0);
+    }
+
+    /** Forget the last command, call it after the device is written without the cache */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Get the number of commands this cache let through
+     *
+     * @return The number of writes
+     */
+    public long getWritten() {
+        return this.written;
+    }
+
+    /**
+     * Get the number of commands this cache skipped
+     *
+     * @return The number of writes saved
+     */
+    public long getSkipped() {
+        return this.skipped;
+    }
+
+    /**
+     * Get the number of commands every cache let through
+     *
+     * @return The number of writes
+     */
+    public static long getTotalWritten() {
+        return totalWritten;
+    }
+
+    /**
+     * Get the number of commands every cache skipped
+     *
+     * @return The number of writes saved
+     */
+    public static long getTotalSkipped() {
+        return totalSkipped;
+    }
+}
@@ -0,0 +1,154 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+
+/**
+ * Inverse kinematics for a four module swerve drive on plain arrays. Does the same math as {@link
+ * SwerveDriveKinematics#toSwerveModuleStates} and {@link
+ * SwerveDriveKinematics#desaturateWheelSpeeds} without building matrices or state objects, so the
+ * drive path doesn't allocate every loop. Holds no state, so it can be shared
+ */
+public final class SwerveKinematics {
+    // Below this a module is treated as stopped, and can point anywhere
+    static final double STOPPED_SPEED = 1e-3;
+
+    private final double[] moduleX = new double[4];
+    private final double[] moduleY = new double[4];
+
+    /**
+     * Create new kinematics
+     *
+     * @param moduleLocations Where each of the 4 modules is relative to the center of the robot, in
+     *     the order every array passed in uses
+     */
+    public SwerveKinematics(Translation2d... moduleLocations) {
+        if (moduleLocations.length != 4) {
+            throw new IllegalArgumentException("Swerve kinematics needs exactly 4 modules");
+        }
+
+        for (int i = 0; i < 4; i++) {
+            this.moduleX[i] = moduleLocations[i].getX();
+            this.moduleY[i] = moduleLocations[i].getY();
+        }
+    }
+
+    /**
+     * Get the forward velocity of one module from robot relative chassis speeds
+     *
+     * @param module The index of the module
+     * @param vxMetersPerSecond The forward speed of the robot
+     * @param omegaRadiansPerSecond The angular speed of the robot
+     * @return The forward velocity of the module in meters per second
+     */
+    public double moduleVx(int module, double vxMetersPerSecond, double omegaRadiansPerSecond) {
+        return vxMetersPerSecond - omegaRadiansPerSecond * this.moduleY[module];
+    }
+
+    /**
+     * Get the sideways velocity of one module from robot relative chassis speeds
+     *
+     * @param module The index of the module
+     * @param vyMetersPerSecond The sideways speed of the robot
+     * @param omegaRadiansPerSecond The angular speed of the robot
+     * @return The sideways velocity of the module in meters per second
+     */
+    public double moduleVy(int module, double vyMetersPerSecond, double omegaRadiansPerSecond) {
+        return vyMetersPerSecond + omegaRadiansPerSecond * this.moduleX[module];
+    }
+
+    /**
+     * Convert robot relative chassis speeds to module speeds and angles. A module that isn't moving
+     * keeps the angle it had, so it holds its heading
+     *
+     * @param vxMetersPerSecond The forward speed of the robot
+     * @param vyMetersPerSecond The sideways speed of the robot
+     * @param omegaRadiansPerSecond The angular speed of the robot
+     * @param speeds Filled with the speed of each module in meters per second
+     * @param angles Filled with the angle of each module in radians
+     */
+    public void toModuleStates(
+            double vxMetersPerSecond,
+            double vyMetersPerSecond,
+            double omegaRadiansPerSecond,
+            double[] speeds,
+            double[] angles) {
+        for (int i = 0; i < 4; i++) {
+            double x = this.moduleVx(i, vxMetersPerSecond, omegaRadiansPerSecond);
+            double y = this.moduleVy(i, vyMetersPerSecond, omegaRadiansPerSecond);
+            double speed = Math.hypot(x, y);
+            if (speed > STOPPED_SPEED) {
+                speeds[i] = speed;
+                angles[i] = Math.atan2(y, x);
+            } else {
+                speeds[i] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Get how much to scale chassis speeds by so no module goes faster than the max. Every module
+     * velocity is linear in the chassis speeds, so this keeps the ratios between them
+     *
+     * @param vxMetersPerSecond The forward speed of the robot
+     * @param vyMetersPerSecond The sideways speed of the robot
+     * @param omegaRadiansPerSecond The angular speed of the robot
+     * @param maxSpeedMetersPerSecond The fastest a module can go
+     * @return The scale, 1 if no module is too fast
+     */
+    public double saturationScale(
+            double vxMetersPerSecond,
+            double vyMetersPerSecond,
+            double omegaRadiansPerSecond,
+            double maxSpeedMetersPerSecond) {
+        double fastest = 0.0;
+        for (int i = 0; i < 4; i++) {
+            fastest =
+                    Math.max(
+                            fastest,
+                            Math.hypot(
+                                    this.moduleVx(i, vxMetersPerSecond, omegaRadiansPerSecond),
+                                    this.moduleVy(i, vyMetersPerSecond, omegaRadiansPerSecond)));
+        }
+        return fastest > maxSpeedMetersPerSecond ? maxSpeedMetersPerSecond / fastest : 1.0;
+    }
+
+    /**
+     * Rotate a field relative velocity into the forward speed of the robot
+     *
+     * @param vxMetersPerSecond The speed towards the red alliance wall
+     * @param vyMetersPerSecond The speed towards the left of the blue alliance wall
+     * @param headingRad The heading of the robot in radians
+     * @return The forward speed of the robot in meters per second
+     */
+    public static double toRobotVx(
+            double vxMetersPerSecond, double vyMetersPerSecond, double headingRad) {
+        return vxMetersPerSecond * Math.cos(headingRad) + vyMetersPerSecond * Math.sin(headingRad);
+    }
+
+    /**
+     * Rotate a field relative velocity into the sideways speed of the robot
+     *
+     * @param vxMetersPerSecond The speed towards the red alliance wall
+     * @param vyMetersPerSecond The speed towards the left of the blue alliance wall
+     * @param headingRad The heading of the robot in radians
+     * @return The sideways speed of the robot in meters per second
+     */
+    public static double toRobotVy(
+            double vxMetersPerSecond, double vyMetersPerSecond, double headingRad) {
+        return -vxMetersPerSecond * Math.sin(headingRad) + vyMetersPerSecond * Math.cos(headingRad);
+    }
+
+    /**
+     * Check if a module should drive backwards instead of turning more than 90 degrees
+     *
+     * @param targetAngleRad The angle the module should face
+     * @param currentAngleRad The angle the module is at
+     * @return Whether to flip the angle and reverse the speed
+     */
+    public static boolean shouldReverse(double targetAngleRad, double currentAngleRad) {
+        return Math.abs(MathUtil.angleModulus(targetAngleRad - currentAngleRad)) > Math.PI / 2;
+    }
+}
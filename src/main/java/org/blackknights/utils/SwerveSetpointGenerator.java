@@ -0,0 +1,253 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Turns desired chassis speeds into module setpoints the drivetrain can actually follow. Every loop
+ * the setpoint moves from the last one towards the desired speeds, but only as far as every module
+ * can get in one loop: the drive motor can only add or remove so much speed (from its torque curve,
+ * the current limit and wheel grip) and the module can only turn so fast. Limiting the whole
+ * chassis by the slowest module keeps the modules agreeing on where the robot is going, so it
+ * doesn't slip or skew while they catch up. Uses {@link SwerveKinematics} for the module velocities
+ * and doesn't allocate. Holds the last setpoint, so only use it from the main loop
+ */
+public final class SwerveSetpointGenerator {
+    private static final double GRAVITY = 9.81;
+
+    private final SwerveKinematics kinematics;
+
+    private final DCMotor driveMotor;
+    private final double driveReduction;
+    private final double wheelRadius;
+    private final double currentLimit;
+    private final double moduleMass;
+    private final double maxFrictionAcceleration;
+    private final double maxModuleSpeed;
+    private final double maxSteerRate;
+
+    private double maxAcceleration = Double.POSITIVE_INFINITY;
+
+    // The last setpoint, robot relative
+    private double vx = 0.0;
+    private double vy = 0.0;
+    private double omega = 0.0;
+    private final double[] angles = new double[4];
+
+    private double lastScale = 1.0;
+
+    /**
+     * Create a new setpoint generator
+     *
+     * @param kinematics The kinematics of the drivetrain, in the order every array passed in uses
+     * @param driveMotor The motor driving each wheel
+     * @param driveReduction The gear reduction from the drive motor to the wheel
+     * @param wheelRadiusMeters The radius of the wheels
+     * @param currentLimitAmps The current limit of the drive motors
+     * @param robotMassKg The mass of the robot, split evenly between the modules
+     * @param wheelCof The coefficient of friction between the wheels and the carpet
+     * @param maxModuleSpeed The fastest a module is allowed to go in meters per second
+     * @param maxSteerRate The fastest a module can turn in radians per second
+     */
+    public SwerveSetpointGenerator(
+            SwerveKinematics kinematics,
+            DCMotor driveMotor,
+            double driveReduction,
+            double wheelRadiusMeters,
+            double currentLimitAmps,
+            double robotMassKg,
+            double wheelCof,
+            double maxModuleSpeed,
+            double maxSteerRate) {
+        this.kinematics = kinematics;
+        this.driveMotor = driveMotor;
+        this.driveReduction = driveReduction;
+        this.wheelRadius = wheelRadiusMeters;
+        this.currentLimit = currentLimitAmps;
+        this.moduleMass = robotMassKg / 4;
+        this.maxFrictionAcceleration = wheelCof * GRAVITY;
+        this.maxModuleSpeed = maxModuleSpeed;
+        this.maxSteerRate = maxSteerRate;
+    }
+
+    /**
+     * Cap the acceleration of every module below what the motors and grip allow
+     *
+     * @param metersPerSecondSquared The max acceleration
+     */
+    public void setMaxAcceleration(double metersPerSecondSquared) {
+        this.maxAcceleration = metersPerSecondSquared;
+    }
+
+    /**
+     * Start from a known state instead of the last setpoint, like the measured state when the robot
+     * is enabled
+     *
+     * @param vxMetersPerSecond The forward speed of the robot
+     * @param vyMetersPerSecond The sideways speed of the robot
+     * @param omegaRadiansPerSecond The angular speed of the robot
+     * @param moduleAngles The angle of each module in radians
+     */
+    public void reset(
+            double vxMetersPerSecond,
+            double vyMetersPerSecond,
+            double omegaRadiansPerSecond,
+            double[] moduleAngles) {
+        this.vx = vxMetersPerSecond;
+        this.vy = vyMetersPerSecond;
+        this.omega = omegaRadiansPerSecond;
+        System.arraycopy(moduleAngles, 0, this.angles, 0, 4);
+        this.lastScale = 1.0;
+    }
+
+    /**
+     * Step the setpoint towards robot relative chassis speeds. The desired speeds are scaled down
+     * first if any module would go faster than the max. If a module isn't moving its angle is left
+     * as it was
+     *
+     * @param vxMetersPerSecond The desired forward speed of the robot
+     * @param vyMetersPerSecond The desired sideways speed of the robot
+     * @param omegaRadiansPerSecond The desired angular speed of the robot
+     * @param dtSeconds The time since the last setpoint
+     * @param limit Whether to limit the step, if not the setpoint jumps to the desired speeds
+     * @param speeds Filled with the speed of each module in meters per second
+     * @param angles Filled with the angle of each module in radians
+     */
+    public void generate(
+            double vxMetersPerSecond,
+            double vyMetersPerSecond,
+            double omegaRadiansPerSecond,
+            double dtSeconds,
+            boolean limit,
+            double[] speeds,
+            double[] angles) {
+        double scale =
+                this.kinematics.saturationScale(
+                        vxMetersPerSecond,
+                        vyMetersPerSecond,
+                        omegaRadiansPerSecond,
+                        this.maxModuleSpeed);
+        vxMetersPerSecond *= scale;
+        vyMetersPerSecond *= scale;
+        omegaRadiansPerSecond *= scale;
+
+        double dvx = vxMetersPerSecond - this.vx;
+        double dvy = vyMetersPerSecond - this.vy;
+        double domega = omegaRadiansPerSecond - this.omega;
+
+        // How far along the way to the desired speeds the setpoint can go, set by the slowest
+        // module. Every module velocity is linear in the chassis speeds, so each one moves in a
+        // straight line as this goes from 0 to 1
+        double s = 1.0;
+        if (limit) {
+            for (int i = 0; i < 4; i++) {
+                double px = this.kinematics.moduleVx(i, this.vx, this.omega);
+                double py = this.kinematics.moduleVy(i, this.vy, this.omega);
+                double dx = this.kinematics.moduleVx(i, dvx, domega);
+                double dy = this.kinematics.moduleVy(i, dvy, domega);
+
+                s = Math.min(s, this.steerLimit(px, py, dx, dy, this.maxSteerRate * dtSeconds));
+                s = Math.min(s, this.driveLimit(px, py, dx, dy, dtSeconds));
+            }
+        }
+
+        this.vx += s * dvx;
+        this.vy += s * dvy;
+        this.omega += s * domega;
+        this.lastScale = s;
+
+        this.kinematics.toModuleStates(this.vx, this.vy, this.omega, speeds, this.angles);
+        System.arraycopy(this.angles, 0, angles, 0, 4);
+    }
+
+    /**
+     * Get how much of the way to the desired speeds the last setpoint got
+     *
+     * @return 1 if it reached them, 0 if it couldn't move at all
+     */
+    public double getLastScale() {
+        return this.lastScale;
+    }
+
+    /**
+     * The furthest a module moving from p along d can go before it has to turn more than the max
+     * step. Driving backwards is allowed, so only the angle of the line the module is on matters,
+     * and that only changes by crossing one of the two lines through the origin at the max step
+     * either side of it
+     */
+    private double steerLimit(double px, double py, double dx, double dy, double maxStep) {
+        if (maxStep >= Math.PI / 2 || Math.hypot(px, py) <= SwerveKinematics.STOPPED_SPEED) {
+            return 1.0;
+        }
+
+        double s = 1.0;
+        double heading = Math.atan2(py, px);
+        for (int side = -1; side <= 1; side += 2) {
+            double ux = Math.cos(heading + side * maxStep);
+            double uy = Math.sin(heading + side * maxStep);
+            double cross = ux * dy - uy * dx;
+            if (cross == 0.0) {
+                continue;
+            }
+
+            double t = -(ux * py - uy * px) / cross;
+            // Passing through the origin is stopping, so the module can face either way after
+            if (t > 0.0
+                    && t < s
+                    && Math.hypot(px + t * dx, py + t * dy) > SwerveKinematics.STOPPED_SPEED) {
+                s = t;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * The furthest a module moving from p along d can go before its speed changes by more than the
+     * drive motor can do in one step
+     */
+    private double driveLimit(double px, double py, double dx, double dy, double dtSeconds) {
+        double a = dx * dx + dy * dy;
+        if (a == 0.0) {
+            return 1.0;
+        }
+
+        double speed = Math.hypot(px, py);
+        // Back EMF takes away from the voltage left to speed up, and adds to the braking
+        double motorSpeed = speed / this.wheelRadius * this.driveReduction;
+        double backEmf = motorSpeed / this.driveMotor.KvRadPerSecPerVolt;
+        double voltage = this.driveMotor.nominalVoltageVolts;
+        double speedUp = this.accelerationAt((voltage - backEmf) / this.driveMotor.rOhms);
+        double slowDown = this.accelerationAt((voltage + backEmf) / this.driveMotor.rOhms);
+
+        // Solve |p + t d| = r for the circles at the fastest and slowest the module can get
+        double b = 2 * (px * dx + py * dy);
+        double s = 1.0;
+
+        double outer = speed + speedUp * dtSeconds;
+        double c = speed * speed - outer * outer;
+        s = Math.min(s, (-b + Math.sqrt(b * b - 4 * a * c)) / (2 * a));
+
+        double inner = speed - slowDown * dtSeconds;
+        if (inner > 0.0) {
+            c = speed * speed - inner * inner;
+            double disc = b * b - 4 * a * c;
+            if (disc >= 0.0) {
+                double t = (-b - Math.sqrt(disc)) / (2 * a);
+                if (t > 0.0) {
+                    s = Math.min(s, t);
+                }
+            }
+        }
+        return Math.max(s, 0.0);
+    }
+
+    /** The acceleration of one module with the motor drawing a current, before the limits */
+    private double accelerationAt(double currentAmps) {
+        double current = Math.max(0.0, Math.min(this.currentLimit, currentAmps));
+        double force =
+                this.driveMotor.KtNMPerAmp * current * this.driveReduction / this.wheelRadius;
+        return Math.min(
+                Math.min(force / this.moduleMass, this.maxFrictionAcceleration),
+                this.maxAcceleration);
+    }
+}
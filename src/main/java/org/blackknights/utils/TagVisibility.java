@@ -0,0 +1,138 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.numbers.N3;
+
+/**
+ * Predicts which april tags a camera can see from a robot pose, using the tag poses in the {@link
+ * FieldModel} and where the camera is mounted. A tag counts as visible if it's in front of the
+ * camera, inside its field of view, close enough and not seen too far from the side. Not thread
+ * safe, each camera's worker owns one
+ */
+public final class TagVisibility {
+    private final FieldModel field;
+
+    // Robot to camera, precomputed so a prediction never allocates
+    private final double camX;
+    private final double camY;
+    private final double camZ;
+    private final double[] camRotation = new double[9];
+
+    private final double tanHalfHorizontalFov;
+    private final double tanHalfVerticalFov;
+    private final double cosMaxViewAngle;
+
+    private final boolean[] visible;
+    private int visibleCount = 0;
+
+    /**
+     * Create a new visibility predictor
+     *
+     * @param field The field to predict against
+     * @param robotToCamera Where the camera is mounted on the robot
+     * @param horizontalFov The horizontal field of view of the camera in radians
+     * @param verticalFov The vertical field of view of the camera in radians
+     * @param maxViewAngle The largest angle between a tag's face and the camera in radians
+     */
+    public TagVisibility(
+            FieldModel field,
+            Transform3d robotToCamera,
+            double horizontalFov,
+            double verticalFov,
+            double maxViewAngle) {
+        this.field = field;
+        this.camX = robotToCamera.getX();
+        this.camY = robotToCamera.getY();
+        this.camZ = robotToCamera.getZ();
+
+        Matrix<N3, N3> rotation = robotToCamera.getRotation().toMatrix();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                this.camRotation[r * 3 + c] = rotation.get(r, c);
+            }
+        }
+
+        this.tanHalfHorizontalFov = Math.tan(horizontalFov / 2);
+        this.tanHalfVerticalFov = Math.tan(verticalFov / 2);
+        this.cosMaxViewAngle = Math.cos(maxViewAngle);
+        this.visible = new boolean[field.getMaxId() + 1];
+    }
+
+    /**
+     * Predict the visible tags with the robot at a pose, assuming it's flat on the field
+     *
+     * @param robotX The x position of the robot in meters
+     * @param robotY The y position of the robot in meters
+     * @param robotYaw The yaw of the robot in radians
+     * @param maxDistance The furthest a tag can be from the camera in meters
+     * @return The number of visible tags
+     */
+    public int update(double robotX, double robotY, double robotYaw, double maxDistance) {
+        double cos = Math.cos(robotYaw);
+        double sin = Math.sin(robotYaw);
+        double fieldCamX = robotX + this.camX * cos - this.camY * sin;
+        double fieldCamY = robotY + this.camX * sin + this.camY * cos;
+        double maxDistanceSq = maxDistance * maxDistance;
+        double[] m = this.camRotation;
+
+        this.visibleCount = 0;
+        for (int id = 0; id < this.visible.length; id++) {
+            this.visible[id] = false;
+            if (!this.field.hasTag(id)) continue;
+
+            // Camera to tag on the field
+            double dx = this.field.getTagX(id) - fieldCamX;
+            double dy = this.field.getTagY(id) - fieldCamY;
+            double dz = this.field.getTagZ(id) - this.camZ;
+            double distanceSq = dx * dx + dy * dy + dz * dz;
+            if (distanceSq > maxDistanceSq || distanceSq == 0.0) continue;
+
+            // The tag has to face the camera
+            double planar = Math.hypot(dx, dy);
+            if (planar > 0.0
+                    && -(dx * this.field.getNormalX(id) + dy * this.field.getNormalY(id))
+                            < planar * this.cosMaxViewAngle) {
+                continue;
+            }
+
+            // Field to robot, then robot to camera (the transpose of the mount rotation)
+            double rx = dx * cos + dy * sin;
+            double ry = -dx * sin + dy * cos;
+            double cx = m[0] * rx + m[3] * ry + m[6] * dz;
+            double cy = m[1] * rx + m[4] * ry + m[7] * dz;
+            double cz = m[2] * rx + m[5] * ry + m[8] * dz;
+
+            if (cx <= 0.0
+                    || Math.abs(cy) > cx * this.tanHalfHorizontalFov
+                    || Math.abs(cz) > cx * this.tanHalfVerticalFov) {
+                continue;
+            }
+
+            this.visible[id] = true;
+            this.visibleCount++;
+        }
+
+        return this.visibleCount;
+    }
+
+    /**
+     * Check if a tag was visible at the last predicted pose
+     *
+     * @param id The tag id
+     * @return Whether the tag is visible
+     */
+    public boolean isVisible(int id) {
+        return id >= 0 && id < this.visible.length && this.visible[id];
+    }
+
+    /**
+     * Get the number of tags visible at the last predicted pose
+     *
+     * @return The number of tags
+     */
+    public int getVisibleCount() {
+        return this.visibleCount;
+    }
+}
@@ -0,0 +1,1158 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.networktables.BooleanArrayPublisher;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.RawPublisher;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.util.datalog.BooleanArrayLogEntry;
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.RawLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.util.struct.Struct;
+import edu.wpi.first.wpilibj.RobotController;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limited, change only telemetry on top of {@link NetworkTablesUtils}. Get a value handle once
+ * (Ex: {@link #doubleValue(String, String)}) and call <code>set</code> on it every loop, it is only
+ * published when
+ *
+ * <ul>
+ *   <li>the value changed from what was last published (by more than the epsilon for doubles)
+ *   <li>the key's max rate allows it (a skipped change is published once the period is up)
+ *   <li>the key is not {@link Level#DEBUG} while in competition mode
+ * </ul>
+ *
+ * <p>Publishing does not happen on the caller's thread. A published value is written into a
+ * preallocated {@link TelemetryRing} and a low priority thread drains it into NetworkTables (and
+ * the DataLog if {@link #enableFileLog(DataLog)} was called). If the ring is full the value is
+ * dropped and counted, and sent again once there is room
+ *
+ * <p>Handles must only be used from the main robot thread (the ring has a single producer), {@link
+ * #periodic()} should run once a loop
+ */
+public final class Telemetry {
+    /** How important a value is, debug values are dropped in competition mode */
+    public enum Level {
+        INFO,
+        DEBUG
+    }
+
+    /** Default max rate for debug values */
+    public static final double DEFAULT_DEBUG_RATE_HZ = 10.0;
+
+    /** Default epsilon for doubles */
+    public static final double DEFAULT_EPSILON = 1e-6;
+
+    private static final long COUNTER_PERIOD_US = 1_000_000;
+    private static final long DRAIN_TIMEOUT_NS = 20_000_000;
+    private static final int RING_CAPACITY = 4096;
+
+    private static final List<Value> VALUES = new ArrayList<>();
+    private static final TelemetryRing RING = new TelemetryRing(RING_CAPACITY);
+
+    // Looked up by id on the drain thread, grown by copying so it can be read without a lock
+    private static volatile Value[] sinks = new Value[64];
+
+    private static volatile DataLog fileLog = null;
+    private static Thread drainThread = null;
+
+    private static LongSupplier clock = RobotController::getFPGATime;
+
+    private static boolean competitionMode = false;
+
+    private static long published = 0;
+    private static long suppressedUnchanged = 0;
+    private static long suppressedRate = 0;
+    private static long suppressedLevel = 0;
+
+    private static long lastCounterPublish = 0;
+
+    private Telemetry() {}
+
+    /** Start the thread that drains the ring into NetworkTables, does nothing if it is running */
+    public static synchronized void start() {
+        if (drainThread != null) return;
+
+        drainThread = new Thread(Telemetry::drainLoop, "Telemetry");
+        drainThread.setDaemon(true);
+        drainThread.setPriority(Thread.MIN_PRIORITY);
+        drainThread.start();
+    }
+
+    /**
+     * Also write every published value to a DataLog (Ex: <code>DataLogManager.getLog()</code>)
+     *
+     * @param log The log to write to
+     */
+    public static void enableFileLog(DataLog log) {
+        fileLog = log;
+    }
+
+    /** Drain thread loop, woken by {@link #periodic()} every robot loop */
+    private static void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            drain();
+            LockSupport.parkNanos(DRAIN_TIMEOUT_NS);
+        }
+    }
+
+    /** Send every record in the ring, only call from one thread at a time */
+    static void drain() {
+        DataLog log = fileLog;
+
+        int slot;
+        while ((slot = RING.peek()) >= 0) {
+            Value value = sinks[RING.ids[slot]];
+            value.send(RING, slot);
+            if (log != null) value.log(log, RING, slot);
+
+            RING.release();
+        }
+    }
+
+    /**
+     * Publish any values that were held back by their rate limit and whose period is up, and the
+     * counters once a second. Call once a loop
+     */
+    public static void periodic() {
+        long now = clock.getAsLong();
+        flushPending(now);
+
+        Thread thread = drainThread;
+        if (thread != null) LockSupport.unpark(thread);
+
+        if (now - lastCounterPublish >= COUNTER_PERIOD_US) {
+            lastCounterPublish = now;
+
+            NetworkTablesUtils NTDebug = NetworkTablesUtils.getTable("debug/Telemetry");
+            NTDebug.setEntry("Published", published);
+            NTDebug.setEntry("Suppressed unchanged", suppressedUnchanged);
+            NTDebug.setEntry("Suppressed rate", suppressedRate);
+            NTDebug.setEntry("Suppressed level", suppressedLevel);
+            NTDebug.setEntry("Dropped", RING.getDropped());
+            NTDebug.setEntry("Queue depth", RING.size());
+            NTDebug.setEntry("Competition mode", competitionMode);
+        }
+    }
+
+    /**
+     * Publish every held back value whose period is up
+     *
+     * @param now The current time in microseconds
+     */
+    static void flushPending(long now) {
+        for (int i = 0; i < VALUES.size(); i++) VALUES.get(i).flush(now);
+    }
+
+    /**
+     * Turn competition mode on or off. Debug values are not published in competition mode, and are
+     * all republished when it is turned off
+     *
+     * @param enabled If competition mode should be on
+     */
+    public static void setCompetitionMode(boolean enabled) {
+        if (enabled == competitionMode) return;
+
+        competitionMode = enabled;
+        if (!enabled) {
+            for (int i = 0; i < VALUES.size(); i++) VALUES.get(i).hasPublished = false;
+        }
+    }
+
+    /**
+     * Check if competition mode is on
+     *
+     * @return If debug values are being dropped
+     */
+    public static boolean isCompetitionMode() {
+        return competitionMode;
+    }
+
+    /**
+     * Get the number of values published (queued for the drain thread)
+     *
+     * @return The number of publishes
+     */
+    public static long getPublished() {
+        return published;
+    }
+
+    /**
+     * Get the number of sets that were skipped because the value had not changed
+     *
+     * @return The number of suppressed publishes
+     */
+    public static long getSuppressedUnchanged() {
+        return suppressedUnchanged;
+    }
+
+    /**
+     * Get the number of sets that were held back by a rate limit
+     *
+     * @return The number of suppressed publishes
+     */
+    public static long getSuppressedRate() {
+        return suppressedRate;
+    }
+
+    /**
+     * Get the number of sets that were dropped because of competition mode
+     *
+     * @return The number of suppressed publishes
+     */
+    public static long getSuppressedLevel() {
+        return suppressedLevel;
+    }
+
+    /**
+     * Get the number of values dropped because the ring was full
+     *
+     * @return The number of dropped values
+     */
+    public static long getDropped() {
+        return RING.getDropped();
+    }
+
+    /**
+     * Use a different clock, for tests
+     *
+     * @param microsClock Returns the current time in microseconds
+     */
+    static void setClock(LongSupplier microsClock) {
+        clock = microsClock;
+    }
+
+    /**
+     * Get the default level for a table, anything under <code>debug</code> is {@link Level#DEBUG}
+     *
+     * @param table The table name
+     * @return The level
+     */
+    private static Level levelFor(String table) {
+        return table.startsWith("debug") ? Level.DEBUG : Level.INFO;
+    }
+
+    /**
+     * Get the default max rate for a level
+     *
+     * @param level The level
+     * @return The max rate in hz, 0 for no limit
+     */
+    private static double rateFor(Level level) {
+        return level == Level.DEBUG ? DEFAULT_DEBUG_RATE_HZ : 0.0;
+    }
+
+    /**
+     * Get a double value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link DoubleValue}
+     */
+    public static DoubleValue doubleValue(String table, String key) {
+        Level level = levelFor(table);
+        return doubleValue(table, key, level, rateFor(level), DEFAULT_EPSILON);
+    }
+
+    /**
+     * Get a double value
+     *
+     * @param table The table name
+     * @param key The key
+     * @param level The {@link Level}
+     * @param maxRateHz The max publish rate, 0 for no limit
+     * @param epsilon Changes smaller than this are not published
+     * @return The {@link DoubleValue}
+     */
+    public static DoubleValue doubleValue(
+            String table, String key, Level level, double maxRateHz, double epsilon) {
+        return new DoubleValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getDoublePublisher(key),
+                level,
+                maxRateHz,
+                epsilon);
+    }
+
+    /**
+     * Get a boolean value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link BooleanValue}
+     */
+    public static BooleanValue booleanValue(String table, String key) {
+        Level level = levelFor(table);
+        return booleanValue(table, key, level, rateFor(level));
+    }
+
+    /**
+     * Get a boolean value
+     *
+     * @param table The table name
+     * @param key The key
+     * @param level The {@link Level}
+     * @param maxRateHz The max publish rate, 0 for no limit
+     * @return The {@link BooleanValue}
+     */
+    public static BooleanValue booleanValue(
+            String table, String key, Level level, double maxRateHz) {
+        return new BooleanValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getBooleanPublisher(key),
+                level,
+                maxRateHz);
+    }
+
+    /**
+     * Get a double array value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link DoubleArrayValue}
+     */
+    public static DoubleArrayValue doubleArrayValue(String table, String key) {
+        Level level = levelFor(table);
+        return doubleArrayValue(table, key, level, rateFor(level), DEFAULT_EPSILON);
+    }
+
+    /**
+     * Get a double array value
+     *
+     * @param table The table name
+     * @param key The key
+     * @param level The {@link Level}
+     * @param maxRateHz The max publish rate, 0 for no limit
+     * @param epsilon Changes smaller than this (in every element) are not published
+     * @return The {@link DoubleArrayValue}
+     */
+    public static DoubleArrayValue doubleArrayValue(
+            String table, String key, Level level, double maxRateHz, double epsilon) {
+        return new DoubleArrayValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getDoubleArrayPublisher(key),
+                level,
+                maxRateHz,
+                epsilon);
+    }
+
+    /**
+     * Get a boolean array value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link BooleanArrayValue}
+     */
+    public static BooleanArrayValue booleanArrayValue(String table, String key) {
+        Level level = levelFor(table);
+        return new BooleanArrayValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getBooleanArrayPublisher(key),
+                level,
+                rateFor(level));
+    }
+
+    /**
+     * Get a string value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link StringValue}
+     */
+    public static StringValue stringValue(String table, String key) {
+        Level level = levelFor(table);
+        return new StringValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getStringPublisher(key),
+                level,
+                rateFor(level));
+    }
+
+    /**
+     * Get a {@link Pose2d} struct value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link Pose2dValue}
+     */
+    public static Pose2dValue pose2dValue(String table, String key) {
+        Level level = levelFor(table);
+        return new Pose2dValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table).getStructPublisher(key, Pose2d.struct, false),
+                level,
+                rateFor(level));
+    }
+
+    /**
+     * Get a {@link ChassisSpeeds} struct value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @return The {@link ChassisSpeedsValue}
+     */
+    public static ChassisSpeedsValue chassisSpeedsValue(String table, String key) {
+        Level level = levelFor(table);
+        return new ChassisSpeedsValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table)
+                        .getStructPublisher(key, ChassisSpeeds.struct, false),
+                level,
+                rateFor(level));
+    }
+
+    /**
+     * Get a {@link SwerveModuleState} struct array value using the defaults for the table
+     *
+     * @param table The table name
+     * @param key The key
+     * @param modules The number of modules
+     * @return The {@link ModuleStatesValue}
+     */
+    public static ModuleStatesValue moduleStatesValue(String table, String key, int modules) {
+        Level level = levelFor(table);
+        return new ModuleStatesValue(
+                table + "/" + key,
+                NetworkTablesUtils.getTable(table)
+                        .getStructPublisher(key, SwerveModuleState.struct, true),
+                modules,
+                level,
+                rateFor(level));
+    }
+
+    /**
+     * Check if two arrays differ by more than an epsilon in any element
+     *
+     * @param a The first array
+     * @param b The second array
+     * @param epsilon The epsilon
+     * @return If they differ
+     */
+    private static boolean differs(double[] a, double[] b, double epsilon) {
+        if (a.length != b.length) return true;
+
+        for (int i = 0; i < a.length; i++) {
+            if (Math.abs(a[i] - b[i]) > epsilon || Double.isNaN(a[i]) != Double.isNaN(b[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Copy doubles into a ring slot, using the reference slot if they don't fit
+     *
+     * @param ring The ring
+     * @param slot The claimed slot
+     * @param values The values
+     */
+    private static void writeDoubles(TelemetryRing ring, int slot, double[] values) {
+        ring.lengths[slot] = values.length;
+        if (values.length > TelemetryRing.SLOTS) {
+            ring.refs[slot] = values.clone();
+            return;
+        }
+
+        int base = slot * TelemetryRing.SLOTS;
+        for (int i = 0; i < values.length; i++) {
+            ring.values[base + i] = Double.doubleToRawLongBits(values[i]);
+        }
+    }
+
+    /**
+     * Read doubles written by {@link #writeDoubles(TelemetryRing, int, double[])}
+     *
+     * @param ring The ring
+     * @param slot The slot to read
+     * @param buffer A buffer to read into, used if it is the right length
+     * @return The values, either the buffer or a new array
+     */
+    private static double[] readDoubles(TelemetryRing ring, int slot, double[] buffer) {
+        if (ring.refs[slot] != null) return (double[]) ring.refs[slot];
+
+        int length = ring.lengths[slot];
+        double[] values = buffer.length == length ? buffer : new double[length];
+
+        int base = slot * TelemetryRing.SLOTS;
+        for (int i = 0; i < length; i++) values[i] = Double.longBitsToDouble(ring.values[base + i]);
+
+        return values;
+    }
+
+    /** Shared rate limit, change and level logic for every value type */
+    public abstract static class Value {
+        private final String name;
+        private final int id;
+        private final Level level;
+        private final long minPeriodUs;
+
+        private long lastPublishUs = 0;
+        private boolean hasPublished = false;
+        private boolean pending = false;
+
+        /**
+         * Create a value and register it so held back changes get flushed
+         *
+         * @param name The full name (table and key), used for the file log
+         * @param level The {@link Level}
+         * @param maxRateHz The max publish rate, 0 for no limit
+         */
+        protected Value(String name, Level level, double maxRateHz) {
+            this.name = name;
+            this.level = level;
+            this.minPeriodUs = maxRateHz > 0 ? (long) (1e6 / maxRateHz) : 0;
+
+            synchronized (VALUES) {
+                this.id = VALUES.size();
+                VALUES.add(this);
+
+                Value[] current = sinks;
+                if (this.id >= current.length) current = Arrays.copyOf(current, current.length * 2);
+                current[this.id] = this;
+                sinks = current;
+            }
+        }
+
+        /** Decide if the latest value should be published, subclasses call this from set */
+        protected final void offer() {
+            if (this.level == Level.DEBUG && competitionMode) {
+                suppressedLevel++;
+                return;
+            }
+
+            if (this.hasPublished && !this.changed()) {
+                this.pending = false;
+                suppressedUnchanged++;
+                return;
+            }
+
+            long now = clock.getAsLong();
+            if (this.hasPublished && now - this.lastPublishUs < this.minPeriodUs) {
+                this.pending = true;
+                suppressedRate++;
+                return;
+            }
+
+            this.publishNow(now);
+        }
+
+        /**
+         * Publish a held back change if its period is up
+         *
+         * @param now The current time in microseconds
+         */
+        private void flush(long now) {
+            if (!this.pending || (this.level == Level.DEBUG && competitionMode)) return;
+            if (now - this.lastPublishUs < this.minPeriodUs) return;
+
+            this.publishNow(now);
+        }
+
+        /**
+         * Queue the latest value for the drain thread. If the ring is full it stays pending and is
+         * tried again on the next flush
+         *
+         * @param now The current time in microseconds
+         */
+        private void publishNow(long now) {
+            int slot = RING.claim();
+            if (slot < 0) {
+                this.pending = true;
+                return;
+            }
+
+            RING.ids[slot] = this.id;
+            RING.timestamps[slot] = now;
+            this.write(RING, slot);
+            RING.commit();
+
+            this.lastPublishUs = now;
+            this.hasPublished = true;
+            this.pending = false;
+            published++;
+        }
+
+        /**
+         * Get the level of this value
+         *
+         * @return The {@link Level}
+         */
+        public Level getLevel() {
+            return this.level;
+        }
+
+        /**
+         * Get the full name of this value
+         *
+         * @return The table and key
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Check if the latest value is different from the last published one
+         *
+         * @return If it changed
+         */
+        protected abstract boolean changed();
+
+        /**
+         * Copy the latest value into a ring slot and remember it as the last published one, runs on
+         * the producer thread
+         *
+         * @param ring The ring
+         * @param slot The claimed slot
+         */
+        protected abstract void write(TelemetryRing ring, int slot);
+
+        /**
+         * Publish the value in a ring slot to NetworkTables, runs on the drain thread
+         *
+         * @param ring The ring
+         * @param slot The slot to read
+         */
+        protected abstract void send(TelemetryRing ring, int slot);
+
+        /**
+         * Append the value in a ring slot to the file log, runs on the drain thread
+         *
+         * @param log The log
+         * @param ring The ring
+         * @param slot The slot to read
+         */
+        protected abstract void log(DataLog log, TelemetryRing ring, int slot);
+    }
+
+    /** A double telemetry value */
+    public static class DoubleValue extends Value {
+        private final DoublePublisher publisher;
+        private final double epsilon;
+
+        private double latest;
+        private double last;
+
+        private DoubleLogEntry logEntry;
+
+        DoubleValue(
+                String name,
+                DoublePublisher publisher,
+                Level level,
+                double maxRateHz,
+                double epsilon) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+            this.epsilon = epsilon;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param value The new value
+         */
+        public void set(double value) {
+            this.latest = value;
+            this.offer();
+        }
+
+        @Override
+        protected boolean changed() {
+            return Math.abs(this.latest - this.last) > this.epsilon
+                    || Double.isNaN(this.latest) != Double.isNaN(this.last);
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            this.last = this.latest;
+            ring.values[slot * TelemetryRing.SLOTS] = Double.doubleToRawLongBits(this.latest);
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set(
+                    Double.longBitsToDouble(ring.values[slot * TelemetryRing.SLOTS]),
+                    ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                this.logEntry = new DoubleLogEntry(log, "Telemetry/" + this.getName());
+            }
+
+            this.logEntry.append(
+                    Double.longBitsToDouble(ring.values[slot * TelemetryRing.SLOTS]),
+                    ring.timestamps[slot]);
+        }
+    }
+
+    /** A boolean telemetry value */
+    public static class BooleanValue extends Value {
+        private final BooleanPublisher publisher;
+
+        private boolean latest;
+        private boolean last;
+
+        private BooleanLogEntry logEntry;
+
+        BooleanValue(String name, BooleanPublisher publisher, Level level, double maxRateHz) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param value The new value
+         */
+        public void set(boolean value) {
+            this.latest = value;
+            this.offer();
+        }
+
+        @Override
+        protected boolean changed() {
+            return this.latest != this.last;
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            this.last = this.latest;
+            ring.values[slot * TelemetryRing.SLOTS] = this.latest ? 1 : 0;
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set(ring.values[slot * TelemetryRing.SLOTS] != 0, ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                this.logEntry = new BooleanLogEntry(log, "Telemetry/" + this.getName());
+            }
+
+            this.logEntry.append(
+                    ring.values[slot * TelemetryRing.SLOTS] != 0, ring.timestamps[slot]);
+        }
+    }
+
+    /**
+     * A double array telemetry value, the array passed to set is copied so it can be reused. Arrays
+     * longer than {@link TelemetryRing#SLOTS} are copied into a new array for the ring
+     */
+    public static class DoubleArrayValue extends Value {
+        private final DoubleArrayPublisher publisher;
+        private final double epsilon;
+
+        private double[] latest = new double[0];
+        private double[] last = new double[0];
+
+        // Drain thread only
+        private double[] sendBuffer = new double[0];
+        private DoubleArrayLogEntry logEntry;
+
+        DoubleArrayValue(
+                String name,
+                DoubleArrayPublisher publisher,
+                Level level,
+                double maxRateHz,
+                double epsilon) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+            this.epsilon = epsilon;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param values The new values
+         */
+        public void set(double[] values) {
+            if (this.latest.length != values.length) this.latest = new double[values.length];
+            System.arraycopy(values, 0, this.latest, 0, values.length);
+            this.offer();
+        }
+
+        @Override
+        protected boolean changed() {
+            return differs(this.latest, this.last, this.epsilon);
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            if (this.last.length != this.latest.length) this.last = new double[this.latest.length];
+            System.arraycopy(this.latest, 0, this.last, 0, this.latest.length);
+
+            writeDoubles(ring, slot, this.latest);
+        }
+
+        /**
+         * Read a ring slot into the send buffer
+         *
+         * @param ring The ring
+         * @param slot The slot to read
+         * @return The values
+         */
+        private double[] read(TelemetryRing ring, int slot) {
+            double[] values = readDoubles(ring, slot, this.sendBuffer);
+            if (ring.refs[slot] == null) this.sendBuffer = values;
+
+            return values;
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set(this.read(ring, slot), ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                this.logEntry = new DoubleArrayLogEntry(log, "Telemetry/" + this.getName());
+            }
+
+            this.logEntry.append(this.read(ring, slot), ring.timestamps[slot]);
+        }
+    }
+
+    /**
+     * A boolean array telemetry value, the array passed to set is copied so it can be reused. Up to
+     * 64 values are packed into one slot, longer arrays are copied into a new array for the ring
+     */
+    public static class BooleanArrayValue extends Value {
+        private final BooleanArrayPublisher publisher;
+
+        private boolean[] latest = new boolean[0];
+        private boolean[] last = new boolean[0];
+
+        // Drain thread only
+        private boolean[] sendBuffer = new boolean[0];
+        private BooleanArrayLogEntry logEntry;
+
+        BooleanArrayValue(
+                String name, BooleanArrayPublisher publisher, Level level, double maxRateHz) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param values The new values
+         */
+        public void set(boolean[] values) {
+            if (this.latest.length != values.length) this.latest = new boolean[values.length];
+            System.arraycopy(values, 0, this.latest, 0, values.length);
+            this.offer();
+        }
+
+        @Override
+        protected boolean changed() {
+            return !Arrays.equals(this.latest, this.last);
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            if (this.last.length != this.latest.length) this.last = new boolean[this.latest.length];
+            System.arraycopy(this.latest, 0, this.last, 0, this.latest.length);
+
+            ring.lengths[slot] = this.latest.length;
+            if (this.latest.length > Long.SIZE) {
+                ring.refs[slot] = this.latest.clone();
+                return;
+            }
+
+            long bits = 0;
+            for (int i = 0; i < this.latest.length; i++) {
+                if (this.latest[i]) bits |= 1L << i;
+            }
+            ring.values[slot * TelemetryRing.SLOTS] = bits;
+        }
+
+        /**
+         * Read a ring slot into the send buffer
+         *
+         * @param ring The ring
+         * @param slot The slot to read
+         * @return The values
+         */
+        private boolean[] read(TelemetryRing ring, int slot) {
+            if (ring.refs[slot] != null) return (boolean[]) ring.refs[slot];
+
+            int length = ring.lengths[slot];
+            if (this.sendBuffer.length != length) this.sendBuffer = new boolean[length];
+
+            long bits = ring.values[slot * TelemetryRing.SLOTS];
+            for (int i = 0; i < length; i++) this.sendBuffer[i] = (bits & (1L << i)) != 0;
+
+            return this.sendBuffer;
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set(this.read(ring, slot), ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                this.logEntry = new BooleanArrayLogEntry(log, "Telemetry/" + this.getName());
+            }
+
+            this.logEntry.append(this.read(ring, slot), ring.timestamps[slot]);
+        }
+    }
+
+    /** A string telemetry value, strings are passed through the ring's reference slot */
+    public static class StringValue extends Value {
+        private final StringPublisher publisher;
+
+        private String latest = "";
+        private String last = "";
+
+        private StringLogEntry logEntry;
+
+        StringValue(String name, StringPublisher publisher, Level level, double maxRateHz) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param value The new value
+         */
+        public void set(String value) {
+            this.latest = value;
+            this.offer();
+        }
+
+        @Override
+        protected boolean changed() {
+            return !this.latest.equals(this.last);
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            this.last = this.latest;
+            ring.refs[slot] = this.latest;
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set((String) ring.refs[slot], ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                this.logEntry = new StringLogEntry(log, "Telemetry/" + this.getName());
+            }
+
+            this.logEntry.append((String) ring.refs[slot], ring.timestamps[slot]);
+        }
+    }
+
+    /**
+     * A struct telemetry value for structs made only of doubles ({@link Pose2d}, {@link
+     * ChassisSpeeds}, {@link SwerveModuleState}). The doubles go through the ring like any other
+     * value and the drain thread packs them into a reused byte buffer, so nothing is allocated on
+     * either side. Log viewers decode the struct from the published schema
+     */
+    public abstract static class StructValue extends Value {
+        private final RawPublisher publisher;
+        private final Struct<?> struct;
+        private final String typeString;
+        private final double epsilon;
+
+        protected final double[] latest;
+        private final double[] last;
+
+        // Drain thread only
+        private final double[] readBuffer;
+        private final byte[] sendBytes;
+        private final ByteBuffer sendBuffer;
+        private RawLogEntry logEntry;
+
+        /**
+         * Create a new struct value
+         *
+         * @param name The full name (table and key)
+         * @param publisher A raw publisher with the struct's type string
+         * @param struct The struct
+         * @param count The number of structs (1 unless it is an array)
+         * @param array If the topic is an array of the struct
+         * @param level The {@link Level}
+         * @param maxRateHz The max publish rate, 0 for no limit
+         */
+        StructValue(
+                String name,
+                RawPublisher publisher,
+                Struct<?> struct,
+                int count,
+                boolean array,
+                Level level,
+                double maxRateHz) {
+            super(name, level, maxRateHz);
+            this.publisher = publisher;
+            this.struct = struct;
+            this.typeString = struct.getTypeString() + (array ? "[]" : "");
+            this.epsilon = DEFAULT_EPSILON;
+
+            int doubles = count * struct.getSize() / Double.BYTES;
+            this.latest = new double[doubles];
+            this.last = new double[doubles];
+            this.readBuffer = new double[doubles];
+            this.sendBytes = new byte[doubles * Double.BYTES];
+            this.sendBuffer = ByteBuffer.wrap(this.sendBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        protected boolean changed() {
+            return differs(this.latest, this.last, this.epsilon);
+        }
+
+        @Override
+        protected void write(TelemetryRing ring, int slot) {
+            System.arraycopy(this.latest, 0, this.last, 0, this.latest.length);
+            writeDoubles(ring, slot, this.latest);
+        }
+
+        /**
+         * Pack a ring slot into the send buffer
+         *
+         * @param ring The ring
+         * @param slot The slot to read
+         * @return The struct bytes
+         */
+        private byte[] pack(TelemetryRing ring, int slot) {
+            double[] values = readDoubles(ring, slot, this.readBuffer);
+            for (int i = 0; i < values.length; i++) {
+                this.sendBuffer.putDouble(i * Double.BYTES, values[i]);
+            }
+
+            return this.sendBytes;
+        }
+
+        @Override
+        protected void send(TelemetryRing ring, int slot) {
+            this.publisher.set(this.pack(ring, slot), ring.timestamps[slot]);
+        }
+
+        @Override
+        protected void log(DataLog log, TelemetryRing ring, int slot) {
+            if (this.logEntry == null) {
+                log.addSchema(this.struct);
+                this.logEntry =
+                        new RawLogEntry(log, "Telemetry/" + this.getName(), "", this.typeString);
+            }
+
+            this.logEntry.append(this.pack(ring, slot), ring.timestamps[slot]);
+        }
+    }
+
+    /** A {@link Pose2d} telemetry value */
+    public static class Pose2dValue extends StructValue {
+        Pose2dValue(String name, RawPublisher publisher, Level level, double maxRateHz) {
+            super(name, publisher, Pose2d.struct, 1, false, level, maxRateHz);
+        }
+
+        /**
+         * Set the value
+         *
+         * @param pose The new pose
+         */
+        public void set(Pose2d pose) {
+            this.set(pose.getX(), pose.getY(), pose.getRotation().getRadians());
+        }
+
+        /**
+         * Set the value without needing a {@link Pose2d}
+         *
+         * @param x The x position in meters
+         * @param y The y position in meters
+         * @param rotationRad The rotation in radians
+         */
+        public void set(double x, double y, double rotationRad) {
+            this.latest[0] = x;
+            this.latest[1] = y;
+            this.latest[2] = rotationRad;
+            this.offer();
+        }
+    }
+
+    /** A {@link ChassisSpeeds} telemetry value */
+    public static class ChassisSpeedsValue extends StructValue {
+        ChassisSpeedsValue(String name, RawPublisher publisher, Level level, double maxRateHz) {
+            super(name, publisher, ChassisSpeeds.struct, 1, false, level, maxRateHz);
+        }
+
+        /**
+         * Set the value
+         *
+         * @param speeds The new speeds
+         */
+        public void set(ChassisSpeeds speeds) {
+            this.latest[0] = speeds.vxMetersPerSecond;
+            this.latest[1] = speeds.vyMetersPerSecond;
+            this.latest[2] = speeds.omegaRadiansPerSecond;
+            this.offer();
+        }
+    }
+
+    /** A {@link SwerveModuleState} array telemetry value */
+    public static class ModuleStatesValue extends StructValue {
+        private final int modules;
+
+        ModuleStatesValue(
+                String name, RawPublisher publisher, int modules, Level level, double maxRateHz) {
+            super(name, publisher, SwerveModuleState.struct, modules, true, level, maxRateHz);
+            this.modules = modules;
+        }
+
+        /**
+         * Set the value
+         *
+         * @param states The new states, in the same order every time
+         */
+        public void set(SwerveModuleState[] states) {
+            for (int i = 0; i < this.modules; i++) {
+                this.latest[i * 2] = states[i].speedMetersPerSecond;
+                this.latest[i * 2 + 1] = states[i].angle.getRadians();
+            }
+            this.offer();
+        }
+
+        /**
+         * Set the value without building states
+         *
+         * @param speeds The speed of each module in meters per second
+         * @param angles The angle of each module in radians
+         */
+        public void set(double[] speeds, double[] angles) {
+            for (int i = 0; i < this.modules; i++) {
+                this.latest[i * 2] = speeds[i];
+                this.latest[i * 2 + 1] = angles[i];
+            }
+            this.offer();
+        }
+    }
+}
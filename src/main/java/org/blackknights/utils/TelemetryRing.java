@@ -0,0 +1,130 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single producer, single consumer ring of telemetry records. Every record is a key
+ * id, a length, a timestamp and up to {@link #SLOTS} primitive value slots, so writing one never
+ * allocates. The key id decides how the slots are read. Values that don't fit in the slots (long
+ * arrays, strings) go in the reference slot
+ *
+ * <p>The producer calls {@link #claim()}, fills the slot arrays at the returned index and then
+ * calls {@link #commit()}. The consumer calls {@link #peek()}, reads the slot and then calls {@link
+ * #release()}. If the ring is full the record is dropped and counted, the producer never blocks
+ */
+final class TelemetryRing {
+    /** Primitive value slots per record */
+    static final int SLOTS = 8;
+
+    final int[] ids;
+    final int[] lengths;
+    final long[] timestamps;
+    final long[] values;
+    final Object[] refs;
+
+    private final int capacity;
+    private final int mask;
+
+    // Next record to be read, only written by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // Next record to be written, only written by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Producer only
+    private long producerIndex = 0;
+    private long headCache = 0;
+
+    // Consumer only
+    private long consumerIndex = 0;
+    private long tailCache = 0;
+
+    /**
+     * Create a new ring
+     *
+     * @param capacity The number of records, rounded up to a power of 2
+     */
+    TelemetryRing(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = this.capacity - 1;
+
+        this.ids = new int[this.capacity];
+        this.lengths = new int[this.capacity];
+        this.timestamps = new long[this.capacity];
+        this.values = new long[this.capacity * SLOTS];
+        this.refs = new Object[this.capacity];
+    }
+
+    /**
+     * Get the slot for the next record, producer only
+     *
+     * @return The slot index, or -1 if the ring is full (the record is counted as dropped)
+     */
+    int claim() {
+        if (this.producerIndex - this.headCache >= this.capacity) {
+            this.headCache = this.head.get();
+            if (this.producerIndex - this.headCache >= this.capacity) {
+                this.dropped.incrementAndGet();
+                return -1;
+            }
+        }
+
+        return (int) (this.producerIndex & this.mask);
+    }
+
+    /** Make the claimed record visible to the consumer, producer only */
+    void commit() {
+        this.producerIndex++;
+        this.tail.lazySet(this.producerIndex);
+    }
+
+    /**
+     * Get the slot of the next record to read, consumer only
+     *
+     * @return The slot index, or -1 if the ring is empty
+     */
+    int peek() {
+        if (this.consumerIndex >= this.tailCache) {
+            this.tailCache = this.tail.get();
+            if (this.consumerIndex >= this.tailCache) return -1;
+        }
+
+        return (int) (this.consumerIndex & this.mask);
+    }
+
+    /** Free the record returned by {@link #peek()}, consumer only */
+    void release() {
+        this.refs[(int) (this.consumerIndex & this.mask)] = null;
+        this.consumerIndex++;
+        this.head.lazySet(this.consumerIndex);
+    }
+
+    /**
+     * Get the number of records dropped because the ring was full
+     *
+     * @return The number of dropped records
+     */
+    long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Get the number of records waiting to be read
+     *
+     * @return The number of records
+     */
+    int size() {
+        return (int) (this.tail.get() - this.head.get());
+    }
+
+    /**
+     * Get the number of records the ring can hold
+     *
+     * @return The capacity
+     */
+    int getCapacity() {
+        return this.capacity;
+    }
+}
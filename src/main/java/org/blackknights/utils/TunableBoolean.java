@@ -0,0 +1,59 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+/**
+ * A handle to a boolean value in {@link ConfigManager}. The value is stored in a {@link
+ * TuningRegistry} slot, so reading it is just an array load (no locking, no casting, no
+ * allocation). Safe to read from any thread
+ */
+public class TunableBoolean {
+    private final String key;
+    private final int index;
+
+    /**
+     * Create a new tunable boolean, use {@link ConfigManager#booleanKey(String, boolean)} instead
+     *
+     * @param key The key in the json
+     * @param value The starting value
+     */
+    TunableBoolean(String key, boolean value) {
+        this.key = key;
+        this.index = TuningRegistry.addBoolean(value);
+    }
+
+    /**
+     * Get the current value
+     *
+     * @return The current value
+     */
+    public boolean get() {
+        return TuningRegistry.getBoolean(this.index);
+    }
+
+    /**
+     * Get the key of this value in the config
+     *
+     * @return The key
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Get the index of this value in the registry
+     *
+     * @return The dense index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Store a new value, only called by {@link ConfigManager} on the main thread
+     *
+     * @param value The new value
+     */
+    void set(boolean value) {
+        TuningRegistry.setBoolean(this.index, value);
+    }
+}
@@ -0,0 +1,59 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+/**
+ * A handle to a double value in {@link ConfigManager}. The value is parsed once when it changes and
+ * stored in a {@link TuningRegistry} slot, so reading it is just an array load (no locking, no
+ * parsing, no allocation). Safe to read from any thread
+ */
+public class TunableDouble {
+    private final String key;
+    private final int index;
+
+    /**
+     * Create a new tunable double, use {@link ConfigManager#doubleKey(String, double)} instead
+     *
+     * @param key The key in the json
+     * @param value The starting value
+     */
+    TunableDouble(String key, double value) {
+        this.key = key;
+        this.index = TuningRegistry.addDouble(value);
+    }
+
+    /**
+     * Get the current value
+     *
+     * @return The current value
+     */
+    public double get() {
+        return TuningRegistry.getDouble(this.index);
+    }
+
+    /**
+     * Get the key of this value in the config
+     *
+     * @return The key
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Get the index of this value in the registry
+     *
+     * @return The dense index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Store a new value, only called by {@link ConfigManager} on the main thread
+     *
+     * @param value The new value
+     */
+    void set(double value) {
+        TuningRegistry.setDouble(this.index, value);
+    }
+}
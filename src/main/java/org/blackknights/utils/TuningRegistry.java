@@ -0,0 +1,100 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Flat primitive storage for every registered {@link TunableDouble} and {@link TunableBoolean}.
+ * Each handle gets a dense index when it is registered, so reading it is one array load
+ *
+ * <p>The arrays are sized once and never replaced. Values are written on the main thread
+ * (registration and {@link ConfigManager#dispatchChanges()}) with release stores and read with
+ * acquire loads, so any thread can read a handle and see a whole, current value without a lock.
+ * Doubles are stored as their raw long bits so they can't tear
+ */
+final class TuningRegistry {
+    /** The most doubles that can be registered */
+    static final int MAX_DOUBLES = 256;
+
+    /** The most booleans that can be registered */
+    static final int MAX_BOOLEANS = 64;
+
+    private static final AtomicLongArray doubles = new AtomicLongArray(MAX_DOUBLES);
+    private static final AtomicIntegerArray booleans = new AtomicIntegerArray(MAX_BOOLEANS);
+
+    private static int doubleCount = 0;
+    private static int booleanCount = 0;
+
+    private TuningRegistry() {}
+
+    /**
+     * Add a new double slot
+     *
+     * @param value The starting value
+     * @return The index of the slot
+     */
+    static synchronized int addDouble(double value) {
+        if (doubleCount == MAX_DOUBLES) {
+            throw new IllegalStateException(
+                    "More than " + MAX_DOUBLES + " tunable doubles, raise MAX_DOUBLES");
+        }
+        setDouble(doubleCount, value);
+        return doubleCount++;
+    }
+
+    /**
+     * Add a new boolean slot
+     *
+     * @param value The starting value
+     * @return The index of the slot
+     */
+    static synchronized int addBoolean(boolean value) {
+        if (booleanCount == MAX_BOOLEANS) {
+            throw new IllegalStateException(
+                    "More than " + MAX_BOOLEANS + " tunable booleans, raise MAX_BOOLEANS");
+        }
+        setBoolean(booleanCount, value);
+        return booleanCount++;
+    }
+
+    /**
+     * Read a double slot
+     *
+     * @param index The index of the slot
+     * @return The value
+     */
+    static double getDouble(int index) {
+        return Double.longBitsToDouble(doubles.getAcquire(index));
+    }
+
+    /**
+     * Write a double slot
+     *
+     * @param index The index of the slot
+     * @param value The new value
+     */
+    static void setDouble(int index, double value) {
+        doubles.setRelease(index, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Read a boolean slot
+     *
+     * @param index The index of the slot
+     * @return The value
+     */
+    static boolean getBoolean(int index) {
+        return booleans.getAcquire(index) != 0;
+    }
+
+    /**
+     * Write a boolean slot
+     *
+     * @param index The index of the slot
+     * @param value The new value
+     */
+    static void setBoolean(int index, boolean value) {
+        booleans.setRelease(index, value ? 1 : 0);
+    }
+}
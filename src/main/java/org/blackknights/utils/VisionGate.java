@@ -0,0 +1,39 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+/**
+ * Decides when camera frames are gated by the tags they should see from the estimated pose. The
+ * prediction is only as good as the pose, so gating starts once a vision measurement has been fused
+ * and stops again when none has been fused for a while. Without the timeout a pose that drifted far
+ * enough would predict the wrong tags, every frame would be gated away and vision could never pull
+ * the pose back
+ */
+public final class VisionGate {
+    // NaN until a measurement is fused, which never compares as inside the timeout
+    private double lastFusedSeconds = Double.NaN;
+
+    /**
+     * Record that a vision measurement was fused
+     *
+     * @param nowSeconds The current time in seconds
+     */
+    public void fused(double nowSeconds) {
+        this.lastFusedSeconds = nowSeconds;
+    }
+
+    /** Forget every fused measurement, used when the pose is reset */
+    public void reset() {
+        this.lastFusedSeconds = Double.NaN;
+    }
+
+    /**
+     * Check if frames should be gated
+     *
+     * @param nowSeconds The current time in seconds
+     * @param timeoutSeconds How long after the last fused measurement to stop gating
+     * @return Whether a measurement was fused less than the timeout ago
+     */
+    public boolean isGated(double nowSeconds, double timeoutSeconds) {
+        return nowSeconds - this.lastFusedSeconds < timeoutSeconds;
+    }
+}
@@ -0,0 +1,73 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.geometry.Pose3d;
+
+/** One robot pose seen by a camera, immutable */
+public final class VisionMeasurement {
+    private final String cameraName;
+    private final Pose3d pose;
+    private final double timestampSeconds;
+    private final Pose3d targetPose;
+
+    /**
+     * Create a new vision measurement
+     *
+     * @param cameraName The name of the camera that saw it
+     * @param pose The field relative pose of the robot
+     * @param timestampSeconds The FPGA time the frame was captured at in seconds
+     * @param targetPose The pose of the best target relative to the robot
+     */
+    public VisionMeasurement(
+            String cameraName, Pose3d pose, double timestampSeconds, Pose3d targetPose) {
+        this.cameraName = cameraName;
+        this.pose = pose;
+        this.timestampSeconds = timestampSeconds;
+        this.targetPose = targetPose;
+    }
+
+    /**
+     * Get the name of the camera that saw this measurement
+     *
+     * @return The camera name
+     */
+    public String getCameraName() {
+        return this.cameraName;
+    }
+
+    /**
+     * Get the field relative pose of the robot
+     *
+     * @return The {@link Pose3d} of the robot
+     */
+    public Pose3d getPose() {
+        return this.pose;
+    }
+
+    /**
+     * Get the time the frame was captured
+     *
+     * @return The FPGA time in seconds
+     */
+    public double getTimestamp() {
+        return this.timestampSeconds;
+    }
+
+    /**
+     * Get the pose of the best target relative to the robot
+     *
+     * @return The {@link Pose3d} of the target
+     */
+    public Pose3d getTargetPose() {
+        return this.targetPose;
+    }
+
+    /**
+     * Get the distance to the best target on the floor
+     *
+     * @return The distance in meters
+     */
+    public double getTargetDistance() {
+        return Math.hypot(this.targetPose.getX(), this.targetPose.getY());
+    }
+}
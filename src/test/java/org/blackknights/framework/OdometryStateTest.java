@@ -0,0 +1,93 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class OdometryStateTest {
+    private static final int WRITES = 20_000;
+    private static final int READERS = 4;
+
+    private final Odometry odometry = Odometry.getInstance();
+    private final SwerveModulePosition[] positions = {
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition()
+    };
+
+    @AfterEach
+    public void cleanup() {
+        this.odometry.resetPose(new Pose3d(), new Rotation3d(), this.positions);
+        this.odometry.publishState(0.0, new ChassisSpeeds());
+    }
+
+    @Test
+    public void testSpeedsAreCopied() {
+        ChassisSpeeds speeds = new ChassisSpeeds(1.0, 2.0, 3.0);
+        this.odometry.publishState(1.0, speeds);
+        speeds.vxMetersPerSecond = 5.0;
+
+        assertEquals(1.0, this.odometry.getState().getVx());
+        assertEquals(1.0, this.odometry.getState().getSpeeds().vxMetersPerSecond);
+    }
+
+    @Test
+    public void testNoTornReads() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicInteger torn = new AtomicInteger();
+        AtomicInteger backwards = new AtomicInteger();
+        AtomicLong distinctReads = new AtomicLong();
+
+        Thread[] readers = new Thread[READERS];
+        for (int r = 0; r < READERS; r++) {
+            readers[r] =
+                    new Thread(
+                            () -> {
+                                double last = -1.0;
+                                while (!done.get()) {
+                                    OdometryState state = this.odometry.getState();
+                                    double t = state.getTimestamp();
+                                    if (t < last) backwards.incrementAndGet();
+                                    if (t != last) distinctReads.incrementAndGet();
+                                    last = t;
+
+                                    // Every field of a published state is derived from its time
+                                    if (state.getPose().getX() != t
+                                            || state.getPose().getY() != 2 * t
+                                            || state.getVx() != 3 * t
+                                            || state.getVy() != 4 * t) {
+                                        torn.incrementAndGet();
+                                    }
+                                }
+                            });
+            readers[r].start();
+        }
+
+        // Only this thread touches the estimator, like the main loop
+        for (int i = 1; i <= WRITES; i++) {
+            this.odometry.resetPose(
+                    new Pose3d(i, 2 * i, 0.0, new Rotation3d()), new Rotation3d(), this.positions);
+            this.odometry.publishState(i, new ChassisSpeeds(3 * i, 4 * i, 0.0));
+        }
+        done.set(true);
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, torn.get(), "torn reads");
+        assertEquals(0, backwards.get(), "reads that went back in time");
+        assertTrue(distinctReads.get() > READERS, "readers never saw a new state");
+    }
+}
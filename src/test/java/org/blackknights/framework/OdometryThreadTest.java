@@ -0,0 +1,119 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class OdometryThreadTest {
+    private final AtomicLong time = new AtomicLong(1_000_000);
+    private double distance = 0.0;
+
+    private OdometryThread create(int capacity) {
+        return new OdometryThread(
+                (drivePositions, turnAngles) -> {
+                    for (int i = 0; i < drivePositions.length; i++) {
+                        drivePositions[i] = this.distance + i;
+                        turnAngles[i] = -this.distance;
+                    }
+                    return this.distance * 2;
+                },
+                4,
+                200.0,
+                capacity,
+                this.time::get);
+    }
+
+    @Test
+    public void testDrainsInOrderWithTimestamps() {
+        OdometryThread thread = this.create(16);
+
+        for (int i = 0; i < 3; i++) {
+            this.distance = i;
+            thread.sample();
+            this.time.addAndGet(5_000);
+        }
+
+        List<double[]> samples = new ArrayList<>();
+        int count =
+                thread.drain(
+                        (timestamp, yaw, drivePositions, turnAngles) ->
+                                samples.add(
+                                        new double[] {
+                                            timestamp, yaw, drivePositions[3], turnAngles[0]
+                                        }));
+
+        assertEquals(3, count);
+        assertArrayEquals(new double[] {1.0, 0.0, 3.0, 0.0}, samples.get(0), 1e-9);
+        assertArrayEquals(new double[] {1.005, 2.0, 4.0, -1.0}, samples.get(1), 1e-9);
+        assertArrayEquals(new double[] {1.01, 4.0, 5.0, -2.0}, samples.get(2), 1e-9);
+        assertEquals(5.0, thread.getMaxPeriodMs(), 1e-9);
+
+        assertEquals(0, thread.drain((timestamp, yaw, drivePositions, turnAngles) -> {}));
+    }
+
+    @Test
+    public void testDropsOldestWhenFull() {
+        OdometryThread thread = this.create(4);
+
+        for (int i = 0; i < 6; i++) {
+            this.distance = i;
+            thread.sample();
+            this.time.addAndGet(5_000);
+        }
+
+        List<Double> yaws = new ArrayList<>();
+        thread.drain((timestamp, yaw, drivePositions, turnAngles) -> yaws.add(yaw));
+
+        assertEquals(List.of(4.0, 6.0, 8.0, 10.0), yaws);
+        assertEquals(2, thread.getDropped());
+        assertEquals(4, thread.getQueueDepth());
+    }
+
+    @Test
+    public void testClearDiscardsQueuedAndInFlightSamples() {
+        OdometryThread[] thread = new OdometryThread[1];
+        thread[0] =
+                new OdometryThread(
+                        (drivePositions, turnAngles) -> {
+                            // The pose is reset while this sample is being read
+                            if (this.distance == 1.0) thread[0].clear();
+                            return this.distance;
+                        },
+                        4,
+                        200.0,
+                        16,
+                        this.time::get);
+
+        this.distance = 0.0;
+        thread[0].sample();
+        this.distance = 1.0;
+        thread[0].sample();
+        this.distance = 2.0;
+        thread[0].sample();
+
+        List<Double> yaws = new ArrayList<>();
+        thread[0].drain((timestamp, yaw, drivePositions, turnAngles) -> yaws.add(yaw));
+
+        assertEquals(List.of(2.0), yaws);
+        assertEquals(0, thread[0].getDropped());
+    }
+
+    @Test
+    public void testMeasuresSampleRate() {
+        OdometryThread thread = this.create(64);
+        thread.drain((timestamp, yaw, drivePositions, turnAngles) -> {});
+
+        for (int i = 0; i < 4; i++) {
+            this.time.addAndGet(5_000);
+            thread.sample();
+        }
+        thread.drain((timestamp, yaw, drivePositions, turnAngles) -> {});
+
+        assertEquals(200.0, thread.getSampleRateHz(), 1e-9);
+    }
+}
@@ -0,0 +1,82 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import org.blackknights.constants.DrivetrainConstants;
+import org.junit.jupiter.api.Test;
+
+public class PoseEstimatorBackendTest {
+    private static final double DELTA = 1e-6;
+    private static final double[] WHEEL_TRUST = {0.1, 0.1, 0.1};
+    private static final double[] VISION_TRUST = {0.9, 0.9, 0.9};
+
+    private static SwerveModulePosition[] positions(double distance) {
+        return new SwerveModulePosition[] {
+            new SwerveModulePosition(distance, new Rotation2d()),
+            new SwerveModulePosition(distance, new Rotation2d()),
+            new SwerveModulePosition(distance, new Rotation2d()),
+            new SwerveModulePosition(distance, new Rotation2d())
+        };
+    }
+
+    private static PoseEstimatorBackend[] backends() {
+        return new PoseEstimatorBackend[] {
+            new PoseEstimatorBackend.Estimator2d(
+                    DrivetrainConstants.DRIVE_KINEMATICS, positions(0), WHEEL_TRUST, VISION_TRUST),
+            new PoseEstimatorBackend.Estimator3d(
+                    DrivetrainConstants.DRIVE_KINEMATICS, positions(0), WHEEL_TRUST, VISION_TRUST)
+        };
+    }
+
+    private static void assertSamePose(PoseEstimatorBackend a, PoseEstimatorBackend b) {
+        assertEquals(a.getX(), b.getX(), DELTA);
+        assertEquals(a.getY(), b.getY(), DELTA);
+        assertEquals(a.getYaw(), b.getYaw(), DELTA);
+
+        Pose3d pose = a.getEstimatedPosition();
+        assertEquals(a.getX(), pose.getX(), DELTA);
+        assertEquals(a.getY(), pose.getY(), DELTA);
+        assertEquals(a.getYaw(), pose.getRotation().getZ(), DELTA);
+    }
+
+    @Test
+    public void testBackendsAgreeOnFlatField() {
+        PoseEstimatorBackend[] backends = backends();
+        Rotation3d heading = new Rotation3d(0.0, 0.0, Math.toRadians(30));
+
+        for (PoseEstimatorBackend backend : backends) {
+            for (int i = 1; i <= 100; i++) {
+                backend.update(i * 0.005, heading, positions(i * 0.01));
+            }
+        }
+        assertEquals(Math.cos(Math.toRadians(30)), backends[0].getX(), DELTA);
+        assertEquals(Math.sin(Math.toRadians(30)), backends[0].getY(), DELTA);
+        assertSamePose(backends[0], backends[1]);
+
+        Pose3d seen = new Pose3d(1.0, 0.4, 0.0, heading);
+        for (PoseEstimatorBackend backend : backends) {
+            backend.addVisionMeasurement(seen, 0.25);
+        }
+        assertSamePose(backends[0], backends[1]);
+    }
+
+    @Test
+    public void testReset() {
+        for (PoseEstimatorBackend backend : backends()) {
+            backend.update(0.005, new Rotation3d(), positions(0.5));
+            backend.resetPosition(
+                    new Rotation3d(),
+                    positions(0),
+                    new Pose3d(2.0, 3.0, 0.0, new Rotation3d(0.0, 0.0, 1.0)));
+
+            assertEquals(2.0, backend.getX(), DELTA);
+            assertEquals(3.0, backend.getY(), DELTA);
+            assertEquals(1.0, backend.getYaw(), DELTA);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import org.blackknights.constants.DrivetrainConstants;
+import org.blackknights.utils.Benchmark;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the cost of the 2d and 3d pose estimators per wheel update, with and without vision. Run
+ * with <code>./gradlew benchmark</code> (ideally on the rio, the numbers on a laptop are a lot
+ * smaller)
+ */
+@Tag("benchmark")
+public class PoseEstimatorBenchmarkTest {
+    private static final int WARMUP = 20_000;
+    private static final int UPDATES = 100_000;
+    private static final int VISION_EVERY = 10;
+    private static final double[] WHEEL_TRUST = {0.1, 0.1, Math.toRadians(5)};
+    private static final double[] VISION_TRUST = {0.9, 0.9, Math.toRadians(5)};
+
+    private final Benchmark benchmark =
+            new Benchmark(
+                    String.format(
+                            "%d updates, a vision measurement every %d", UPDATES, VISION_EVERY),
+                    WARMUP,
+                    UPDATES);
+
+    private final SwerveModulePosition[] positions = {
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition(),
+        new SwerveModulePosition()
+    };
+
+    /** Drive in a circle at the odometry rate, fusing a vision pose every few samples if asked */
+    private void drive(boolean planar, boolean vision, int samples) {
+        PoseEstimatorBackend backend = this.create(planar);
+        for (int i = 1; i <= samples; i++) {
+            double t = i * 0.005;
+            Rotation2d angle = Rotation2d.fromRadians(t * 0.5);
+            for (int m = 0; m < 4; m++) {
+                this.positions[m] = new SwerveModulePosition(t * 2.0, angle);
+            }
+            Rotation3d gyro = new Rotation3d(0.0, 0.0, t * 0.2);
+            backend.update(t, gyro, this.positions);
+
+            if (vision && i % VISION_EVERY == 0) {
+                backend.addVisionMeasurement(new Pose3d(t, t, 0.0, gyro), t - 0.02);
+            }
+        }
+        this.benchmark.consume(backend.getX());
+    }
+
+    private PoseEstimatorBackend create(boolean planar) {
+        SwerveModulePosition[] start = {
+            new SwerveModulePosition(),
+            new SwerveModulePosition(),
+            new SwerveModulePosition(),
+            new SwerveModulePosition()
+        };
+        return planar
+                ? new PoseEstimatorBackend.Estimator2d(
+                        DrivetrainConstants.DRIVE_KINEMATICS, start, WHEEL_TRUST, VISION_TRUST)
+                : new PoseEstimatorBackend.Estimator3d(
+                        DrivetrainConstants.DRIVE_KINEMATICS, start, WHEEL_TRUST, VISION_TRUST);
+    }
+
+    @Test
+    public void benchmarkEstimators() throws Exception {
+        this.benchmark
+                .add("2d", ops -> this.drive(true, false, ops))
+                .add("2d with vision", ops -> this.drive(true, true, ops))
+                .add("3d", ops -> this.drive(false, false, ops))
+                .add("3d with vision", ops -> this.drive(false, true, ops))
+                .run();
+    }
+}
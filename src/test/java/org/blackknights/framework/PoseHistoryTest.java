@@ -0,0 +1,103 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PoseHistoryTest {
+    private final double[] out = new double[PoseHistory.MODULES + 2];
+
+    @Test
+    public void testInterpolatesBetweenSamples() {
+        PoseHistory history = new PoseHistory(8, 2);
+        history.add(1.0, 0.0, 0.0, 0.0, 0.0, new double[] {0.0, 0.0});
+        history.add(2.0, 2.0, 4.0, 0.0, 1.0, new double[] {1.0, 2.0});
+
+        assertTrue(history.sample(1.25, this.out));
+        assertEquals(0.5, this.out[PoseHistory.X], 1e-9);
+        assertEquals(1.0, this.out[PoseHistory.Y], 1e-9);
+        assertEquals(0.25, this.out[PoseHistory.YAW], 1e-9);
+        assertEquals(0.25, this.out[PoseHistory.MODULES], 1e-9);
+        assertEquals(0.5, this.out[PoseHistory.MODULES + 1], 1e-9);
+    }
+
+    @Test
+    public void testYawTakesShortestPath() {
+        PoseHistory history = new PoseHistory(8, 2);
+        history.add(1.0, 0.0, 0.0, 0.0, Math.PI - 0.1, new double[2]);
+        history.add(2.0, 0.0, 0.0, 0.0, -Math.PI + 0.1, new double[2]);
+
+        assertTrue(history.sample(1.5, this.out));
+        assertEquals(Math.PI, Math.abs(this.out[PoseHistory.YAW]), 1e-9);
+    }
+
+    @Test
+    public void testOutOfRange() {
+        PoseHistory history = new PoseHistory(8, 2);
+        assertFalse(history.sample(1.0, this.out));
+
+        history.add(1.0, 1.0, 0.0, 0.0, 0.0, new double[2]);
+        history.add(2.0, 2.0, 0.0, 0.0, 0.0, new double[2]);
+
+        assertFalse(history.sample(0.5, this.out));
+        assertTrue(history.sample(3.0, this.out));
+        assertEquals(2.0, this.out[PoseHistory.X], 1e-9);
+    }
+
+    @Test
+    public void testOverwritesOldest() {
+        PoseHistory history = new PoseHistory(4, 2);
+        for (int i = 0; i < 10; i++) {
+            history.add(i, i, 0.0, 0.0, 0.0, new double[2]);
+        }
+
+        assertEquals(4, history.size());
+        assertEquals(6.0, history.getOldestTimestamp());
+        assertEquals(9.0, history.getNewestTimestamp());
+        assertFalse(history.sample(5.5, this.out));
+
+        for (int i = 6; i < 9; i++) {
+            assertTrue(history.sample(i + 0.5, this.out));
+            assertEquals(i + 0.5, this.out[PoseHistory.X], 1e-9);
+        }
+    }
+
+    @Test
+    public void testCorrectMovesLaterSamples() {
+        PoseHistory history = new PoseHistory(8, 2);
+        history.add(1.0, 0.0, 0.0, 0.0, 0.0, new double[2]);
+        history.add(2.0, 1.0, 0.0, 0.0, 0.0, new double[2]);
+        history.add(3.0, 2.0, 0.0, 0.0, 0.0, new double[2]);
+
+        // Vision at 2 seconds says the robot was at (1, 1), turned 90 degrees to the left
+        history.correct(
+                2.0, new double[] {2.0, 0.0, 0.0, 0.0}, new double[] {1.0, 2.0, 0.5, Math.PI / 2});
+
+        assertTrue(history.sample(1.0, this.out));
+        assertEquals(0.0, this.out[PoseHistory.X], 1e-9);
+        assertEquals(0.0, this.out[PoseHistory.Y], 1e-9);
+        assertEquals(0.0, this.out[PoseHistory.YAW], 1e-9);
+
+        assertTrue(history.sample(2.0, this.out));
+        assertEquals(1.0, this.out[PoseHistory.X], 1e-9);
+        assertEquals(1.0, this.out[PoseHistory.Y], 1e-9);
+        assertEquals(0.5, this.out[PoseHistory.Z], 1e-9);
+        assertEquals(Math.PI / 2, this.out[PoseHistory.YAW], 1e-9);
+
+        assertTrue(history.sample(3.0, this.out));
+        assertEquals(1.0, this.out[PoseHistory.X], 1e-9);
+        assertEquals(2.0, this.out[PoseHistory.Y], 1e-9);
+    }
+
+    @Test
+    public void testIgnoresOldSamples() {
+        PoseHistory history = new PoseHistory(4, 2);
+        history.add(2.0, 2.0, 0.0, 0.0, 0.0, new double[2]);
+        history.add(1.0, 1.0, 0.0, 0.0, 0.0, new double[2]);
+
+        assertEquals(1, history.size());
+    }
+}
@@ -0,0 +1,110 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times named workloads and prints how long one op of each took. Every workload is warmed up before
+ * any of them is timed, so the JIT has compiled them all. Used by the benchmark tests, run with
+ * <code>./gradlew benchmark</code>
+ */
+public final class Benchmark {
+    /** The work being timed */
+    @FunctionalInterface
+    public interface Workload {
+        /**
+         * Do the work, pass anything it computes to {@link #consume(double)}
+         *
+         * @param ops The number of ops to do
+         * @throws Exception If the work fails, which fails the benchmark
+         */
+        void run(int ops) throws Exception;
+    }
+
+    private final String title;
+    private final int warmupOps;
+    private final int ops;
+    private final List<String> names = new ArrayList<>();
+    private final List<Workload> workloads = new ArrayList<>();
+
+    // Kept so the JIT can't drop the work
+    private double sink = 0.0;
+
+    /**
+     * Create a new benchmark
+     *
+     * @param title Printed above the results
+     * @param warmupOps The number of ops to run each workload for before timing
+     * @param ops The number of ops to time each workload for
+     */
+    public Benchmark(String title, int warmupOps, int ops) {
+        this.title = title;
+        this.warmupOps = warmupOps;
+        this.ops = ops;
+    }
+
+    /**
+     * Add a workload, they are run in the order they are added
+     *
+     * @param name The name printed next to its time
+     * @param workload The work to time
+     * @return This benchmark
+     */
+    public Benchmark add(String name, Workload workload) {
+        this.names.add(name);
+        this.workloads.add(workload);
+        return this;
+    }
+
+    /**
+     * Use a value computed by a workload, so the work can't be optimized away
+     *
+     * @param value The value
+     */
+    public void consume(double value) {
+        this.sink += value;
+    }
+
+    /**
+     * Warm up and time every workload, then print the results
+     *
+     * @throws Exception If a workload fails
+     */
+    public void run() throws Exception {
+        if (this.warmupOps > 0) {
+            for (Workload workload : this.workloads) {
+                workload.run(this.warmupOps);
+            }
+        }
+
+        long[] elapsedNs = new long[this.workloads.size()];
+        for (int i = 0; i < elapsedNs.length; i++) {
+            long start = System.nanoTime();
+            this.workloads.get(i).run(this.ops);
+            elapsedNs[i] = System.nanoTime() - start;
+        }
+
+        int width = 0;
+        for (String name : this.names) {
+            width = Math.max(width, name.length());
+        }
+
+        System.out.println(this.title);
+        for (int i = 0; i < elapsedNs.length; i++) {
+            System.out.printf(
+                    "  %-" + (width + 1) + "s %s/op%n",
+                    this.names.get(i) + ":",
+                    format((double) elapsedNs[i] / this.ops));
+        }
+        if (this.sink != 0.0) {
+            System.out.printf("  (%f)%n", this.sink);
+        }
+    }
+
+    private static String format(double ns) {
+        if (ns < 1e3) return String.format("%.1f ns", ns);
+        if (ns < 1e6) return String.format("%.3f us", ns / 1e3);
+        return String.format("%.3f ms", ns / 1e6);
+    }
+}
@@ -0,0 +1,37 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.blackknights.utils.CanSignalProfile.Device;
+import org.junit.jupiter.api.Test;
+
+public class CanSignalProfileTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testSparkSkipsUnusedEncoders() {
+        CanSignalProfile profile = new CanSignalProfile("test", Device.SPARK, 100, 250, 5, 0, 50.0);
+
+        // Setpoints, output, faults and the primary encoder, the absolute encoder is never sent
+        assertEquals(50.0 + 10.0 + 4.0 + 200.0, profile.getFramesPerSecond(), DELTA);
+    }
+
+    @Test
+    public void testSparkUnsetPeriodsAreSlow() {
+        CanSignalProfile profile = new CanSignalProfile("test", Device.SPARK, 0, 0, 0, 0, 0.0);
+
+        double slow = 1000.0 / CanSignalProfile.SPARK_SLOW_PERIOD_MS;
+        assertEquals(2 * slow, profile.getFramesPerSecond(), DELTA);
+    }
+
+    @Test
+    public void testTalonSendsEveryFrame() {
+        CanSignalProfile profile =
+                new CanSignalProfile("test", Device.TALON_SRX, 100, 1000, 0, 0, 100.0);
+
+        // Periods are capped at what a Talon allows, and the 6 unused frames are still sent
+        double slow = 1000.0 / CanSignalProfile.TALON_SLOW_PERIOD_MS;
+        assertEquals(100.0 + 10.0 + slow + slow + 6 * slow, profile.getFramesPerSecond(), DELTA);
+    }
+}
@@ -0,0 +1,82 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConfigHistoryTest {
+    private ConfigHistory history;
+
+    @BeforeEach
+    void setUp() {
+        history = new ConfigHistory(4);
+        history.record("elevator_p", 1.0, 2.0); // 1
+        history.record("arm_p", 0.5, 0.6); // 2
+        history.record("elevator_p", 2.0, 3.0); // 3
+    }
+
+    @Test
+    public void testDiff() {
+        Map<String, Object[]> diff = history.diff(0, 3);
+        assertEquals(2, diff.size());
+        assertArrayEquals(new Object[] {1.0, 3.0}, diff.get("elevator_p"));
+        assertArrayEquals(new Object[] {0.5, 0.6}, diff.get("arm_p"));
+
+        diff = history.diff(3, 1);
+        assertEquals(2, diff.size());
+        assertArrayEquals(new Object[] {3.0, 2.0}, diff.get("elevator_p"));
+        assertArrayEquals(new Object[] {0.6, 0.5}, diff.get("arm_p"));
+    }
+
+    @Test
+    public void testUnchangedKeysAreNotInDiff() {
+        history.record("arm_p", 0.6, 0.5); // 4
+        assertTrue(history.diff(1, 4).containsKey("elevator_p"));
+        assertEquals(1, history.diff(1, 4).size());
+    }
+
+    @Test
+    public void testNoOpIsNotRecorded() {
+        assertEquals(3, history.record("arm_p", 0.6, 0.6));
+        assertEquals(3, history.getLatestId());
+    }
+
+    @Test
+    public void testRollbackValues() {
+        Map<String, Object> values = history.rollbackValues(1);
+        assertEquals(2, values.size());
+        assertEquals(2.0, values.get("elevator_p"));
+        assertEquals(0.5, values.get("arm_p"));
+
+        history.record(
+                new String[] {"elevator_p", "arm_p"},
+                new Object[] {3.0, 0.6},
+                new Object[] {2.0, 0.5}); // 4
+        assertEquals(4, history.getLatestId());
+        assertEquals(0, history.diff(1, 4).size());
+    }
+
+    @Test
+    public void testRollbackSkipsNewKeys() {
+        history.record("new_key", null, 1.0); // 4
+        assertFalse(history.rollbackValues(3).containsKey("new_key"));
+    }
+
+    @Test
+    public void testBounded() {
+        history.record("arm_p", 0.6, 0.7); // 4
+        history.record("arm_p", 0.7, 0.8); // 5
+
+        assertEquals(4, history.getRevisions().size());
+        assertEquals(1, history.getOldestId());
+        assertThrows(IllegalArgumentException.class, () -> history.diff(0, 5));
+        assertEquals(2.0, history.rollbackValues(1).get("elevator_p"));
+    }
+}
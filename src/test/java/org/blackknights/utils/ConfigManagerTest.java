@@ -0,0 +1,57 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConfigManagerTest {
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        // Drop changes left by other tests, the config is shared
+        config.dispatchChanges();
+    }
+
+    @Test
+    public void testPrefixMatch() {
+        config.onChange("arm_*", calls::incrementAndGet);
+
+        config.set("arm_p", 1.5);
+        config.dispatchChanges();
+        assertEquals(1, calls.get());
+
+        // Nothing changed since, so it doesn't run again
+        config.dispatchChanges();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testNonMatch() {
+        config.onChange("arm_*", calls::incrementAndGet);
+
+        config.set("elevator_p", 2.0);
+        config.set("arm", 0.5);
+        config.dispatchChanges();
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testBatchedChangeRunsOnce() {
+        config.onChange("arm_*", calls::incrementAndGet);
+
+        config.setAll(Map.of("arm_p", 1.0, "arm_i", 0.0, "arm_d", 0.1));
+        config.set("arm_ff", 0.2);
+        config.dispatchChanges();
+        assertEquals(1, calls.get());
+
+        config.set("arm_p", 1.2);
+        config.dispatchChanges();
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,77 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the json rewrite store to the journal store. Run with <code>./gradlew benchmark</code>
+ * (ideally on the rio, the flash there is a lot slower than a laptop ssd)
+ */
+@Tag("benchmark")
+public class ConfigStoreBenchmarkTest {
+    private static final int KEYS = 300;
+    private static final int UPDATES = 200;
+    private static final int BOOTS = 50;
+
+    @TempDir File dir;
+
+    private Map<String, Object> makeValues() {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put(String.format("align_profile%d_key%d", i % 10, i), i * 0.125);
+        }
+        return values;
+    }
+
+    private JournalConfigStore createJournal() {
+        return new JournalConfigStore(
+                new File(dir, "journal.json"), new File(dir, "journal.json.journal"), UPDATES + 1);
+    }
+
+    /** Change one key per op and save it */
+    private void update(ConfigStore store, Map<String, Object> values, int ops) throws Exception {
+        for (int i = 0; i < ops; i++) {
+            String key = String.format("align_profile%d_key%d", i % 10, i);
+            values.put(key, i * 0.5);
+            store.save(Set.of(key), values);
+        }
+    }
+
+    /** Load the store from disk once per op, like the robot does on boot */
+    private void boot(Benchmark bench, Supplier<ConfigStore> open, int ops) throws Exception {
+        for (int i = 0; i < ops; i++) {
+            bench.consume(open.get().load().size());
+        }
+    }
+
+    @Test
+    public void benchmarkStores() throws Exception {
+        Map<String, Object> jsonValues = makeValues();
+        Map<String, Object> journalValues = makeValues();
+
+        File jsonFile = new File(dir, "json.json");
+        JsonConfigStore json = new JsonConfigStore(jsonFile);
+        JournalConfigStore journal = this.createJournal();
+
+        json.save(Set.of(ConfigStore.ALL_KEYS), jsonValues);
+        journal.save(Set.of(ConfigStore.ALL_KEYS), journalValues);
+
+        // No warmup, the journal would compact part way through the timed updates
+        new Benchmark(String.format("%d keys, %d updates", KEYS, UPDATES), 0, UPDATES)
+                .add("json rewrite", ops -> this.update(json, jsonValues, ops))
+                .add("journal append", ops -> this.update(journal, journalValues, ops))
+                .run();
+
+        Benchmark boots = new Benchmark(String.format("%d journal records", UPDATES), 0, BOOTS);
+        boots.add("json boot", ops -> this.boot(boots, () -> new JsonConfigStore(jsonFile), ops))
+                .add("journal boot", ops -> this.boot(boots, this::createJournal, ops))
+                .run();
+    }
+}
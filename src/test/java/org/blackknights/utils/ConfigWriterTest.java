@@ -0,0 +1,106 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConfigWriterTest {
+    /** Records every save, and throws instead of saving while failures are left */
+    private static class RecordingStore implements ConfigStore {
+        final List<Set<String>> savedKeys = new ArrayList<>();
+        final List<Map<String, Object>> savedValues = new ArrayList<>();
+        int failures = 0;
+        int attempts = 0;
+
+        @Override
+        public JSONObject load() {
+            return new JSONObject();
+        }
+
+        @Override
+        public void save(Set<String> changedKeys, Map<String, Object> values) throws IOException {
+            this.attempts++;
+            if (this.failures > 0) {
+                this.failures--;
+                throw new IOException("Disk full");
+            }
+            this.savedKeys.add(new LinkedHashSet<>(changedKeys));
+            this.savedValues.add(new HashMap<>(values));
+        }
+    }
+
+    private RecordingStore store;
+    private final Map<String, Object> values = new HashMap<>();
+    private ConfigWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        store = new RecordingStore();
+        writer = new ConfigWriter(store, () -> new HashMap<>(values), 0, false);
+    }
+
+    @Test
+    public void testRepeatedWritesCoalesce() {
+        for (int i = 0; i < 10; i++) {
+            values.put("elevator_p", (double) i);
+            writer.requestSave("elevator_p");
+        }
+
+        assertTrue(writer.flushPending());
+        assertEquals(1, store.attempts);
+        assertEquals(Set.of("elevator_p"), store.savedKeys.get(0));
+        assertEquals(9.0, store.savedValues.get(0).get("elevator_p"));
+        assertEquals(9, writer.getCoalescedWrites());
+        assertEquals(1, writer.getFlushCount());
+    }
+
+    @Test
+    public void testOverflowSavesEverythingOnce() {
+        for (int i = 0; i < 200; i++) {
+            values.put("key_" + i, (double) i);
+            writer.requestSave("key_" + i);
+        }
+
+        assertTrue(writer.flushPending());
+        assertEquals(1, store.attempts);
+        assertTrue(store.savedKeys.get(0).contains(ConfigStore.ALL_KEYS));
+        assertEquals(200, store.savedValues.get(0).size());
+
+        // The next flush only saves what changed since
+        writer.requestSave("key_0");
+        assertTrue(writer.flushPending());
+        assertEquals(Set.of("key_0"), store.savedKeys.get(1));
+    }
+
+    @Test
+    public void testFailedFlushIsRetried() {
+        store.failures = 1;
+        values.put("elevator_p", 1.5);
+        writer.requestSave("elevator_p");
+
+        assertFalse(writer.flushPending());
+        assertEquals(0, writer.getFlushCount());
+
+        values.put("arm_p", 0.3);
+        writer.requestSave("arm_p");
+
+        assertTrue(writer.flushPending());
+        assertEquals(2, store.attempts);
+        assertEquals(Set.of("elevator_p", "arm_p"), store.savedKeys.get(0));
+        assertEquals(1.5, store.savedValues.get(0).get("elevator_p"));
+        assertEquals(0.3, store.savedValues.get(0).get("arm_p"));
+        assertEquals(1, writer.getFlushCount());
+    }
+}
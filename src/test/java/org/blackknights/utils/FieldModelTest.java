@@ -0,0 +1,42 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.apriltag.AprilTag;
+import org.junit.jupiter.api.Test;
+
+public class FieldModelTest {
+    @Test
+    public void testLoadsOnce() {
+        assertSame(FieldModel.getInstance(), FieldModel.getInstance());
+    }
+
+    @Test
+    public void testMatchesLayout() {
+        FieldModel field = FieldModel.getInstance();
+
+        for (AprilTag tag : field.getLayout().getTags()) {
+            assertTrue(field.hasTag(tag.ID));
+            assertEquals(tag.pose, field.getTagPose3d(tag.ID));
+            assertEquals(tag.pose.toPose2d(), field.getTagPose2d(tag.ID));
+            assertEquals(tag.pose.getX(), field.getTagX(tag.ID), 1e-9);
+            assertEquals(tag.pose.getY(), field.getTagY(tag.ID), 1e-9);
+            assertEquals(1.0, Math.hypot(field.getNormalX(tag.ID), field.getNormalY(tag.ID)), 1e-9);
+        }
+    }
+
+    @Test
+    public void testMissingTag() {
+        FieldModel field = FieldModel.getInstance();
+
+        assertFalse(field.hasTag(0));
+        assertFalse(field.hasTag(-1));
+        assertFalse(field.hasTag(field.getMaxId() + 1));
+        assertNull(field.getTagPose2d(field.getMaxId() + 1));
+    }
+}
@@ -0,0 +1,146 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalConfigStoreTest {
+    @TempDir File dir;
+
+    private File snapshotFile;
+    private File journalFile;
+    private final Map<String, Object> values = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = new File(dir, "tuning.json");
+        journalFile = new File(dir, "tuning.json.journal");
+    }
+
+    private JournalConfigStore newStore(int compactThreshold) throws Exception {
+        JournalConfigStore store =
+                new JournalConfigStore(snapshotFile, journalFile, compactThreshold);
+        store.load();
+        return store;
+    }
+
+    @Test
+    public void testReplayJournal() throws Exception {
+        JournalConfigStore store = newStore(100);
+
+        values.put("elevator_p", 1.5);
+        values.put("swerve_min_velocity", 0.1);
+        store.save(Set.of(ConfigStore.ALL_KEYS), values);
+
+        values.put("elevator_p", 2.5);
+        store.save(Set.of("elevator_p"), values);
+        values.put("arm_inverted", true);
+        store.save(Set.of("arm_inverted"), values);
+
+        assertEquals(2, store.getJournalRecords());
+
+        JSONObject loaded = newStore(100).load();
+        assertEquals(2.5, loaded.get("elevator_p"));
+        assertEquals(0.1, loaded.get("swerve_min_velocity"));
+        assertEquals(true, loaded.get("arm_inverted"));
+    }
+
+    @Test
+    public void testTornRecordIsDropped() throws Exception {
+        JournalConfigStore store = newStore(100);
+
+        values.put("elevator_p", 1.0);
+        store.save(Set.of("elevator_p"), values);
+        values.put("elevator_p", 2.0);
+        store.save(Set.of("elevator_p"), values);
+
+        try (FileOutputStream out = new FileOutputStream(journalFile, true)) {
+            out.write("1234abcd\televator_p\t3".getBytes(StandardCharsets.UTF_8));
+        }
+
+        JournalConfigStore reloaded = new JournalConfigStore(snapshotFile, journalFile, 100);
+        assertEquals(2.0, reloaded.load().get("elevator_p"));
+        assertEquals(2, reloaded.getJournalRecords());
+
+        // The torn bytes are gone, so new records append cleanly
+        values.put("elevator_p", 4.0);
+        reloaded.save(Set.of("elevator_p"), values);
+        assertEquals(4.0, newStore(100).load().get("elevator_p"));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        JournalConfigStore store = newStore(3);
+
+        for (int i = 0; i < 4; i++) {
+            values.put("elevator_p", (double) i);
+            store.save(Set.of("elevator_p"), values);
+        }
+
+        assertEquals(0, store.getJournalRecords());
+        assertEquals(0, journalFile.length());
+        assertEquals(3.0, new JsonConfigStore(snapshotFile).load().get("elevator_p"));
+        assertEquals(3.0, newStore(3).load().get("elevator_p"));
+    }
+
+    @Test
+    public void testCrashBeforeJournalTruncate() throws Exception {
+        JournalConfigStore store = newStore(100);
+
+        values.put("elevator_p", 1.0);
+        store.save(Set.of("elevator_p"), values);
+        values.put("elevator_p", 2.0);
+        store.save(Set.of("elevator_p"), values);
+        byte[] journal = Files.readAllBytes(journalFile.toPath());
+
+        // The snapshot is written but the rio dies before the journal is emptied
+        values.put("elevator_p", 3.0);
+        store.save(Set.of(ConfigStore.ALL_KEYS), values);
+        Files.write(journalFile.toPath(), journal);
+
+        JournalConfigStore reloaded = new JournalConfigStore(snapshotFile, journalFile, 100);
+        JSONObject loaded = reloaded.load();
+        assertEquals(3.0, loaded.get("elevator_p"));
+        assertFalse(loaded.containsKey(JournalConfigStore.GENERATION_KEY));
+        assertEquals(0, reloaded.getJournalRecords());
+        assertEquals(0, journalFile.length());
+
+        // New records after the recovery are replayed again
+        values.put("elevator_p", 4.0);
+        reloaded.save(Set.of("elevator_p"), values);
+        assertEquals(4.0, newStore(100).load().get("elevator_p"));
+    }
+
+    @Test
+    public void testJournalWithoutHeaderIsReplayed() throws Exception {
+        values.put("elevator_p", 1.0);
+        new JsonConfigStore(snapshotFile).write(values);
+        String body = "elevator_p\t2.0";
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        Files.writeString(
+                journalFile.toPath(), Long.toHexString(crc.getValue()) + "\t" + body + "\n");
+
+        assertEquals(2.0, newStore(100).load().get("elevator_p"));
+    }
+
+    @Test
+    public void testEmptyStore() throws Exception {
+        JournalConfigStore store = new JournalConfigStore(snapshotFile, journalFile, 100);
+        assertEquals(0, store.load().size());
+        assertFalse(snapshotFile.exists());
+    }
+}
@@ -2,8 +2,11 @@
 package org.blackknights.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.DoubleTopic;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,33 @@ public class NetworkTableUtilsTest {
         String[] res = this.utils.getArrayEntry("test", new String[] {"wrong"});
         assertTrue("right".equalsIgnoreCase(res[0]));
     }
+
+    @Test
+    public void testEntryIsCached() {
+        NetworkTable table = Mockito.mock(NetworkTable.class);
+        NetworkTableEntry entry = Mockito.mock(NetworkTableEntry.class);
+        Mockito.when(table.getEntry("cached")).thenReturn(entry);
+
+        NetworkTablesUtils cachedUtils = NetworkTablesUtils.getTable(table);
+        cachedUtils.setEntry("cached", 1.0);
+        cachedUtils.setEntry("cached", 2.0);
+
+        Mockito.verify(table, Mockito.times(1)).getEntry("cached");
+        Mockito.verify(entry).setDouble(2.0);
+    }
+
+    @Test
+    public void testPublisherIsCached() {
+        NetworkTable table = Mockito.mock(NetworkTable.class);
+        DoubleTopic topic = Mockito.mock(DoubleTopic.class);
+        DoublePublisher publisher = Mockito.mock(DoublePublisher.class);
+        Mockito.when(table.getDoubleTopic("pub")).thenReturn(topic);
+        Mockito.when(topic.publish()).thenReturn(publisher);
+
+        NetworkTablesUtils cachedUtils = NetworkTablesUtils.getTable(table);
+
+        assertSame(publisher, cachedUtils.getDoublePublisher("pub"));
+        assertSame(publisher, cachedUtils.getDoublePublisher("pub"));
+        Mockito.verify(topic, Mockito.times(1)).publish();
+    }
 }
@@ -0,0 +1,84 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SetpointCacheTest {
+    private long now;
+    private SetpointCache cache;
+
+    @BeforeEach
+    public void setup() {
+        now = 0;
+        cache = new SetpointCache(1e-3, 0.1, () -> now);
+    }
+
+    @Test
+    public void testFirstWriteIsSent() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 0.0));
+    }
+
+    @Test
+    public void testSameSetpointIsSkipped() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 2.0));
+        now += 20_000_000L;
+        assertFalse(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 2.0));
+        now += 20_000_000L;
+        assertFalse(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 2.0005));
+    }
+
+    @Test
+    public void testChangedSetpointIsSent() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 2.0));
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 2.01));
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VELOCITY, 1.0, 0.5));
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VELOCITY, 1.0, 0.6));
+    }
+
+    @Test
+    public void testChangedModeIsSent() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 0.0));
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_PERCENT, 0.0));
+    }
+
+    @Test
+    public void testKeepAliveResends() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_PERCENT, 0.5));
+        now += 99_000_000L;
+        assertFalse(cache.shouldWrite(SetpointCache.MODE_PERCENT, 0.5));
+        now += 1_000_000L;
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_PERCENT, 0.5));
+
+        // The keep alive restarts from the resend
+        now += 50_000_000L;
+        assertFalse(cache.shouldWrite(SetpointCache.MODE_PERCENT, 0.5));
+    }
+
+    @Test
+    public void testInvalidateResends() {
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_POSITION, 1.0));
+        cache.invalidate();
+        assertTrue(cache.shouldWrite(SetpointCache.MODE_POSITION, 1.0));
+    }
+
+    @Test
+    public void testCounters() {
+        long totalWritten = SetpointCache.getTotalWritten();
+        long totalSkipped = SetpointCache.getTotalSkipped();
+
+        for (int i = 0; i < 10; i++) {
+            cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 0.0);
+        }
+        cache.shouldWrite(SetpointCache.MODE_VOLTAGE, 1.0);
+
+        assertEquals(2, cache.getWritten());
+        assertEquals(9, cache.getSkipped());
+        assertEquals(totalWritten + 2, SetpointCache.getTotalWritten());
+        assertEquals(totalSkipped + 9, SetpointCache.getTotalSkipped());
+    }
+}
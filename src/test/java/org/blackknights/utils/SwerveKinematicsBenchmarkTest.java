@@ -0,0 +1,75 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.blackknights.constants.DrivetrainConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the WPILib drive path (field relative speeds, kinematics, desaturate and optimize) to
+ * {@link SwerveKinematics}. Run with <code>./gradlew benchmark</code>
+ */
+@Tag("benchmark")
+public class SwerveKinematicsBenchmarkTest {
+    private static final int WARMUP = 200_000;
+    private static final int CALLS = 1_000_000;
+
+    private final Benchmark benchmark =
+            new Benchmark(String.format("%d drive calls", CALLS), WARMUP, CALLS);
+
+    private final SwerveDriveKinematics wpilib =
+            new SwerveDriveKinematics(DrivetrainConstants.MODULE_LOCATIONS);
+    private final SwerveKinematics kinematics =
+            new SwerveKinematics(DrivetrainConstants.MODULE_LOCATIONS);
+
+    private final double[] speeds = new double[4];
+    private final double[] angles = new double[4];
+
+    private void runWpilib(int calls) {
+        for (int c = 0; c < calls; c++) {
+            double t = c * 1e-3;
+            SwerveModuleState[] states =
+                    this.wpilib.toSwerveModuleStates(
+                            ChassisSpeeds.fromFieldRelativeSpeeds(
+                                    Math.sin(t) * 4,
+                                    Math.cos(t) * 4,
+                                    2.0,
+                                    Rotation2d.fromRadians(t)));
+            SwerveDriveKinematics.desaturateWheelSpeeds(
+                    states, DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND);
+            for (SwerveModuleState state : states) {
+                state.optimize(Rotation2d.fromRadians(t));
+                this.benchmark.consume(state.speedMetersPerSecond);
+            }
+        }
+    }
+
+    private void runPrimitive(int calls) {
+        for (int c = 0; c < calls; c++) {
+            double t = c * 1e-3;
+            double vx = SwerveKinematics.toRobotVx(Math.sin(t) * 4, Math.cos(t) * 4, t);
+            double vy = SwerveKinematics.toRobotVy(Math.sin(t) * 4, Math.cos(t) * 4, t);
+            double scale =
+                    this.kinematics.saturationScale(
+                            vx, vy, 2.0, DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND);
+            this.kinematics.toModuleStates(
+                    vx * scale, vy * scale, 2.0 * scale, this.speeds, this.angles);
+            for (int i = 0; i < 4; i++) {
+                double speed = this.speeds[i];
+                if (SwerveKinematics.shouldReverse(this.angles[i], t)) {
+                    speed = -speed;
+                }
+                this.benchmark.consume(speed);
+            }
+        }
+    }
+
+    @Test
+    public void benchmarkKinematics() throws Exception {
+        this.benchmark.add("wpilib", this::runWpilib).add("primitive", this::runPrimitive).run();
+    }
+}
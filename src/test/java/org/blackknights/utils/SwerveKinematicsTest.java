@@ -0,0 +1,147 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import java.util.Random;
+import org.blackknights.constants.DrivetrainConstants;
+import org.junit.jupiter.api.Test;
+
+public class SwerveKinematicsTest {
+    private static final double DELTA = 1e-9;
+    private static final int CASES = 1000;
+
+    private final SwerveDriveKinematics wpilib =
+            new SwerveDriveKinematics(DrivetrainConstants.MODULE_LOCATIONS);
+    private final SwerveKinematics kinematics =
+            new SwerveKinematics(DrivetrainConstants.MODULE_LOCATIONS);
+    private final Random random = new Random(2025);
+
+    private final double[] speeds = new double[4];
+    private final double[] angles = new double[4];
+
+    private double randomIn(double range) {
+        return (this.random.nextDouble() * 2 - 1) * range;
+    }
+
+    private static void assertSameAngle(double expected, double actual) {
+        assertEquals(0.0, MathUtil.angleModulus(expected - actual), DELTA);
+    }
+
+    private void assertMatches(SwerveModuleState[] expected) {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected[i].speedMetersPerSecond, this.speeds[i], DELTA);
+            assertSameAngle(expected[i].angle.getRadians(), this.angles[i]);
+        }
+    }
+
+    @Test
+    public void testRobotRelative() {
+        for (int c = 0; c < CASES; c++) {
+            double vx = this.randomIn(5);
+            double vy = this.randomIn(5);
+            double omega = this.randomIn(10);
+
+            this.kinematics.toModuleStates(vx, vy, omega, this.speeds, this.angles);
+            this.assertMatches(this.wpilib.toSwerveModuleStates(new ChassisSpeeds(vx, vy, omega)));
+        }
+    }
+
+    @Test
+    public void testFieldRelative() {
+        for (int c = 0; c < CASES; c++) {
+            double vx = this.randomIn(5);
+            double vy = this.randomIn(5);
+            double omega = this.randomIn(10);
+            double heading = this.randomIn(Math.PI);
+
+            this.kinematics.toModuleStates(
+                    SwerveKinematics.toRobotVx(vx, vy, heading),
+                    SwerveKinematics.toRobotVy(vx, vy, heading),
+                    omega,
+                    this.speeds,
+                    this.angles);
+            this.assertMatches(
+                    this.wpilib.toSwerveModuleStates(
+                            ChassisSpeeds.fromFieldRelativeSpeeds(
+                                    vx, vy, omega, Rotation2d.fromRadians(heading))));
+        }
+    }
+
+    @Test
+    public void testStoppedHoldsAngles() {
+        this.kinematics.toModuleStates(1.0, 1.0, 0.0, this.speeds, this.angles);
+        this.wpilib.toSwerveModuleStates(new ChassisSpeeds(1.0, 1.0, 0.0));
+
+        this.kinematics.toModuleStates(0.0, 0.0, 0.0, this.speeds, this.angles);
+        this.assertMatches(this.wpilib.toSwerveModuleStates(new ChassisSpeeds()));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Math.PI / 4, this.angles[i], DELTA);
+        }
+    }
+
+    @Test
+    public void testStoppedModuleHoldsAngle() {
+        this.kinematics.toModuleStates(1.0, 1.0, 0.0, this.speeds, this.angles);
+
+        // Spin about the front left module, so only it stops
+        Translation2d pivot = DrivetrainConstants.MODULE_LOCATIONS[0];
+        double omega = 2.0;
+        this.kinematics.toModuleStates(
+                omega * pivot.getY(), -omega * pivot.getX(), omega, this.speeds, this.angles);
+
+        assertEquals(0.0, this.speeds[0], DELTA);
+        assertEquals(Math.PI / 4, this.angles[0], DELTA);
+        for (int i = 1; i < 4; i++) {
+            assertTrue(this.speeds[i] > 0.0);
+        }
+    }
+
+    @Test
+    public void testSaturationScale() {
+        for (int c = 0; c < CASES; c++) {
+            double vx = this.randomIn(8);
+            double vy = this.randomIn(8);
+            double omega = this.randomIn(15);
+
+            double scale = this.kinematics.saturationScale(vx, vy, omega, 5.0);
+            this.kinematics.toModuleStates(
+                    vx * scale, vy * scale, omega * scale, this.speeds, this.angles);
+
+            SwerveModuleState[] states =
+                    this.wpilib.toSwerveModuleStates(new ChassisSpeeds(vx, vy, omega));
+            SwerveDriveKinematics.desaturateWheelSpeeds(states, 5.0);
+            this.assertMatches(states);
+        }
+    }
+
+    @Test
+    public void testShouldReverse() {
+        for (int c = 0; c < CASES; c++) {
+            double speed = this.randomIn(5);
+            double angle = this.randomIn(Math.PI);
+            double current = this.randomIn(2 * Math.PI);
+
+            SwerveModuleState state = new SwerveModuleState(speed, Rotation2d.fromRadians(angle));
+            state.optimize(Rotation2d.fromRadians(current));
+            assertEquals(
+                    Math.signum(state.speedMetersPerSecond) != Math.signum(speed),
+                    SwerveKinematics.shouldReverse(angle, current));
+        }
+    }
+
+    @Test
+    public void testNeedsFourModules() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SwerveKinematics(new Translation2d(), new Translation2d()));
+    }
+}
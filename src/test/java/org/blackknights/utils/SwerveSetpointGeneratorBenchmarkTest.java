@@ -0,0 +1,82 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import org.blackknights.constants.DrivetrainConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures what {@link SwerveSetpointGenerator} adds to a loop over plain {@link SwerveKinematics}.
+ * Run with <code>./gradlew benchmark</code>
+ */
+@Tag("benchmark")
+public class SwerveSetpointGeneratorBenchmarkTest {
+    private static final int WARMUP = 200_000;
+    private static final int CALLS = 1_000_000;
+    private static final double DT = 0.02;
+
+    private final Benchmark benchmark =
+            new Benchmark(String.format("%d drive calls", CALLS), WARMUP, CALLS);
+
+    private final SwerveKinematics kinematics =
+            new SwerveKinematics(DrivetrainConstants.MODULE_LOCATIONS);
+    private final SwerveSetpointGenerator generator =
+            new SwerveSetpointGenerator(
+                    this.kinematics,
+                    DrivetrainConstants.DRIVE_MOTOR,
+                    DrivetrainConstants.DRIVING_MOTOR_REDUCTION,
+                    DrivetrainConstants.WHEEL_DIAMETER_METERS / 2,
+                    DrivetrainConstants.DRIVE_CURRENT_LIMIT,
+                    DrivetrainConstants.ROBOT_MASS_KG,
+                    DrivetrainConstants.WHEEL_COF,
+                    DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND,
+                    DrivetrainConstants.MAX_MODULE_STEER_RATE);
+
+    private final double[] speeds = new double[4];
+    private final double[] angles = new double[4];
+
+    private void runKinematics(int calls) {
+        for (int c = 0; c < calls; c++) {
+            // A new direction every half second, so the limits are hit as often as on a robot
+            double t = (c / 25) * 1.3;
+            double vx = Math.cos(t) * 4;
+            double vy = Math.sin(t) * 4;
+            double omega = Math.sin(t * 0.7) * 3;
+            double scale =
+                    this.kinematics.saturationScale(
+                            vx, vy, omega, DrivetrainConstants.MAX_SPEED_METERS_PER_SECOND);
+            this.kinematics.toModuleStates(
+                    vx * scale, vy * scale, omega * scale, this.speeds, this.angles);
+            for (double speed : this.speeds) {
+                this.benchmark.consume(speed);
+            }
+        }
+    }
+
+    private void runGenerator(int calls, boolean limit) {
+        for (int c = 0; c < calls; c++) {
+            double t = (c / 25) * 1.3;
+            this.generator.generate(
+                    Math.cos(t) * 4,
+                    Math.sin(t) * 4,
+                    Math.sin(t * 0.7) * 3,
+                    DT,
+                    limit,
+                    this.speeds,
+                    this.angles);
+            for (double speed : this.speeds) {
+                this.benchmark.consume(speed);
+            }
+            this.benchmark.consume(this.generator.getLastScale());
+        }
+    }
+
+    @Test
+    public void benchmarkSetpointGenerator() throws Exception {
+        this.benchmark
+                .add("kinematics", this::runKinematics)
+                .add("unlimited", ops -> this.runGenerator(ops, false))
+                .add("limited", ops -> this.runGenerator(ops, true))
+                .run();
+    }
+}
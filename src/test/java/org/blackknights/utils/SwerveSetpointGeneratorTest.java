@@ -0,0 +1,154 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.system.plant.DCMotor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SwerveSetpointGeneratorTest {
+    private static final double DELTA = 1e-9;
+    private static final double DT = 0.02;
+    private static final double MAX_SPEED = 5.0;
+    private static final double MAX_STEER_RATE = 20.0;
+
+    private static final Translation2d[] LOCATIONS = {
+        new Translation2d(0.3, 0.3),
+        new Translation2d(0.3, -0.3),
+        new Translation2d(-0.3, 0.3),
+        new Translation2d(-0.3, -0.3)
+    };
+    private static final SwerveKinematics KINEMATICS = new SwerveKinematics(LOCATIONS);
+
+    private SwerveSetpointGenerator generator;
+    private final double[] speeds = new double[4];
+    private final double[] angles = new double[4];
+
+    @BeforeEach
+    public void setup() {
+        generator =
+                new SwerveSetpointGenerator(
+                        KINEMATICS,
+                        DCMotor.getNeoVortex(1),
+                        5.08,
+                        0.0381,
+                        40.0,
+                        50.0,
+                        1.0,
+                        MAX_SPEED,
+                        MAX_STEER_RATE);
+    }
+
+    @Test
+    public void testUnlimitedMatchesKinematics() {
+        double[] expectedSpeeds = new double[4];
+        double[] expectedAngles = new double[4];
+        KINEMATICS.toModuleStates(1.0, -0.5, 2.0, expectedSpeeds, expectedAngles);
+
+        generator.generate(1.0, -0.5, 2.0, DT, false, speeds, angles);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expectedSpeeds[i], speeds[i], DELTA);
+            assertEquals(expectedAngles[i], angles[i], DELTA);
+        }
+        assertEquals(1.0, generator.getLastScale(), DELTA);
+    }
+
+    @Test
+    public void testDesiredSpeedsAreDesaturated() {
+        generator.generate(4.0, 0.0, 10.0, DT, false, speeds, angles);
+
+        double fastest = 0.0;
+        for (double speed : speeds) {
+            fastest = Math.max(fastest, speed);
+        }
+        assertEquals(MAX_SPEED, fastest, 1e-6);
+    }
+
+    @Test
+    public void testAccelerationIsLimited() {
+        generator.setMaxAcceleration(5.0);
+        generator.generate(4.0, 0.0, 0.0, DT, true, speeds, angles);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(5.0 * DT, speeds[i], 1e-6);
+            assertEquals(0.0, angles[i], DELTA);
+        }
+        assertTrue(generator.getLastScale() < 1.0);
+    }
+
+    @Test
+    public void testReachesDesiredSpeed() {
+        for (int loop = 0; loop < 100; loop++) {
+            generator.generate(4.0, 0.0, 0.0, DT, true, speeds, angles);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(4.0, speeds[i], 1e-6);
+        }
+        assertEquals(1.0, generator.getLastScale(), DELTA);
+    }
+
+    @Test
+    public void testTorqueFallsOffWithSpeed() {
+        generator.generate(0.5, 0.0, 0.0, DT, true, speeds, angles);
+        double fromRest = speeds[0];
+
+        generator.reset(4.5, 0.0, 0.0, new double[4]);
+        generator.generate(5.0, 0.0, 0.0, DT, true, speeds, angles);
+        double nearMax = speeds[0] - 4.5;
+
+        assertTrue(nearMax > 0.0);
+        assertTrue(nearMax < fromRest);
+    }
+
+    @Test
+    public void testSteeringIsLimited() {
+        generator.reset(2.0, 0.0, 0.0, new double[4]);
+        generator.generate(0.0, 2.0, 0.0, DT, true, speeds, angles);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Math.abs(angles[i]) <= MAX_STEER_RATE * DT + 1e-9);
+            // Every module still points the same way, so the robot doesn't skew
+            assertEquals(angles[0], angles[i], DELTA);
+        }
+        assertTrue(generator.getLastScale() < 1.0);
+
+        for (int loop = 0; loop < 100; loop++) {
+            generator.generate(0.0, 2.0, 0.0, DT, true, speeds, angles);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(2.0, speeds[i], 1e-6);
+            assertEquals(Math.PI / 2, angles[i], 1e-6);
+        }
+    }
+
+    @Test
+    public void testReversingDrivesThroughZero() {
+        generator.reset(2.0, 0.0, 0.0, new double[4]);
+        for (int loop = 0; loop < 100; loop++) {
+            generator.generate(-2.0, 0.0, 0.0, DT, true, speeds, angles);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(2.0, speeds[i], 1e-6);
+            assertEquals(Math.PI, Math.abs(MathUtil.angleModulus(angles[i])), 1e-6);
+        }
+    }
+
+    @Test
+    public void testStoppedModulesHoldAngle() {
+        double[] held = {0.1, 0.2, 0.3, 0.4};
+        generator.reset(0.0, 0.0, 0.0, held);
+        generator.generate(0.0, 0.0, 0.0, DT, true, speeds, angles);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.0, speeds[i], DELTA);
+            assertEquals(held[i], angles[i], DELTA);
+        }
+    }
+}
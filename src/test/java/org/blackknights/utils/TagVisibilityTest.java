@@ -0,0 +1,136 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import org.junit.jupiter.api.Test;
+
+public class TagVisibilityTest {
+    private static final double FOV = Math.toRadians(70);
+    private static final double MAX_VIEW_ANGLE = Math.toRadians(60);
+    private static final double MAX_DISTANCE = 3.0;
+
+    // The reef tags are all at the same height, so the camera's vertical view doesn't matter
+    private static final int[] REEF_TAGS = {6, 7, 8, 9, 10, 11, 17, 18, 19, 20, 21, 22};
+
+    private final FieldModel field = FieldModel.getInstance();
+
+    private TagVisibility forwardCamera() {
+        return new TagVisibility(
+                this.field,
+                new Transform3d(0.0, 0.0, 0.2, new Rotation3d()),
+                FOV,
+                FOV,
+                MAX_VIEW_ANGLE);
+    }
+
+    /** Predict with the robot {@code distance} out from a tag's face, turned by {@code turn} */
+    private boolean seesTag(
+            TagVisibility visibility, int id, double distance, double turn, double maxDistance) {
+        visibility.update(
+                this.field.getTagX(id) + this.field.getNormalX(id) * distance,
+                this.field.getTagY(id) + this.field.getNormalY(id) * distance,
+                this.field.getTagYaw(id) + Math.PI + turn,
+                maxDistance);
+        return visibility.isVisible(id);
+    }
+
+    @Test
+    public void testFacingTag() {
+        TagVisibility visibility = this.forwardCamera();
+
+        for (int id : REEF_TAGS) {
+            assertTrue(this.seesTag(visibility, id, 1.5, 0.0, MAX_DISTANCE), "tag " + id);
+        }
+        assertEquals(1, visibility.getVisibleCount());
+    }
+
+    @Test
+    public void testFacingAway() {
+        TagVisibility visibility = this.forwardCamera();
+
+        for (int id : REEF_TAGS) {
+            assertFalse(this.seesTag(visibility, id, 1.5, Math.PI, MAX_DISTANCE), "tag " + id);
+            assertFalse(this.seesTag(visibility, id, 1.5, FOV, MAX_DISTANCE), "tag " + id);
+        }
+    }
+
+    @Test
+    public void testTooFar() {
+        TagVisibility visibility = this.forwardCamera();
+
+        for (int id : REEF_TAGS) {
+            assertFalse(this.seesTag(visibility, id, 3.5, 0.0, MAX_DISTANCE), "tag " + id);
+        }
+    }
+
+    @Test
+    public void testBehindTag() {
+        TagVisibility visibility = this.forwardCamera();
+
+        // Behind the tag looking at its back
+        for (int id : REEF_TAGS) {
+            visibility.update(
+                    this.field.getTagX(id) - this.field.getNormalX(id),
+                    this.field.getTagY(id) - this.field.getNormalY(id),
+                    this.field.getTagYaw(id),
+                    MAX_DISTANCE);
+            assertFalse(visibility.isVisible(id), "tag " + id);
+        }
+    }
+
+    @Test
+    public void testPitchedUp() {
+        // Tilted up 45 degrees, the reef tags are below the bottom of the view
+        TagVisibility visibility =
+                new TagVisibility(
+                        this.field,
+                        new Transform3d(0.0, 0.0, 0.2, new Rotation3d(0.0, -Math.PI / 4, 0.0)),
+                        FOV,
+                        FOV,
+                        MAX_VIEW_ANGLE);
+
+        for (int id : REEF_TAGS) {
+            assertFalse(this.seesTag(visibility, id, 1.5, 0.0, MAX_DISTANCE), "tag " + id);
+        }
+    }
+
+    @Test
+    public void testOblique() {
+        TagVisibility visibility = this.forwardCamera();
+        int id = 18;
+
+        // Off to the side of the tag at 75 degrees, turned to look straight at it
+        double angle = Math.toRadians(75);
+        double along = Math.cos(angle);
+        double side = Math.sin(angle);
+        double nx = this.field.getNormalX(id);
+        double ny = this.field.getNormalY(id);
+        double x = this.field.getTagX(id) + nx * along - ny * side;
+        double y = this.field.getTagY(id) + ny * along + nx * side;
+        double yaw = Math.atan2(this.field.getTagY(id) - y, this.field.getTagX(id) - x);
+
+        visibility.update(x, y, yaw, MAX_DISTANCE);
+        assertFalse(visibility.isVisible(id));
+    }
+
+    @Test
+    public void testMountedSideways() {
+        // A camera on the left of the robot looking left sees the tag when the robot is side on
+        TagVisibility visibility =
+                new TagVisibility(
+                        this.field,
+                        new Transform3d(0.0, 0.3, 0.2, new Rotation3d(0.0, 0.0, Math.PI / 2)),
+                        FOV,
+                        FOV,
+                        MAX_VIEW_ANGLE);
+        int id = 18;
+
+        assertTrue(this.seesTag(visibility, id, 1.5, -Math.PI / 2, MAX_DISTANCE));
+        assertFalse(this.seesTag(visibility, id, 1.5, 0.0, MAX_DISTANCE));
+    }
+}
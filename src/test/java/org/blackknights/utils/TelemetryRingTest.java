@@ -0,0 +1,59 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class TelemetryRingTest {
+    @Test
+    public void testCapacityRoundsUp() {
+        assertEquals(8, new TelemetryRing(5).getCapacity());
+        assertEquals(4096, new TelemetryRing(4096).getCapacity());
+    }
+
+    @Test
+    public void testDropsWhenFull() {
+        TelemetryRing ring = new TelemetryRing(4);
+
+        for (int i = 0; i < 4; i++) {
+            int slot = ring.claim();
+            ring.ids[slot] = i;
+            ring.commit();
+        }
+
+        assertEquals(-1, ring.claim());
+        assertEquals(1, ring.getDropped());
+        assertEquals(4, ring.size());
+
+        assertEquals(0, ring.ids[ring.peek()]);
+        ring.release();
+
+        int slot = ring.claim();
+        ring.ids[slot] = 4;
+        ring.commit();
+
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.ids[ring.peek()]);
+            ring.release();
+        }
+        assertEquals(-1, ring.peek());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void testWrapsAround() {
+        TelemetryRing ring = new TelemetryRing(2);
+
+        for (int i = 0; i < 10; i++) {
+            int slot = ring.claim();
+            ring.values[slot * TelemetryRing.SLOTS] = i;
+            ring.commit();
+
+            assertEquals(i, ring.values[ring.peek() * TelemetryRing.SLOTS]);
+            ring.release();
+        }
+
+        assertEquals(0, ring.getDropped());
+    }
+}
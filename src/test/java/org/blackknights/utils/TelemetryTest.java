@@ -0,0 +1,137 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.RawPublisher;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class TelemetryTest {
+    private final AtomicLong time = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    public void setup() {
+        Telemetry.setClock(this.time::get);
+        Telemetry.setCompetitionMode(false);
+        Telemetry.drain();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Telemetry.setCompetitionMode(false);
+        Telemetry.drain();
+    }
+
+    @Test
+    public void testUnchangedIsSuppressed() {
+        DoublePublisher publisher = Mockito.mock(DoublePublisher.class);
+        Telemetry.DoubleValue value =
+                new Telemetry.DoubleValue(
+                        "test/unchanged", publisher, Telemetry.Level.INFO, 0.0, 0.01);
+        long suppressed = Telemetry.getSuppressedUnchanged();
+
+        value.set(1.0);
+        value.set(1.0);
+        value.set(1.005);
+        value.set(2.0);
+        Telemetry.drain();
+
+        Mockito.verify(publisher).set(Mockito.eq(1.0), Mockito.anyLong());
+        Mockito.verify(publisher).set(Mockito.eq(2.0), Mockito.anyLong());
+        Mockito.verifyNoMoreInteractions(publisher);
+        assertEquals(suppressed + 2, Telemetry.getSuppressedUnchanged());
+    }
+
+    @Test
+    public void testRateLimitPublishesLatestLater() {
+        DoublePublisher publisher = Mockito.mock(DoublePublisher.class);
+        Telemetry.DoubleValue value =
+                new Telemetry.DoubleValue("test/rate", publisher, Telemetry.Level.INFO, 10.0, 0.0);
+
+        value.set(1.0);
+        this.time.addAndGet(20_000);
+        value.set(2.0);
+        this.time.addAndGet(20_000);
+        value.set(3.0);
+        Telemetry.drain();
+
+        Mockito.verify(publisher).set(Mockito.eq(1.0), Mockito.anyLong());
+        Mockito.verifyNoMoreInteractions(publisher);
+
+        this.time.addAndGet(60_000);
+        Telemetry.flushPending(this.time.get());
+        Telemetry.drain();
+
+        Mockito.verify(publisher).set(Mockito.eq(3.0), Mockito.anyLong());
+        Mockito.verify(publisher, Mockito.never()).set(Mockito.eq(2.0), Mockito.anyLong());
+    }
+
+    @Test
+    public void testCompetitionModeDropsDebug() {
+        BooleanPublisher debugPublisher = Mockito.mock(BooleanPublisher.class);
+        BooleanPublisher infoPublisher = Mockito.mock(BooleanPublisher.class);
+        Telemetry.BooleanValue debugValue =
+                new Telemetry.BooleanValue(
+                        "test/debug", debugPublisher, Telemetry.Level.DEBUG, 0.0);
+        Telemetry.BooleanValue infoValue =
+                new Telemetry.BooleanValue("test/info", infoPublisher, Telemetry.Level.INFO, 0.0);
+
+        Telemetry.setCompetitionMode(true);
+        debugValue.set(true);
+        infoValue.set(true);
+        Telemetry.drain();
+
+        Mockito.verifyNoInteractions(debugPublisher);
+        Mockito.verify(infoPublisher).set(Mockito.eq(true), Mockito.anyLong());
+
+        Telemetry.setCompetitionMode(false);
+        debugValue.set(true);
+        Telemetry.drain();
+
+        Mockito.verify(debugPublisher).set(Mockito.eq(true), Mockito.anyLong());
+    }
+
+    @Test
+    public void testArrayIsCopiedThroughRing() {
+        DoubleArrayPublisher publisher = Mockito.mock(DoubleArrayPublisher.class);
+        Telemetry.DoubleArrayValue value =
+                new Telemetry.DoubleArrayValue(
+                        "test/array", publisher, Telemetry.Level.INFO, 0.0, 0.0);
+
+        double[] buffer = {1.0, 2.0, 3.0};
+        value.set(buffer);
+        buffer[0] = 5.0;
+        Telemetry.drain();
+
+        Mockito.verify(publisher)
+                .set(Mockito.aryEq(new double[] {1.0, 2.0, 3.0}), Mockito.anyLong());
+    }
+
+    @Test
+    public void testPose2dIsPackedAsStruct() {
+        RawPublisher publisher = Mockito.mock(RawPublisher.class);
+        Telemetry.Pose2dValue value =
+                new Telemetry.Pose2dValue("test/pose", publisher, Telemetry.Level.INFO, 0.0);
+
+        value.set(1.0, 2.0, 0.5);
+        Telemetry.drain();
+
+        byte[] expected =
+                ByteBuffer.allocate(24)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .putDouble(1.0)
+                        .putDouble(2.0)
+                        .putDouble(0.5)
+                        .array();
+        Mockito.verify(publisher).set(Mockito.aryEq(expected), Mockito.anyLong());
+    }
+}
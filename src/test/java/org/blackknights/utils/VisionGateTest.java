@@ -0,0 +1,109 @@
+/* Black Knights Robotics (C) 2025 */
+package org.blackknights.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.PhotonCamera;
+import org.photonvision.PhotonPoseEstimator;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+public class VisionGateTest {
+    private static final double TIMEOUT = 1.0;
+
+    @Test
+    public void testNotGatedUntilFused() {
+        VisionGate gate = new VisionGate();
+        assertFalse(gate.isGated(0.0, TIMEOUT));
+        assertFalse(gate.isGated(100.0, TIMEOUT));
+
+        gate.fused(100.0);
+        assertTrue(gate.isGated(100.0, TIMEOUT));
+    }
+
+    @Test
+    public void testUngatesAfterTimeout() {
+        VisionGate gate = new VisionGate();
+        gate.fused(10.0);
+
+        assertTrue(gate.isGated(10.5, TIMEOUT));
+        assertFalse(gate.isGated(11.0, TIMEOUT));
+
+        // Fusing again gates from the new time
+        gate.fused(11.5);
+        assertTrue(gate.isGated(12.0, TIMEOUT));
+    }
+
+    @Test
+    public void testResetUngates() {
+        VisionGate gate = new VisionGate();
+        gate.fused(10.0);
+        gate.reset();
+
+        assertFalse(gate.isGated(10.0, TIMEOUT));
+    }
+
+    @Test
+    public void testDriftedPoseRecoversAfterTimeout() {
+        PhotonTrackedTarget target = Mockito.mock(PhotonTrackedTarget.class);
+        Mockito.when(target.getFiducialId()).thenReturn(7);
+        Mockito.when(target.getBestCameraToTarget())
+                .thenReturn(new Transform3d(1.5, 0.0, 0.0, new Rotation3d()));
+
+        PhotonPipelineResult result = Mockito.mock(PhotonPipelineResult.class);
+        Mockito.when(result.hasTargets()).thenReturn(true);
+        Mockito.when(result.getTargets()).thenReturn(List.of(target));
+        Mockito.when(result.getBestTarget()).thenReturn(target);
+
+        PhotonCamera photonCamera = Mockito.mock(PhotonCamera.class);
+        Mockito.when(photonCamera.getAllUnreadResults())
+                .thenAnswer(invocation -> new ArrayList<>(List.of(result)));
+
+        // Where the robot really is, in front of tag 7
+        Pose3d truePose = new Pose3d(12.0, 4.0, 0.0, new Rotation3d());
+        PhotonPoseEstimator estimator = Mockito.mock(PhotonPoseEstimator.class);
+        Mockito.when(estimator.update(result))
+                .thenReturn(
+                        Optional.of(
+                                new EstimatedRobotPose(
+                                        truePose,
+                                        1.0,
+                                        List.of(target),
+                                        PhotonPoseEstimator.PoseStrategy
+                                                .MULTI_TAG_PNP_ON_COPROCESSOR)));
+
+        Camera camera =
+                new Camera(
+                        "test",
+                        Camera.CameraType.PHOTONVISION,
+                        new Transform3d(),
+                        photonCamera,
+                        estimator);
+        camera.setCutoffDistance(3.0);
+
+        // Odometry has drifted off the field, so no tag is predicted to be in view
+        Pose3d drifted = new Pose3d(-10.0, -10.0, 0.0, new Rotation3d());
+        VisionGate gate = new VisionGate();
+        gate.fused(0.0);
+        List<VisionMeasurement> out = new ArrayList<>();
+
+        camera.setGated(gate.isGated(0.5, TIMEOUT));
+        assertEquals(0, camera.getMeasurements(drifted, out));
+        assertEquals(1, camera.getFramesSkipped());
+
+        camera.setGated(gate.isGated(1.5, TIMEOUT));
+        assertEquals(1, camera.getMeasurements(drifted, out));
+        assertEquals(truePose, out.get(0).getPose());
+    }
+}